@@ -0,0 +1,92 @@
+package com.example.minecraft.benchmarks;
+
+import org.bukkit.Material;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.ItemMeta;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.example.minecraft.items.CustomItem;
+import com.example.minecraft.items.CustomItemRegistry;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Custo de identificar a bússola mágica a cada interação
+ * Compara a identificação antiga (nome de exibição) com o id no PersistentDataContainer
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CustomItemBenchmark extends StandInServer {
+
+    private static final String LEGACY_NAME = "§6Bússola Mágica";
+
+    private CustomItemRegistry items;
+    private ItemStack compass;
+    private ItemStack renamedCompass;
+    private ItemStack plainCompass;
+    private ItemStack otherItem;
+
+    @Override
+    protected void setUp() {
+        items = plugin.getItems();
+        compass = items.get("magic_compass").create(1);
+
+        renamedCompass = compass.clone();
+        ItemMeta meta = renamedCompass.getItemMeta();
+        meta.setDisplayName("Minha bússola");
+        renamedCompass.setItemMeta(meta);
+
+        plainCompass = new ItemStack(Material.COMPASS);
+        otherItem = new ItemStack(Material.DIAMOND_SWORD);
+    }
+
+    /**
+     * Identificação usada antes do registro de itens (três getItemMeta e comparação do nome)
+     */
+    private static boolean legacyIsMagicCompass(ItemStack item) {
+        return item.getType() == Material.COMPASS && item.hasItemMeta() && item.getItemMeta().hasDisplayName()
+            && item.getItemMeta().getDisplayName().equals(LEGACY_NAME);
+    }
+
+    @Benchmark
+    public boolean legacyMagicCompass() {
+        return legacyIsMagicCompass(compass);
+    }
+
+    @Benchmark
+    public boolean legacyOtherItem() {
+        return legacyIsMagicCompass(otherItem);
+    }
+
+    @Benchmark
+    public CustomItem registryMagicCompass() {
+        return items.identify(compass);
+    }
+
+    @Benchmark
+    public CustomItem registryRenamedCompass() {
+        return items.identify(renamedCompass);
+    }
+
+    @Benchmark
+    public CustomItem registryPlainCompass() {
+        return items.identify(plainCompass);
+    }
+
+    @Benchmark
+    public CustomItem registryOtherItem() {
+        return items.identify(otherItem);
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.minecraft.benchmarks;
+
+import org.bukkit.Material;
+import org.bukkit.block.Block;
+import org.bukkit.block.BlockFace;
+import org.bukkit.event.block.Action;
+import org.bukkit.event.block.BlockBreakEvent;
+import org.bukkit.event.entity.EntityDamageByEntityEvent;
+import org.bukkit.event.entity.EntityDamageEvent;
+import org.bukkit.event.player.PlayerInteractEvent;
+import org.bukkit.inventory.ItemStack;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.example.minecraft.events.EventsManager;
+
+import be.seeseemelk.mockbukkit.entity.PlayerMock;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks dos handlers do EventsManager chamados diretamente, sem o despacho de eventos do Bukkit
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EventHandlerBenchmark extends StandInServer {
+
+    private EventsManager events;
+    private PlayerMock victim;
+
+    private Block stone;
+    private Block diamondOre;
+    private ItemStack plainItem;
+
+    @Override
+    protected void setUp() {
+        events = plugin.getEventsManager();
+        victim = server.addPlayer();
+
+        stone = player.getWorld().getBlockAt(0, 64, 0);
+        stone.setType(Material.STONE);
+        diamondOre = player.getWorld().getBlockAt(1, 64, 0);
+        diamondOre.setType(Material.DIAMOND_ORE);
+
+        plainItem = new ItemStack(Material.COMPASS);
+    }
+
+    @Benchmark
+    public BlockBreakEvent blockBreakStone() {
+        BlockBreakEvent event = new BlockBreakEvent(stone, player);
+        events.onBlockBreak(event);
+        return event;
+    }
+
+    @Benchmark
+    public BlockBreakEvent blockBreakDiamond() {
+        BlockBreakEvent event = new BlockBreakEvent(diamondOre, player);
+        events.onBlockBreak(event);
+        return event;
+    }
+
+    @Benchmark
+    public PlayerInteractEvent interactPlainItem() {
+        PlayerInteractEvent event = new PlayerInteractEvent(player, Action.RIGHT_CLICK_AIR, plainItem, null, BlockFace.SELF);
+        events.onPlayerInteract(event);
+        return event;
+    }
+
+    @Benchmark
+    @SuppressWarnings("deprecation")
+    public EntityDamageByEntityEvent entityDamage() {
+        EntityDamageByEntityEvent event = new EntityDamageByEntityEvent(player, victim,
+            EntityDamageEvent.DamageCause.ENTITY_ATTACK, 4.0);
+        events.onEntityDamage(event);
+        return event;
+    }
+}
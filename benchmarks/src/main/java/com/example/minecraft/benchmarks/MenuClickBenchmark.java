@@ -0,0 +1,118 @@
+package com.example.minecraft.benchmarks;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Material;
+import org.bukkit.event.inventory.ClickType;
+import org.bukkit.event.inventory.InventoryAction;
+import org.bukkit.event.inventory.InventoryClickEvent;
+import org.bukkit.event.inventory.InventoryType;
+import org.bukkit.inventory.Inventory;
+import org.bukkit.inventory.InventoryView;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.ItemMeta;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.example.minecraft.gui.MenuManager;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks do MenuManager: cliques em um menu aberto e abertura de menus
+ * legacySwitchMenus reproduz a abertura antiga (itens criados a cada abertura) para comparar
+ * com switchMenus; rode com -prof gc para comparar também a alocação por operação
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MenuClickBenchmark extends StandInServer {
+
+    // Slot vazio do menu principal e um slot do inventário do jogador (menu de 3 linhas)
+    private static final int EMPTY_MENU_SLOT = 0;
+    private static final int PLAYER_INVENTORY_SLOT = 27 + 9;
+
+    private MenuManager menus;
+    private InventoryView view;
+
+    @Override
+    protected void setUp() {
+        menus = plugin.getMenuManager();
+        menus.open(player, "main");
+        view = player.getOpenInventory();
+    }
+
+    @Benchmark
+    public InventoryClickEvent clickEmptyMenuSlot() {
+        InventoryClickEvent event = new InventoryClickEvent(view, InventoryType.SlotType.CONTAINER,
+            EMPTY_MENU_SLOT, ClickType.LEFT, InventoryAction.PICKUP_ALL);
+        menus.onInventoryClick(event);
+        return event;
+    }
+
+    @Benchmark
+    public InventoryClickEvent clickPlayerInventory() {
+        InventoryClickEvent event = new InventoryClickEvent(view, InventoryType.SlotType.CONTAINER,
+            PLAYER_INVENTORY_SLOT, ClickType.LEFT, InventoryAction.PICKUP_ALL);
+        menus.onInventoryClick(event);
+        return event;
+    }
+
+    @Benchmark
+    public boolean switchMenus() {
+        boolean opened = menus.open(player, "combat");
+        menus.open(player, "main");
+        return opened;
+    }
+
+    @Benchmark
+    public boolean legacySwitchMenus() {
+        boolean opened = player.openInventory(legacyCombatMenu()) != null;
+        player.openInventory(legacyMainMenu());
+        return opened;
+    }
+
+    /**
+     * Menu principal como era montado antes dos templates: inventário e itens novos a cada abertura
+     */
+    private static Inventory legacyMainMenu() {
+        Inventory inventory = Bukkit.createInventory(null, 27, "§6Menu Principal");
+        inventory.setItem(10, legacyItem(Material.DIAMOND_SWORD, "§bOpções de Combate", "§7Clique para ver opções de combate"));
+        inventory.setItem(13, legacyItem(Material.GRASS_BLOCK, "§aOpções de Mundo", "§7Clique para ver opções de mundo"));
+        inventory.setItem(16, legacyItem(Material.PLAYER_HEAD, "§eOpções de Jogador", "§7Clique para ver opções de jogador"));
+        inventory.setItem(26, legacyItem(Material.BARRIER, "§cFechar", "§7Clique para fechar o menu"));
+        return inventory;
+    }
+
+    /**
+     * Menu de combate como era montado antes dos templates
+     */
+    private static Inventory legacyCombatMenu() {
+        Inventory inventory = Bukkit.createInventory(null, 27, "§bOpções de Combate");
+        inventory.setItem(11, legacyItem(Material.IRON_SWORD, "§7Espada de Ferro", "§7Clique para receber uma espada de ferro"));
+        inventory.setItem(13, legacyItem(Material.BOW, "§7Arco", "§7Clique para receber um arco"));
+        inventory.setItem(15, legacyItem(Material.SHIELD, "§7Escudo", "§7Clique para receber um escudo"));
+        inventory.setItem(18, legacyItem(Material.ARROW, "§aVoltar", "§7Clique para voltar ao menu principal"));
+        inventory.setItem(26, legacyItem(Material.BARRIER, "§cFechar", "§7Clique para fechar o menu"));
+        return inventory;
+    }
+
+    private static ItemStack legacyItem(Material material, String name, String... lore) {
+        ItemStack item = new ItemStack(material);
+        ItemMeta meta = item.getItemMeta();
+        meta.setDisplayName(name);
+        meta.setLore(Arrays.asList(lore));
+        item.setItemMeta(meta);
+        return item;
+    }
+}
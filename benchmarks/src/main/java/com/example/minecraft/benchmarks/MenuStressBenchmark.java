@@ -0,0 +1,86 @@
+package com.example.minecraft.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.example.minecraft.gui.MenuManager;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Teste de carga do MenuManager: abre e fecha menus 100 mil vezes por iteração e falha se
+ * algum menu continuar contado como aberto ou se o heap crescer além do limite depois da coleta
+ * Execute com: java -jar target/benchmarks.jar MenuStress
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1, batchSize = MenuStressBenchmark.CYCLES)
+@Measurement(iterations = 3, batchSize = MenuStressBenchmark.CYCLES)
+@Fork(1)
+public class MenuStressBenchmark extends StandInServer {
+
+    static final int CYCLES = 100_000;
+
+    // Crescimento máximo aceito do heap usado entre o início e o fim de uma iteração
+    private static final long MAX_HEAP_GROWTH = 16L * 1024 * 1024;
+
+    private MenuManager menus;
+    private long heapBefore;
+
+    @Override
+    protected void setUp() {
+        menus = plugin.getMenuManager();
+    }
+
+    @Setup(Level.Iteration)
+    public void measureHeap() {
+        heapBefore = usedHeapAfterGc();
+    }
+
+    @Benchmark
+    public int openAndClose() {
+        menus.open(player, "main");
+        player.closeInventory();
+        return menus.getOpenMenuCount();
+    }
+
+    /**
+     * Verifica se todos os menus foram liberados ao fim da iteração
+     */
+    @TearDown(Level.Iteration)
+    public void checkLeaks() {
+        int open = menus.getOpenMenuCount();
+
+        if (open != 0) {
+            throw new IllegalStateException(open + " menus continuam contados como abertos após " + CYCLES + " ciclos");
+        }
+
+        long growth = usedHeapAfterGc() - heapBefore;
+
+        if (growth > MAX_HEAP_GROWTH) {
+            throw new IllegalStateException("O heap cresceu " + (growth / 1024) + " KB após " + CYCLES + " ciclos");
+        }
+    }
+
+    private static long usedHeapAfterGc() {
+        Runtime runtime = Runtime.getRuntime();
+
+        // Algumas coletas seguidas para estabilizar a medição
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.minecraft.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.example.minecraft.messages.MessageTemplate;
+import com.example.minecraft.utils.PluginUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks da formatação de mensagens (não precisam do servidor simulado)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MessageBenchmark {
+
+    private String legacyMessage;
+    private String hexMessage;
+    private MessageTemplate joinTemplate;
+    private List<String> words;
+    private String playerName;
+
+    @Setup
+    public void setUp() {
+        legacyMessage = "&6[Example] &aSeu comando foi executado com sucesso!";
+        hexMessage = "&#FFAA00[Example] &#55FF55Bem-vindo ao servidor!";
+        joinTemplate = MessageTemplate.compile(PluginUtils.formatMessage("&a[+] &e{player} &aentrou no servidor!"));
+        playerName = "Jogador123";
+
+        words = new ArrayList<>();
+
+        for (int i = 0; i < 16; i++) {
+            words.add("palavra" + i);
+        }
+    }
+
+    @Benchmark
+    public String formatLegacyColors() {
+        return PluginUtils.formatMessage(legacyMessage);
+    }
+
+    @Benchmark
+    public String formatHexColors() {
+        return PluginUtils.formatMessage(hexMessage);
+    }
+
+    @Benchmark
+    public String renderTemplate() {
+        return joinTemplate.render("player", playerName);
+    }
+
+    @Benchmark
+    public String joinStrings() {
+        return PluginUtils.joinStrings(words, ", ");
+    }
+}
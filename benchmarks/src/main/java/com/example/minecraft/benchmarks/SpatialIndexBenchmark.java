@@ -0,0 +1,117 @@
+package com.example.minecraft.benchmarks;
+
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+import org.bukkit.event.player.PlayerMoveEvent;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.example.minecraft.spatial.PlayerSpatialIndex;
+
+import be.seeseemelk.mockbukkit.entity.PlayerMock;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks do índice de posições com 500 jogadores simulados espalhados pelo mundo
+ * A varredura de getOnlinePlayers() serve de comparação para as consultas por raio
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SpatialIndexBenchmark extends StandInServer {
+
+    private static final int PLAYERS = 500;
+
+    // Lado (em blocos) da área quadrada em que os jogadores são espalhados
+    private static final int AREA = 2048;
+
+    // Raio das consultas por proximidade
+    @Param({ "16", "64" })
+    private double radius;
+
+    private PlayerSpatialIndex spatialIndex;
+    private World world;
+    private Location center;
+    private List<Player> nearby;
+
+    private PlayerMoveEvent smallMove;
+    private PlayerMoveEvent chunkMove;
+
+    @Override
+    protected void setUp() {
+        spatialIndex = plugin.getSpatialIndex();
+        world = player.getWorld();
+        Random random = new Random(42);
+
+        for (int i = 1; i < PLAYERS; i++) {
+            PlayerMock simulated = server.addPlayer();
+            Location location = new Location(world, random.nextInt(AREA) - AREA / 2, 64, random.nextInt(AREA) - AREA / 2);
+            simulated.teleport(location);
+            spatialIndex.update(simulated, location);
+        }
+
+        center = new Location(world, 0, 64, 0);
+        nearby = new ArrayList<>();
+
+        Location from = new Location(world, 8, 64, 8);
+        player.teleport(from);
+        spatialIndex.update(player, from);
+
+        smallMove = new PlayerMoveEvent(player, from, new Location(world, 8.1, 64, 8.1));
+        chunkMove = new PlayerMoveEvent(player, from, new Location(world, 24, 64, 8));
+    }
+
+    @Benchmark
+    public int nearbyIndexed() {
+        nearby.clear();
+        return spatialIndex.collectNearby(world, center.getX(), center.getY(), center.getZ(), radius, nearby);
+    }
+
+    @Benchmark
+    public int nearbyScan() {
+        nearby.clear();
+        double radiusSquared = radius * radius;
+
+        for (Player online : server.getOnlinePlayers()) {
+            Location location = online.getLocation();
+
+            if (location.getWorld() == world && location.distanceSquared(center) <= radiusSquared) {
+                nearby.add(online);
+            }
+        }
+
+        return nearby.size();
+    }
+
+    @Benchmark
+    public PlayerMoveEvent moveBelowThreshold() {
+        spatialIndex.onPlayerMove(smallMove);
+        return smallMove;
+    }
+
+    @Benchmark
+    public PlayerMoveEvent moveAcrossChunks() {
+        spatialIndex.onPlayerMove(chunkMove);
+
+        // Alterna entre os dois chunks para que toda chamada troque o jogador de lista
+        Location to = chunkMove.getTo();
+        to.setX(to.getX() == 24 ? 8 : 24);
+        return chunkMove;
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.minecraft.benchmarks;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.TearDown;
+
+import com.example.minecraft.ExamplePlugin;
+
+import be.seeseemelk.mockbukkit.MockBukkit;
+import be.seeseemelk.mockbukkit.ServerMock;
+import be.seeseemelk.mockbukkit.entity.PlayerMock;
+
+/**
+ * Servidor simulado (MockBukkit) com o plugin carregado e um jogador online
+ * Base dos benchmarks que precisam de um servidor; cada benchmark chama os handlers diretamente
+ */
+public abstract class StandInServer {
+
+    protected ServerMock server;
+    protected ExamplePlugin plugin;
+    protected PlayerMock player;
+
+    @Setup(Level.Trial)
+    public void startServer() {
+        server = MockBukkit.mock();
+        server.addSimpleWorld("world");
+        plugin = MockBukkit.load(ExamplePlugin.class);
+        player = server.addPlayer();
+
+        setUp();
+    }
+
+    /**
+     * Preparação específica de cada benchmark, executada após o plugin ser carregado
+     */
+    protected void setUp() {
+    }
+
+    /**
+     * Descarta as mensagens recebidas pelo jogador simulado para não acumular memória
+     */
+    @TearDown(Level.Iteration)
+    public void drainMessages() {
+        while (player.nextMessage() != null) {
+            // Descartar
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void stopServer() {
+        MockBukkit.unmock();
+    }
+}
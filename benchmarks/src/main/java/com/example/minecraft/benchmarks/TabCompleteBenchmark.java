@@ -0,0 +1,66 @@
+package com.example.minecraft.benchmarks;
+
+import org.bukkit.command.PluginCommand;
+import org.bukkit.command.TabCompleter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.example.minecraft.player.PlayerProfile;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks do autocompletar do /advanced
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TabCompleteBenchmark extends StandInServer {
+
+    // Quantidade de chaves de dados do jogador usadas no autocompletar do get/set
+    @Param({ "64", "512" })
+    private int dataKeys;
+
+    private PluginCommand command;
+    private TabCompleter completer;
+
+    private String[] subCommandArgs;
+    private String[] dataKeyArgs;
+
+    @Override
+    protected void setUp() {
+        command = plugin.getCommand("advanced");
+        completer = (TabCompleter) command.getExecutor();
+
+        PlayerProfile profile = plugin.getProfileManager().get(player);
+
+        for (int i = 0; i < dataKeys; i++) {
+            profile.setData("chave" + i, "valor" + i);
+        }
+
+        subCommandArgs = new String[] { "s" };
+        dataKeyArgs = new String[] { "get", "chave1" };
+    }
+
+    @Benchmark
+    public List<String> completeSubCommand() {
+        return completer.onTabComplete(player, command, "advanced", subCommandArgs);
+    }
+
+    @Benchmark
+    public List<String> completeDataKey() {
+        return completer.onTabComplete(player, command, "advanced", dataKeyArgs);
+    }
+}
@@ -1,15 +1,14 @@
 package com.example.minecraft;
 
-import org.bukkit.command.Command;
-import org.bukkit.command.CommandExecutor;
-import org.bukkit.command.CommandSender;
 import org.bukkit.entity.Player;
 
+import com.example.minecraft.commands.Subcommand;
+
 /**
  * Exemplo de classe de comando simples para o plugin
- * Demonstra como implementar comandos básicos
+ * Demonstra como implementar comandos básicos com @Subcommand
  */
-public class ExampleCommand implements CommandExecutor {
+public class ExampleCommand {
 
     private final ExamplePlugin plugin;
 
@@ -17,46 +16,24 @@ public class ExampleCommand implements CommandExecutor {
         this.plugin = plugin;
     }
 
-    @Override
-    public boolean onCommand(CommandSender sender, Command command, String label, String[] args) {
-        // Verificar se o comando foi executado por um jogador
-        if (!(sender instanceof Player)) {
-            sender.sendMessage("§cEste comando só pode ser executado por jogadores.");
-            return true;
-        }
-
-        Player player = (Player) sender;
-
-        // Exemplo de processamento de argumentos
-        if (args.length < 1) {
-            // Abrir menu principal se não houver argumentos
-            plugin.getMenuManager().openMainMenu(player);
-            return true;
-        }
+    /**
+     * Abre o menu principal quando não há argumentos
+     * @param player Jogador que executou o comando
+     */
+    @Subcommand(value = "", description = "Abre o menu principal")
+    private void openMenu(Player player) {
+        plugin.getMenuManager().openMainMenu(player);
+    }
 
-        // Processar subcomandos
-        String subCommand = args[0].toLowerCase();
-        
-        switch (subCommand) {
-            case "help":
-                player.sendMessage("§6=== Comandos Disponíveis ===");
-                player.sendMessage("§e/example §7- Abre o menu principal");
-                player.sendMessage("§e/example help §7- Mostra esta ajuda");
-                player.sendMessage("§e/example info §7- Mostra informações sobre o plugin");
-                break;
-                
-            case "info":
-                player.sendMessage("§6=== Informações do Plugin ===");
-                player.sendMessage("§eNome: §f" + plugin.getDescription().getName());
-                player.sendMessage("§eVersão: §f" + plugin.getDescription().getVersion());
-                player.sendMessage("§eAutor: §f" + String.join(", ", plugin.getDescription().getAuthors()));
-                break;
-                
-            default:
-                player.sendMessage("§cSubcomando desconhecido. Use /example help para ver os comandos disponíveis.");
-                break;
-        }
-        
-        return true;
+    /**
+     * Mostra informações sobre o plugin
+     * @param player Jogador que executou o comando
+     */
+    @Subcommand(value = "info", description = "Mostra informações sobre o plugin")
+    private void showInfo(Player player) {
+        player.sendMessage("§6=== Informações do Plugin ===");
+        player.sendMessage("§eNome: §f" + plugin.getDescription().getName());
+        player.sendMessage("§eVersão: §f" + plugin.getDescription().getVersion());
+        player.sendMessage("§eAutor: §f" + String.join(", ", plugin.getDescription().getAuthors()));
     }
 }
@@ -7,11 +7,36 @@ import org.bukkit.event.Listener;
 import org.bukkit.plugin.java.JavaPlugin;
 
 import com.example.minecraft.commands.AdvancedCommand;
+import com.example.minecraft.commands.AsyncCommandRunner;
+import com.example.minecraft.commands.CommandDispatcher;
+import com.example.minecraft.config.PluginSettings;
+import com.example.minecraft.config.SettingsManager;
+import com.example.minecraft.effects.EffectDispatcher;
 import com.example.minecraft.events.EventsManager;
+import com.example.minecraft.features.CooldownService;
 import com.example.minecraft.gui.MenuManager;
+import com.example.minecraft.items.CustomItemRegistry;
+import com.example.minecraft.messages.MessageService;
+import com.example.minecraft.metrics.HandlerProfiler;
+import com.example.minecraft.metrics.MetricsRegistry;
+import com.example.minecraft.metrics.PrometheusExporter;
+import com.example.minecraft.player.PlayerIndexRegistry;
+import com.example.minecraft.player.ProfileManager;
+import com.example.minecraft.spatial.PlayerSpatialIndex;
+import com.example.minecraft.stats.SessionTracker;
+import com.example.minecraft.stats.StatsService;
+import com.example.minecraft.storage.AutosaveScheduler;
+import com.example.minecraft.storage.LegacyDataMigrator;
+import com.example.minecraft.storage.MutationJournal;
+import com.example.minecraft.storage.PlayerStore;
+import com.example.minecraft.storage.ShardedPlayerStore;
+import com.example.minecraft.storage.SqlPlayerStore;
+import com.example.minecraft.storage.WriteBehindSaver;
+import com.example.minecraft.teleport.TeleportService;
 
 import java.io.File;
 import java.io.IOException;
+import java.sql.SQLException;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.UUID;
@@ -22,6 +47,9 @@ import java.util.UUID;
  */
 public class ExamplePlugin extends JavaPlugin implements Listener {
 
+    // Cópia imutável do config.yml, trocada a cada recarga
+    private SettingsManager settingsManager;
+    
     // Exemplo de armazenamento de dados em memória
     private Map<UUID, String> playerData;
     
@@ -29,6 +57,54 @@ public class ExamplePlugin extends JavaPlugin implements Listener {
     private File customConfigFile;
     private FileConfiguration customConfig;
     
+    // Métricas internas do plugin
+    private MetricsRegistry metrics;
+    private HandlerProfiler profiler;
+    private PrometheusExporter exporter;
+    
+    // Mensagens configuráveis do plugin
+    private MessageService messages;
+    
+    // Gravação assíncrona dos arquivos de dados
+    private WriteBehindSaver saver;
+    
+    // Armazenamento dos dados dos jogadores
+    private PlayerStore playerStore;
+    
+    // Diário das alterações dos perfis, reaplicado após uma queda
+    private MutationJournal journal;
+    
+    // Cache dos perfis dos jogadores online
+    private ProfileManager profileManager;
+    
+    // Salvamento periódico dos jogadores online, distribuído entre os ticks
+    private AutosaveScheduler autosave;
+    
+    // Índices dos jogadores online e tempos de recarga das funcionalidades
+    private PlayerIndexRegistry playerIndex;
+    private CooldownService cooldowns;
+    
+    // Posições dos jogadores online para consultas por proximidade
+    private PlayerSpatialIndex spatialIndex;
+    
+    // Contadores de estatísticas dos jogadores
+    private StatsService stats;
+    
+    // Sessões e tempo de jogo dos jogadores
+    private SessionTracker sessions;
+    
+    // Itens personalizados do plugin
+    private CustomItemRegistry items;
+    
+    // Envio agrupado de partículas e sons
+    private EffectDispatcher effects;
+    
+    // Teleportes com carregamento prévio dos chunks de destino
+    private TeleportService teleports;
+    
+    // Execução dos subcomandos assíncronos
+    private AsyncCommandRunner commandRunner;
+    
     // Gerenciadores de funcionalidades
     private MenuManager menuManager;
     private EventsManager eventsManager;
@@ -38,31 +114,240 @@ public class ExamplePlugin extends JavaPlugin implements Listener {
         // Salvar configuração padrão se não existir
         saveDefaultConfig();
         
+        // Ler o config.yml para a cópia imutável usada por todos os serviços
+        settingsManager = new SettingsManager(this);
+        settingsManager.load();
+        
         // Inicializar mapa de dados
         playerData = new HashMap<>();
         
+        // Inicializar o registro de métricas
+        metrics = new MetricsRegistry();
+        
+        // Medição do tempo gasto em cada listener e comando (/advanced profile)
+        profiler = new HandlerProfiler(this);
+        profiler.start(getSettings().getBoolean("settings.profiler.enabled", false),
+            getSettings().getLong("settings.profiler.window", 60L));
+        
+        // Compilar as mensagens configuradas
+        messages = new MessageService(this);
+        messages.reload();
+        
+        // Iniciar a gravação assíncrona dos arquivos de dados
+        saver = new WriteBehindSaver(this);
+        saver.start(getSettings().getLong("storage.save-interval", 100L));
+        
         // Carregar configuração personalizada
         loadCustomConfig();
         
+        // Inicializar o armazenamento de jogadores
+        playerStore = createPlayerStore();
+        
+        // Reaplicar as alterações deixadas por uma queda antes de carregar qualquer perfil
+        journal = new MutationJournal(this, playerStore, new File(getDataFolder(), "journal"));
+        journal.reload();
+        journal.recover();
+        journal.start();
+        
+        // Inicializar o cache de perfis e salvar os perfis alterados antes de cada gravação
+        profileManager = new ProfileManager(this, playerStore);
+        saver.addFlushHook(profileManager::saveDirty);
+        
+        // Carregar os perfis de jogadores já online (ex: após um /reload)
+        for (Player player : getServer().getOnlinePlayers()) {
+            profileManager.load(player);
+        }
+        
+        // Inicializar os cooldowns configurados em features.*
+        playerIndex = new PlayerIndexRegistry(this);
+        cooldowns = new CooldownService(this, playerIndex);
+        cooldowns.reload();
+        cooldowns.start();
+        
+        // Inicializar o índice de posições dos jogadores
+        spatialIndex = new PlayerSpatialIndex(this, playerIndex);
+        
+        // Inicializar os contadores de estatísticas
+        stats = new StatsService(this, playerIndex);
+        stats.reload();
+        stats.start(getSettings().getLong("stats.flush-interval", 40L));
+        
+        // Inicializar o registro de sessões e tempo de jogo
+        sessions = new SessionTracker(this, playerIndex);
+        sessions.reload();
+        sessions.start(getSettings().getLong("sessions.check-interval", 100L),
+            getSettings().getLong("sessions.flush-interval", 1200L));
+        
+        // Iniciar o salvamento periódico dos jogadores online
+        autosave = new AutosaveScheduler(this, playerStore);
+        autosave.reload();
+        autosave.start();
+        
+        // Inicializar o registro de itens personalizados
+        items = new CustomItemRegistry(this);
+        
+        // Inicializar o envio agrupado de efeitos
+        effects = new EffectDispatcher(this, playerIndex);
+        effects.reload();
+        effects.start();
+        
+        // Inicializar o serviço de teleporte
+        teleports = new TeleportService(this);
+        teleports.start();
+        
         // Inicializar gerenciadores
         menuManager = new MenuManager(this);
         eventsManager = new EventsManager(this);
         
         // Registrar comandos
-        getCommand("example").setExecutor(new ExampleCommand(this));
-        getCommand("advanced").setExecutor(new AdvancedCommand(this, menuManager));
+        commandRunner = new AsyncCommandRunner(this);
+        getCommand("example").setExecutor(profiler.wrap("example", new CommandDispatcher(this, new ExampleCommand(this))));
+        getCommand("advanced").setExecutor(profiler.wrap("advanced",
+            new CommandDispatcher(this, new AdvancedCommand(this, menuManager))));
+        
+        // Reaplicar apenas as seções alteradas no /advanced reload
+        settingsManager.subscribe(messages::reload, "settings.prefix", "messages");
+        settingsManager.subscribe(() -> profiler.setEnabled(getSettings().getBoolean("settings.profiler.enabled", false)),
+            "settings.profiler.enabled");
+        settingsManager.subscribe(cooldowns::reload, "features");
+        settingsManager.subscribe(stats::reload, "stats.tracked");
+        settingsManager.subscribe(sessions::reload, "sessions.afk-timeout", "sessions.sample-interval", "sessions.samples");
+        settingsManager.subscribe(autosave::reload, "autosave.interval", "autosave.tick-budget");
+        settingsManager.subscribe(journal::reload, "journal.commit-delay");
+        settingsManager.subscribe(effects::reload, "effects");
+        settingsManager.subscribe(spatialIndex::reload, "spatial");
+        
+        // Medidores lidos no momento da consulta das métricas
+        metrics.gauge("players_cached", () -> profileManager.getProfiles().size());
+        metrics.gauge("menus_open", () -> menuManager.getOpenMenuCount());
+        
+        // Iniciar o servidor de métricas, se habilitado
+        startExporter();
         
         getLogger().info("Plugin de exemplo ativado com sucesso!");
     }
 
     @Override
     public void onDisable() {
-        // Salvar dados ao desativar o plugin
+        // Salvar dados ao desativar o plugin (de forma síncrona)
+        if (cooldowns != null) {
+            cooldowns.shutdown();
+        }
+        
+        if (profiler != null) {
+            profiler.shutdown();
+        }
+        
+        if (effects != null) {
+            effects.shutdown();
+        }
+        
+        if (teleports != null) {
+            teleports.shutdown();
+        }
+        
+        if (exporter != null) {
+            exporter.stop();
+        }
+        
+        if (commandRunner != null) {
+            commandRunner.shutdown();
+        }
+        
+        if (autosave != null) {
+            autosave.shutdown();
+        }
+        
+        if (sessions != null) {
+            sessions.shutdown();
+        }
+        
+        if (stats != null) {
+            stats.shutdown();
+        }
+        
+        // Cada etapa é verificada à parte, pois uma falha no onEnable pode deixar só parte criada
+        if (profileManager != null) {
+            profileManager.unloadAll();
+        }
+        
+        if (journal != null) {
+            journal.shutdown();
+        }
+        
+        if (playerStore != null) {
+            playerStore.close();
+        }
+        
         saveCustomConfig();
         
+        // O saver grava o que ficou pendente das etapas acima, então é sempre encerrado por último
+        if (saver != null) {
+            saver.shutdown();
+        }
+        
         getLogger().info("Plugin de exemplo desativado com sucesso!");
     }
     
+    /**
+     * Inicia o servidor HTTP de métricas configurado em settings.prometheus
+     * Uma falha ao abrir a porta apenas desativa a exportação
+     */
+    private void startExporter() {
+        if (!getSettings().getBoolean("settings.prometheus.enabled", false)) {
+            return;
+        }
+        
+        String address = getSettings().getString("settings.prometheus.address", "127.0.0.1");
+        int port = getSettings().getInt("settings.prometheus.port", 9464);
+        
+        try {
+            exporter = new PrometheusExporter(this);
+            exporter.start(address, port);
+            getLogger().info("Métricas disponíveis em http://" + address + ":" + port + "/metrics");
+        } catch (IOException e) {
+            getLogger().severe("Não foi possível iniciar o servidor de métricas: " + e.getMessage());
+            exporter = null;
+        }
+    }
+    
+    /**
+     * Cria o armazenamento de jogadores configurado em storage.type
+     * Os dados antigos do custom.yml são migrados para o formato de um arquivo por jogador e,
+     * no primeiro uso do "sqlite", os arquivos de jogadores são copiados para o banco
+     * @return Armazenamento de jogadores
+     */
+    private PlayerStore createPlayerStore() {
+        ShardedPlayerStore shardedStore = new ShardedPlayerStore(new File(getDataFolder(), "players"), saver);
+        LegacyDataMigrator migrator = new LegacyDataMigrator(this, shardedStore);
+        migrator.migrate(customConfig, customConfigFile);
+        
+        if (getSettings().getString("storage.type", "yaml").equalsIgnoreCase("sqlite")) {
+            File databaseFile = new File(getDataFolder(), getSettings().getString("storage.sqlite.file", "players.db"));
+            SqlPlayerStore sqlStore = null;
+            
+            try {
+                sqlStore = new SqlPlayerStore(this, "jdbc:sqlite:" + databaseFile.getAbsolutePath(),
+                    getSettings().getInt("storage.sqlite.pool-size", 3),
+                    getSettings().getLong("storage.sqlite.flush-interval", 100L) * 50L);
+            } catch (SQLException e) {
+                getLogger().severe("Não foi possível abrir o banco SQLite, usando arquivos YAML: " + e.getMessage());
+            }
+            
+            if (sqlStore != null) {
+                if (migrator.migrateTo(sqlStore)) {
+                    return sqlStore;
+                }
+                
+                // Não usar um banco sem os jogadores existentes; os arquivos YAML continuam valendo
+                getLogger().severe("Usando arquivos YAML até que a cópia para o banco SQLite seja concluída.");
+                sqlStore.close();
+            }
+        }
+        
+        return shardedStore;
+    }
+    
     /**
      * Carrega a configuração personalizada
      */
@@ -82,18 +367,15 @@ public class ExamplePlugin extends JavaPlugin implements Listener {
     }
     
     /**
-     * Salva a configuração personalizada
+     * Agenda o salvamento da configuração personalizada
+     * A gravação acontece de forma assíncrona no próximo flush, agrupando várias alterações
      */
     public void saveCustomConfig() {
         if (customConfig == null || customConfigFile == null) {
             return;
         }
         
-        try {
-            customConfig.save(customConfigFile);
-        } catch (IOException e) {
-            getLogger().severe("Não foi possível salvar o arquivo custom.yml: " + e.getMessage());
-        }
+        saver.markDirty(customConfigFile, customConfig);
     }
     
     /**
@@ -104,6 +386,23 @@ public class ExamplePlugin extends JavaPlugin implements Listener {
         return customConfig;
     }
     
+    /**
+     * Obtém a configuração atual do config.yml
+     * A cópia é imutável; guarde apenas os valores lidos, não a cópia, para ver as recargas
+     * @return Configuração atual
+     */
+    public PluginSettings getSettings() {
+        return settingsManager.getSettings();
+    }
+    
+    /**
+     * Obtém o gerenciador do config.yml
+     * @return Gerenciador da configuração
+     */
+    public SettingsManager getSettingsManager() {
+        return settingsManager;
+    }
+    
     /**
      * Armazena dados do jogador
      * @param player Jogador
@@ -122,6 +421,134 @@ public class ExamplePlugin extends JavaPlugin implements Listener {
         return playerData.getOrDefault(player.getUniqueId(), null);
     }
     
+    /**
+     * Obtém o armazenamento de dados dos jogadores
+     * @return Armazenamento de dados dos jogadores
+     */
+    public PlayerStore getPlayerStore() {
+        return playerStore;
+    }
+    
+    /**
+     * Obtém o diário de alterações dos perfis
+     * @return Diário de alterações
+     */
+    public MutationJournal getJournal() {
+        return journal;
+    }
+    
+    /**
+     * Obtém o cache de perfis dos jogadores online
+     * @return Cache de perfis
+     */
+    public ProfileManager getProfileManager() {
+        return profileManager;
+    }
+    
+    /**
+     * Obtém o registro de métricas do plugin
+     * @return Registro de métricas
+     */
+    public MetricsRegistry getMetrics() {
+        return metrics;
+    }
+    
+    /**
+     * Obtém o medidor de tempo dos listeners e comandos
+     * @return Medidor de tempo
+     */
+    public HandlerProfiler getProfiler() {
+        return profiler;
+    }
+    
+    /**
+     * Obtém o serviço de mensagens do plugin
+     * @return Serviço de mensagens
+     */
+    public MessageService getMessages() {
+        return messages;
+    }
+    
+    /**
+     * Obtém os índices dos jogadores online
+     * @return Registro de índices
+     */
+    public PlayerIndexRegistry getPlayerIndex() {
+        return playerIndex;
+    }
+    
+    /**
+     * Obtém o serviço de cooldowns das funcionalidades
+     * @return Serviço de cooldowns
+     */
+    public CooldownService getCooldowns() {
+        return cooldowns;
+    }
+    
+    /**
+     * Obtém o índice de posições dos jogadores online
+     * @return Índice de posições dos jogadores
+     */
+    public PlayerSpatialIndex getSpatialIndex() {
+        return spatialIndex;
+    }
+    
+    /**
+     * Obtém os contadores de estatísticas dos jogadores
+     * @return Serviço de estatísticas
+     */
+    public StatsService getStats() {
+        return stats;
+    }
+    
+    /**
+     * Obtém o registro de sessões e tempo de jogo
+     * @return Registro de sessões
+     */
+    public SessionTracker getSessions() {
+        return sessions;
+    }
+    
+    /**
+     * Obtém o registro de itens personalizados
+     * @return Registro de itens
+     */
+    public CustomItemRegistry getItems() {
+        return items;
+    }
+    
+    /**
+     * Obtém o envio agrupado de partículas e sons
+     * @return Despachante de efeitos
+     */
+    public EffectDispatcher getEffects() {
+        return effects;
+    }
+    
+    /**
+     * Obtém o serviço de teleporte
+     * @return Serviço de teleporte
+     */
+    public TeleportService getTeleports() {
+        return teleports;
+    }
+    
+    /**
+     * Obtém o executor dos subcomandos assíncronos
+     * @return Executor de comandos assíncronos
+     */
+    public AsyncCommandRunner getCommandRunner() {
+        return commandRunner;
+    }
+    
+    /**
+     * Obtém o serviço de gravação assíncrona
+     * @return Serviço de gravação assíncrona
+     */
+    public WriteBehindSaver getSaver() {
+        return saver;
+    }
+    
     /**
      * Obtém o gerenciador de menus
      * @return Gerenciador de menus
@@ -1,24 +1,28 @@
 package com.example.minecraft.commands;
 
-import org.bukkit.command.Command;
-import org.bukkit.command.CommandExecutor;
 import org.bukkit.command.CommandSender;
-import org.bukkit.command.TabCompleter;
 import org.bukkit.entity.Player;
 
 import com.example.minecraft.ExamplePlugin;
 import com.example.minecraft.gui.MenuManager;
+import com.example.minecraft.metrics.HandlerProfiler;
+import com.example.minecraft.metrics.LatencyHistogram;
+import com.example.minecraft.metrics.MetricsRegistry;
+import com.example.minecraft.player.PlayerProfile;
+import com.example.minecraft.stats.SessionTracker;
+import com.example.minecraft.storage.LeaderboardEntry;
+import com.example.minecraft.utils.PluginUtils;
 
-import java.util.ArrayList;
-import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
 
 /**
  * Exemplo de comando avançado com suporte a subcomandos e autocompletar
- * Demonstra como implementar comandos complexos com várias funcionalidades
+ * Cada subcomando é um método anotado com @Subcommand, registrado por um CommandDispatcher
  */
-public class AdvancedCommand implements CommandExecutor, TabCompleter {
+public class AdvancedCommand {
 
     private final ExamplePlugin plugin;
     private final MenuManager menuManager;
@@ -28,95 +32,122 @@ public class AdvancedCommand implements CommandExecutor, TabCompleter {
         this.menuManager = menuManager;
     }
 
-    @Override
-    public boolean onCommand(CommandSender sender, Command command, String label, String[] args) {
-        // Verificar se o comando foi executado por um jogador
-        if (!(sender instanceof Player)) {
-            sender.sendMessage("§cEste comando só pode ser executado por jogadores.");
-            return true;
-        }
-
-        Player player = (Player) sender;
+    /**
+     * Abre o menu principal
+     * @param player Jogador que executou o comando
+     */
+    @Subcommand(value = "menu", description = "Abre o menu principal")
+    private void openMenu(Player player) {
+        menuManager.openMainMenu(player);
+    }
 
-        // Se não houver argumentos, mostrar ajuda
-        if (args.length == 0) {
-            showHelp(player);
-            return true;
+    /**
+     * Armazena um valor para uma chave do jogador
+     * @param player Jogador que executou o comando
+     * @param key Chave do valor
+     * @param value Valor a ser armazenado
+     */
+    @Subcommand(value = "set", description = "Define um valor para uma chave")
+    private void set(Player player, @Arg(value = "chave", completer = "data-keys") String key,
+                     @Arg(value = "valor", greedy = true) String value) {
+        PlayerProfile profile = plugin.getProfileManager().get(player);
+        
+        if (profile == null) {
+            plugin.getMessages().send(player, "data-not-loaded");
+            return;
         }
+        
+        profile.setData(key, value);
+        
+        plugin.getMessages().send(player, "data-set", "key", key, "value", value);
+    }
 
-        // Processar subcomandos
-        String subCommand = args[0].toLowerCase();
+    /**
+     * Mostra o valor de uma chave do jogador
+     * @param player Jogador que executou o comando
+     * @param key Chave do valor
+     */
+    @Subcommand(value = "get", description = "Obtém o valor de uma chave")
+    private void get(Player player, @Arg(value = "chave", completer = "data-keys") String key) {
+        PlayerProfile profile = plugin.getProfileManager().get(player);
+        String storedValue = profile != null ? profile.getData(key) : null;
         
-        switch (subCommand) {
-            case "help":
-                showHelp(player);
-                break;
-                
-            case "menu":
-                menuManager.openMainMenu(player);
-                break;
-                
-            case "info":
-                showInfo(player);
-                break;
-                
-            case "set":
-                if (args.length < 3) {
-                    player.sendMessage("§cUso correto: /" + label + " set <chave> <valor>");
-                    return true;
-                }
-                
-                String key = args[1];
-                String value = String.join(" ", Arrays.copyOfRange(args, 2, args.length));
-                
-                // Armazenar dados do jogador
-                plugin.getCustomConfig().set("players." + player.getUniqueId() + ".data." + key, value);
-                plugin.saveCustomConfig();
-                
-                player.sendMessage("§aValor '" + value + "' definido para a chave '" + key + "'.");
-                break;
-                
-            case "get":
-                if (args.length < 2) {
-                    player.sendMessage("§cUso correto: /" + label + " get <chave>");
-                    return true;
-                }
-                
-                String getKey = args[1];
-                String storedValue = plugin.getCustomConfig().getString("players." + player.getUniqueId() + ".data." + getKey);
-                
-                if (storedValue == null) {
-                    player.sendMessage("§cNenhum valor encontrado para a chave '" + getKey + "'.");
-                } else {
-                    player.sendMessage("§aValor para a chave '" + getKey + "': §f" + storedValue);
-                }
-                break;
-                
-            default:
-                player.sendMessage("§cSubcomando desconhecido. Use /" + label + " help para ver os comandos disponíveis.");
-                break;
+        if (storedValue == null) {
+            plugin.getMessages().send(player, "data-not-found", "key", key);
+        } else {
+            plugin.getMessages().send(player, "data-value", "key", key, "value", storedValue);
+        }
+    }
+
+    /**
+     * Sugere as chaves já definidas pelo jogador
+     * @param sender Quem está digitando o comando
+     * @param prefix Texto já digitado
+     * @param limit Quantidade máxima de sugestões
+     * @return Chaves que começam com o prefixo
+     */
+    @Completer("data-keys")
+    private List<String> completeDataKeys(CommandSender sender, String prefix, int limit) {
+        if (!(sender instanceof Player)) {
+            return Collections.emptyList();
         }
         
-        return true;
+        PlayerProfile profile = plugin.getProfileManager().get((Player) sender);
+        return profile != null ? profile.getDataKeyIndex().complete(prefix, limit) : Collections.emptyList();
     }
 
     /**
-     * Mostra a ajuda do comando para o jogador
-     * @param player Jogador para mostrar a ajuda
+     * Recarrega config.yml, mensagens e menus
+     * O config.yml é lido fora da thread principal e apenas as seções alteradas são reaplicadas;
+     * as mensagens (config.yml e lang/) são sempre recarregadas
+     * @param sender Quem executou o comando (jogador, console ou RCON)
      */
-    private void showHelp(Player player) {
-        player.sendMessage("§6=== Comandos Disponíveis ===");
-        player.sendMessage("§e/advanced help §7- Mostra esta ajuda");
-        player.sendMessage("§e/advanced menu §7- Abre o menu principal");
-        player.sendMessage("§e/advanced info §7- Mostra informações sobre o plugin");
-        player.sendMessage("§e/advanced set <chave> <valor> §7- Define um valor para uma chave");
-        player.sendMessage("§e/advanced get <chave> §7- Obtém o valor de uma chave");
+    @Subcommand(value = "reload", description = "Recarrega as configurações, mensagens e menus", permission = "example.admin")
+    private void reload(CommandSender sender) {
+        plugin.getSettingsManager().reload().whenComplete((changed, error) -> {
+            if (error != null) {
+                plugin.getLogger().severe("Erro ao recarregar o config.yml: " + error.getMessage());
+                
+                if (isReachable(sender)) {
+                    plugin.getMessages().send(sender, "reload-error");
+                }
+                return;
+            }
+            
+            // Os arquivos lang/messages_*.yml não fazem parte do config.yml; recarregar sempre,
+            // a menos que a alteração do prefixo ou das mensagens já tenha recarregado o serviço
+            if (!changed.contains("settings.prefix") && !changed.contains("messages")) {
+                plugin.getMessages().reload();
+            }
+            
+            boolean menusLoaded = menuManager.reload();
+            
+            if (!isReachable(sender)) {
+                return;
+            }
+            
+            if (menusLoaded) {
+                plugin.getMessages().send(sender, "reload-success");
+            } else {
+                plugin.getMessages().send(sender, "reload-error");
+            }
+        });
+    }
+    
+    /**
+     * Verifica se ainda é possível responder a quem executou um comando demorado
+     * @param sender Quem executou o comando
+     * @return false apenas para jogadores que já saíram
+     */
+    private static boolean isReachable(CommandSender sender) {
+        return !(sender instanceof Player) || ((Player) sender).isOnline();
     }
     
     /**
      * Mostra informações sobre o plugin para o jogador
      * @param player Jogador para mostrar as informações
      */
+    @Subcommand(value = "info", description = "Mostra informações sobre o plugin")
     private void showInfo(Player player) {
         player.sendMessage("§6=== Informações do Plugin ===");
         player.sendMessage("§eNome: §f" + plugin.getDescription().getName());
@@ -125,60 +156,197 @@ public class AdvancedCommand implements CommandExecutor, TabCompleter {
         player.sendMessage("§eDescrição: §f" + plugin.getDescription().getDescription());
     }
 
-    @Override
-    public List<String> onTabComplete(CommandSender sender, Command command, String alias, String[] args) {
-        List<String> completions = new ArrayList<>();
+    /**
+     * Mostra as métricas de latência e de tamanho registradas pelo plugin
+     * @param player Jogador para mostrar as métricas
+     */
+    @Subcommand(value = "metrics", description = "Mostra as métricas internas do plugin")
+    private void showMetrics(Player player) {
+        player.sendMessage("§6=== Métricas do Plugin ===");
+        
+        for (Map.Entry<String, LatencyHistogram> entry : plugin.getMetrics().getHistograms().entrySet()) {
+            LatencyHistogram histogram = entry.getValue();
+            
+            player.sendMessage("§e" + entry.getKey() + "§7: " + histogram.getCount() + " amostras"
+                + " §8| §7p50 §f" + MetricsRegistry.formatNanos(histogram.getPercentile(50))
+                + " §8| §7p99 §f" + MetricsRegistry.formatNanos(histogram.getPercentile(99))
+                + " §8| §7máx §f" + MetricsRegistry.formatNanos(histogram.getMaxNanos()));
+        }
         
-        // Subcomandos principais
-        if (args.length == 1) {
-            List<String> subCommands = Arrays.asList("help", "menu", "info", "set", "get");
-            return filterCompletions(subCommands, args[0]);
+        for (Map.Entry<String, LatencyHistogram> entry : plugin.getMetrics().getSizeHistograms().entrySet()) {
+            LatencyHistogram histogram = entry.getValue();
+            
+            player.sendMessage("§e" + entry.getKey() + "§7: " + histogram.getCount() + " amostras"
+                + " §8| §7p50 §f" + MetricsRegistry.formatBytes(histogram.getPercentile(50))
+                + " §8| §7p99 §f" + MetricsRegistry.formatBytes(histogram.getPercentile(99))
+                + " §8| §7máx §f" + MetricsRegistry.formatBytes(histogram.getMaxNanos()));
         }
+    }
+
+    /**
+     * Mostra os tempos medidos na janela atual
+     * @param player Jogador que executou o comando
+     * @param label Nome usado para o comando
+     */
+    @Subcommand(value = "profile", description = "Mostra o tempo gasto em cada listener e comando", permission = "example.admin")
+    private void profile(Player player, String label) {
+        HandlerProfiler profiler = plugin.getProfiler();
         
-        // Subcomandos específicos
-        if (args.length == 2) {
-            String subCommand = args[0].toLowerCase();
+        player.sendMessage("§6=== Tempo por Handler (últimos " + profiler.getWindowSeconds() + "s"
+            + (profiler.isEnabled() ? "" : ", medição desligada") + ") ===");
+        
+        boolean empty = true;
+        
+        for (Map.Entry<String, LatencyHistogram> entry : profiler.snapshot().entrySet()) {
+            LatencyHistogram histogram = entry.getValue();
             
-            if (subCommand.equals("get") || subCommand.equals("set")) {
-                // Sugerir chaves existentes para o jogador
-                if (sender instanceof Player) {
-                    Player player = (Player) sender;
-                    String path = "players." + player.getUniqueId() + ".data";
-                    
-                    if (plugin.getCustomConfig().contains(path)) {
-                        return filterCompletions(
-                            plugin.getCustomConfig().getConfigurationSection(path).getKeys(false),
-                            args[1]
-                        );
-                    }
-                }
+            if (histogram.getCount() == 0) {
+                continue;
             }
+            
+            empty = false;
+            player.sendMessage("§e" + entry.getKey() + "§7: " + histogram.getCount() + " chamadas"
+                + " §8| §7p50 §f" + histogram.getPercentile(50) + "ns"
+                + " §8| §7p99 §f" + histogram.getPercentile(99) + "ns"
+                + " §8| §7máx §f" + histogram.getMaxNanos() + "ns");
+        }
+        
+        if (empty) {
+            plugin.getMessages().send(player, "profiler-empty", "label", label);
+        }
+    }
+
+    /**
+     * Liga a medição dos handlers
+     * @param player Jogador que executou o comando
+     */
+    @Subcommand(value = "profile on", description = "Liga a medição dos handlers", permission = "example.admin")
+    private void profileOn(Player player) {
+        plugin.getProfiler().setEnabled(true);
+        plugin.getMessages().send(player, "profiler-enabled");
+    }
+
+    /**
+     * Desliga a medição dos handlers
+     * @param player Jogador que executou o comando
+     */
+    @Subcommand(value = "profile off", description = "Desliga a medição dos handlers", permission = "example.admin")
+    private void profileOff(Player player) {
+        plugin.getProfiler().setEnabled(false);
+        plugin.getMessages().send(player, "profiler-disabled");
+    }
+
+    /**
+     * Limpa os tempos medidos
+     * @param player Jogador que executou o comando
+     */
+    @Subcommand(value = "profile reset", description = "Limpa os tempos medidos", permission = "example.admin")
+    private void profileReset(Player player) {
+        plugin.getProfiler().reset();
+        plugin.getMessages().send(player, "profiler-reset");
+    }
+
+    /**
+     * Mostra o tempo de jogo do jogador
+     * @param player Jogador que executou o comando
+     */
+    @Subcommand(value = "playtime", description = "Mostra o seu tempo de jogo")
+    private void showPlaytime(Player player) {
+        SessionTracker sessions = plugin.getSessions();
+        long total = sessions.getPlaytimeSeconds(player);
+        
+        if (total < 0) {
+            plugin.getMessages().send(player, "data-not-loaded");
+            return;
         }
         
-        return completions;
+        plugin.getMessages().send(player, "playtime-info",
+            "total", PluginUtils.formatDuration(total),
+            "week", PluginUtils.formatDuration(sessions.getWeekPlaytimeSeconds(player)),
+            "session", PluginUtils.formatDuration(sessions.getSessionSeconds(player)),
+            "activity", Math.round(sessions.getRecentActivity(player) * 100),
+            "window", PluginUtils.formatDuration(sessions.getActivityWindowSeconds()));
     }
     
     /**
-     * Filtra as sugestões de autocompletar com base no texto digitado
-     * @param options Lista de opções disponíveis
-     * @param input Texto digitado pelo jogador
-     * @return Lista filtrada de sugestões
+     * Mostra o ranking de diamantes minerados
+     * A consulta roda fora da thread principal e a resposta volta pelo agendador
+     * @param player Jogador para mostrar o ranking
+     * @return Envio do ranking, executado na thread principal
+     * @throws Exception Se a execução for interrompida
      */
-    private List<String> filterCompletions(List<String> options, String input) {
-        return options.stream()
-                .filter(option -> option.toLowerCase().startsWith(input.toLowerCase()))
-                .collect(Collectors.toList());
+    @Subcommand(value = "top", description = "Mostra os jogadores que mais mineraram diamantes", async = true)
+    private Runnable showTop(Player player) throws Exception {
+        List<LeaderboardEntry> entries;
+        
+        try {
+            entries = queryTop(PlayerProfile.STAT_DIAMONDS_MINED);
+        } catch (ExecutionException e) {
+            return topError(player, e);
+        }
+        
+        return () -> {
+            plugin.getMessages().send(player, "top-header");
+            
+            int position = 1;
+            for (LeaderboardEntry entry : entries) {
+                plugin.getMessages().send(player, "top-entry", "position", position++, "player", getName(entry), "value", entry.getValue());
+            }
+        };
     }
     
     /**
-     * Filtra as sugestões de autocompletar com base no texto digitado
-     * @param options Conjunto de opções disponíveis
-     * @param input Texto digitado pelo jogador
-     * @return Lista filtrada de sugestões
+     * Mostra o ranking de tempo de jogo da semana atual
+     * O ranking usa o total semanal já acumulado nos perfis, sem percorrer as sessões
+     * @param player Jogador para mostrar o ranking
+     * @return Envio do ranking, executado na thread principal
+     * @throws Exception Se a execução for interrompida
      */
-    private List<String> filterCompletions(java.util.Set<String> options, String input) {
-        return options.stream()
-                .filter(option -> option.toLowerCase().startsWith(input.toLowerCase()))
-                .collect(Collectors.toList());
+    @Subcommand(value = "top playtime", description = "Mostra os jogadores que mais jogaram nesta semana", async = true)
+    private Runnable showTopPlaytime(Player player) throws Exception {
+        List<LeaderboardEntry> entries;
+        
+        try {
+            entries = queryTop(plugin.getSessions().getWeekStat());
+        } catch (ExecutionException e) {
+            return topError(player, e);
+        }
+        
+        return () -> {
+            plugin.getMessages().send(player, "playtime-top-header");
+            
+            int position = 1;
+            for (LeaderboardEntry entry : entries) {
+                plugin.getMessages().send(player, "playtime-top-entry", "position", position++, "player", getName(entry),
+                    "time", PluginUtils.formatDuration(entry.getValue()));
+            }
+        };
+    }
+    
+    /**
+     * Consulta os 10 maiores valores de uma estatística
+     * Executado fora da thread principal; os contadores e perfis alterados são salvos antes e a
+     * consulta espera eles chegarem ao disco, para que o ranking inclua os dados mais recentes
+     */
+    private List<LeaderboardEntry> queryTop(String stat) throws InterruptedException, ExecutionException {
+        plugin.getServer().getScheduler().callSyncMethod(plugin, () -> {
+            plugin.getStats().flush();
+            plugin.getSessions().flush();
+            plugin.getProfileManager().saveDirty();
+            return plugin.getPlayerStore().checkpoint();
+        }).get().get();
+        
+        return plugin.getPlayerStore().getTopStat(stat, 10).get();
+    }
+    
+    private Runnable topError(Player player, ExecutionException e) {
+        return () -> {
+            plugin.getMessages().send(player, "top-error");
+            plugin.getLogger().warning("Falha ao consultar o ranking: " + e.getCause().getMessage());
+        };
+    }
+    
+    private String getName(LeaderboardEntry entry) {
+        return entry.getName() != null ? entry.getName() : entry.getUniqueId().toString();
     }
 }
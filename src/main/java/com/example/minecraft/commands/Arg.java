@@ -0,0 +1,30 @@
+package com.example.minecraft.commands;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marca um parâmetro de um @Subcommand como argumento digitado pelo jogador
+ * O valor é convertido pelo ArgumentParser registrado para o tipo do parâmetro
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.PARAMETER)
+public @interface Arg {
+
+    /**
+     * Nome do argumento mostrado no uso e na ajuda (ex: "chave")
+     */
+    String value();
+
+    /**
+     * Junta este e todos os argumentos seguintes separados por espaço (apenas no último String)
+     */
+    boolean greedy() default false;
+
+    /**
+     * Nome de um método @Completer da mesma classe usado no autocompletar deste argumento
+     */
+    String completer() default "";
+}
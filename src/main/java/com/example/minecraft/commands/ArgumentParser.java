@@ -0,0 +1,33 @@
+package com.example.minecraft.commands;
+
+import org.bukkit.command.CommandSender;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Converte um argumento digitado para o tipo de um parâmetro de @Subcommand
+ * @param <T> Tipo do valor convertido
+ */
+@FunctionalInterface
+public interface ArgumentParser<T> {
+
+    /**
+     * Converte o argumento
+     * @param sender Quem executou o comando
+     * @param input Texto digitado
+     * @return Valor convertido ou null se o texto for inválido
+     */
+    T parse(CommandSender sender, String input);
+
+    /**
+     * Sugere valores para o argumento
+     * @param sender Quem está digitando o comando
+     * @param prefix Texto já digitado
+     * @param limit Quantidade máxima de sugestões
+     * @return Sugestões que começam com o prefixo
+     */
+    default List<String> complete(CommandSender sender, String prefix, int limit) {
+        return Collections.emptyList();
+    }
+}
@@ -0,0 +1,224 @@
+package com.example.minecraft.commands;
+
+import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Player;
+import org.bukkit.scheduler.BukkitTask;
+
+import com.example.minecraft.ExamplePlugin;
+import com.example.minecraft.config.PluginSettings;
+import com.example.minecraft.metrics.LatencyHistogram;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+
+/**
+ * Executa os subcomandos marcados com @Subcommand(async = true) fora da thread principal
+ * O total de execuções simultâneas e por jogador é limitado e cada execução tem um tempo
+ * máximo; o resultado (um Runnable devolvido pelo subcomando) volta pelo agendador para
+ * ser executado na thread principal
+ * Usa virtual threads quando a JVM oferece (Java 21+) e um pool fixo caso contrário
+ */
+public class AsyncCommandRunner {
+
+    private final ExamplePlugin plugin;
+    private final ExecutorService executor;
+
+    // Vagas para execuções em andamento ou aguardando uma thread
+    private final Semaphore permits;
+
+    // Execuções em andamento por jogador (acessado apenas na thread principal)
+    private final Map<Object, Integer> inFlight;
+
+    private final int maxPerSender;
+    private final long timeoutTicks;
+
+    // Tempo entre o comando e a volta do resultado para a thread principal
+    private final LatencyHistogram commandTime;
+
+    public AsyncCommandRunner(ExamplePlugin plugin) {
+        PluginSettings config = plugin.getSettings();
+
+        this.plugin = plugin;
+        this.permits = new Semaphore(Math.max(1, config.getInt("commands.async.max-concurrent", 16)));
+        this.inFlight = new HashMap<>();
+        this.maxPerSender = Math.max(1, config.getInt("commands.async.max-per-player", 1));
+        this.timeoutTicks = Math.max(1L, config.getLong("commands.async.timeout", 10L) * 20L);
+        this.commandTime = plugin.getMetrics().histogram("async_command");
+        this.executor = createExecutor(plugin, Math.max(1, config.getInt("commands.async.threads", 2)));
+    }
+
+    /**
+     * Cria um executor de virtual threads, se disponível, ou um pool fixo de threads
+     */
+    private static ExecutorService createExecutor(ExamplePlugin plugin, int threads) {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            AtomicInteger threadCount = new AtomicInteger();
+            return Executors.newFixedThreadPool(threads, runnable -> {
+                Thread thread = new Thread(runnable, plugin.getName() + "-Command-" + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
+    /**
+     * Interrompe as execuções em andamento
+     */
+    public void shutdown() {
+        executor.shutdownNow();
+
+        try {
+            executor.awaitTermination(2, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Executa o corpo de um subcomando fora da thread principal
+     * Deve ser chamado na thread principal
+     * @param sender Quem executou o comando
+     * @param body Corpo do subcomando; pode devolver um Runnable para executar na thread principal
+     */
+    public void submit(CommandSender sender, Callable<Object> body) {
+        Object key = sender instanceof Player ? ((Player) sender).getUniqueId() : sender;
+        int running = inFlight.getOrDefault(key, 0);
+
+        if (running >= maxPerSender || !permits.tryAcquire()) {
+            plugin.getMessages().send(sender, "command-busy");
+            return;
+        }
+
+        inFlight.put(key, running + 1);
+
+        Execution execution = new Execution(sender, key);
+        execution.future = executor.submit(() -> {
+            execution.started = true;
+
+            try {
+                Object result = body.call();
+                complete(execution, result, null);
+            } catch (Throwable error) {
+                complete(execution, null, error);
+            } finally {
+                releasePermit(execution);
+            }
+        });
+        execution.timeoutTask = plugin.getServer().getScheduler().runTaskLater(plugin, () -> timeout(execution), timeoutTicks);
+    }
+
+    /**
+     * Envia o resultado de uma execução para a thread principal
+     * Chamado na thread da execução
+     */
+    private void complete(Execution execution, Object result, Throwable error) {
+        if (!plugin.isEnabled()) {
+            return;
+        }
+
+        plugin.getServer().getScheduler().runTask(plugin, () -> {
+            if (!finish(execution)) {
+                return;
+            }
+
+            commandTime.record(System.nanoTime() - execution.startNanos);
+
+            if (error != null) {
+                plugin.getLogger().log(Level.WARNING, "Erro ao executar comando assíncrono de " + execution.sender.getName(), error);
+                plugin.getMessages().send(execution.sender, "command-error");
+                return;
+            }
+
+            if (result instanceof Runnable && (!(execution.sender instanceof Player) || ((Player) execution.sender).isOnline())) {
+                ((Runnable) result).run();
+            }
+        });
+    }
+
+    /**
+     * Cancela uma execução que passou do tempo máximo
+     */
+    private void timeout(Execution execution) {
+        if (!finish(execution)) {
+            return;
+        }
+
+        // Uma execução cancelada ainda na fila nunca chega ao finally que devolve a vaga
+        if (execution.future.cancel(true) && !execution.started) {
+            releasePermit(execution);
+        }
+
+        commandTime.record(System.nanoTime() - execution.startNanos);
+        plugin.getMessages().send(execution.sender, "command-timeout");
+    }
+
+    /**
+     * Devolve a vaga global da execução, uma única vez, por quem terminar primeiro
+     * (o próprio corpo ou o tempo esgotado antes de ele começar)
+     */
+    private void releasePermit(Execution execution) {
+        if (execution.released.compareAndSet(false, true)) {
+            permits.release();
+        }
+    }
+
+    /**
+     * Marca a execução como terminada e libera a vaga do jogador
+     * @return false se a execução já tinha terminado (por resultado ou tempo esgotado)
+     */
+    private boolean finish(Execution execution) {
+        if (execution.finished) {
+            return false;
+        }
+
+        execution.finished = true;
+        execution.timeoutTask.cancel();
+
+        int running = inFlight.getOrDefault(execution.key, 1) - 1;
+
+        if (running <= 0) {
+            inFlight.remove(execution.key);
+        } else {
+            inFlight.put(execution.key, running);
+        }
+
+        return true;
+    }
+
+    /**
+     * Execução em andamento de um subcomando
+     */
+    private static final class Execution {
+
+        private final CommandSender sender;
+        private final Object key;
+        private final long startNanos;
+
+        // Indica se o corpo começou a executar e se a vaga global já foi devolvida
+        private volatile boolean started;
+        private final AtomicBoolean released;
+
+        // Acessados apenas na thread principal
+        private Future<?> future;
+        private BukkitTask timeoutTask;
+        private boolean finished;
+
+        private Execution(CommandSender sender, Object key) {
+            this.sender = sender;
+            this.key = key;
+            this.startNanos = System.nanoTime();
+            this.released = new AtomicBoolean();
+        }
+    }
+}
@@ -0,0 +1,667 @@
+package com.example.minecraft.commands;
+
+import org.bukkit.command.Command;
+import org.bukkit.command.CommandSender;
+import org.bukkit.command.TabExecutor;
+import org.bukkit.entity.Player;
+
+import com.example.minecraft.ExamplePlugin;
+import com.example.minecraft.utils.PrefixIndex;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Executor de comandos montado a partir dos métodos @Subcommand de um objeto
+ * Na criação os métodos viram uma árvore de subcomandos com os conversores de argumentos
+ * já resolvidos e MethodHandles prontos; cada execução apenas percorre a árvore, sem
+ * reflexão. Ajuda, uso, permissões e autocompletar são gerados a partir das anotações
+ */
+public class CommandDispatcher implements TabExecutor {
+
+    // Quantidade máxima de sugestões enviadas por consulta
+    private static final int MAX_COMPLETIONS = 50;
+
+    // Origem dos parâmetros que não são argumentos digitados
+    private static final int SENDER = -1;
+    private static final int LABEL = -2;
+
+    private static final MethodType INVOKER_TYPE = MethodType.methodType(Object.class, Object[].class);
+    private static final MethodType COMPLETER_TYPE =
+        MethodType.methodType(List.class, CommandSender.class, String.class, int.class);
+
+    private final ExamplePlugin plugin;
+    private final Map<Class<?>, ArgumentParser<?>> parsers;
+    private final Node root;
+
+    /**
+     * Compila os subcomandos de um objeto
+     * @param plugin Instância do plugin
+     * @param commands Objeto com os métodos @Subcommand e @Completer
+     * @throws IllegalArgumentException Se algum método anotado for inválido
+     */
+    public CommandDispatcher(ExamplePlugin plugin, Object commands) {
+        this.plugin = plugin;
+        this.parsers = defaultParsers(plugin);
+        this.root = new Node("");
+
+        Map<String, MethodHandle> completers = new HashMap<>();
+
+        for (Method method : commands.getClass().getDeclaredMethods()) {
+            Completer completer = method.getAnnotation(Completer.class);
+
+            if (completer != null) {
+                completers.put(completer.value(), bind(method, commands).asType(COMPLETER_TYPE));
+            }
+        }
+
+        for (Method method : commands.getClass().getDeclaredMethods()) {
+            Subcommand subcommand = method.getAnnotation(Subcommand.class);
+
+            if (subcommand != null) {
+                compile(subcommand, method, commands, completers);
+            }
+        }
+
+        // Ajuda gerada automaticamente, se a classe não definir a sua
+        if (root.child("help") == null) {
+            MethodHandle help;
+
+            try {
+                help = MethodHandles.lookup()
+                    .findVirtual(CommandDispatcher.class, "sendHelp",
+                        MethodType.methodType(void.class, CommandSender.class, String.class))
+                    .bindTo(this)
+                    .asSpreader(Object[].class, 2)
+                    .asType(INVOKER_TYPE);
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalStateException(e);
+            }
+
+            root.addChild("help").handler = new Handler("", "Mostra esta ajuda", "", false, false,
+                new int[] { SENDER, LABEL }, new ArgumentParser<?>[0], new MethodHandle[0], false, help);
+        }
+    }
+
+    private static MethodHandle bind(Method method, Object target) {
+        try {
+            method.setAccessible(true);
+            return MethodHandles.lookup().unreflect(method).bindTo(target);
+        } catch (IllegalAccessException e) {
+            throw new IllegalArgumentException("Método inacessível: " + method, e);
+        }
+    }
+
+    /**
+     * Cria o nó e o executor de um método @Subcommand
+     */
+    private void compile(Subcommand subcommand, Method method, Object commands, Map<String, MethodHandle> completers) {
+        Parameter[] parameters = method.getParameters();
+        int[] sources = new int[parameters.length];
+        List<ArgumentParser<?>> argumentParsers = new ArrayList<>();
+        List<MethodHandle> argumentCompleters = new ArrayList<>();
+        StringBuilder usage = new StringBuilder();
+        boolean playerOnly = false;
+        boolean greedy = false;
+
+        for (int i = 0; i < parameters.length; i++) {
+            Parameter parameter = parameters[i];
+            Class<?> type = parameter.getType();
+            Arg arg = parameter.getAnnotation(Arg.class);
+
+            if (greedy) {
+                throw new IllegalArgumentException("Argumento greedy deve ser o último: " + method);
+            }
+
+            if (arg == null) {
+                if (type == Player.class) {
+                    sources[i] = SENDER;
+                    playerOnly = true;
+                } else if (type == CommandSender.class) {
+                    sources[i] = SENDER;
+                } else if (type == String.class) {
+                    sources[i] = LABEL;
+                } else {
+                    throw new IllegalArgumentException("Parâmetro sem @Arg com tipo não suportado: " + method);
+                }
+
+                continue;
+            }
+
+            ArgumentParser<?> parser = parser(type);
+
+            if (parser == null) {
+                throw new IllegalArgumentException("Tipo de argumento não suportado: " + type.getName() + " em " + method);
+            }
+
+            if (arg.greedy() && type != String.class) {
+                throw new IllegalArgumentException("Apenas argumentos String podem ser greedy: " + method);
+            }
+
+            MethodHandle completer = null;
+
+            if (!arg.completer().isEmpty()) {
+                completer = completers.get(arg.completer());
+
+                if (completer == null) {
+                    throw new IllegalArgumentException("Autocompletar não encontrado: " + arg.completer() + " em " + method);
+                }
+            }
+
+            sources[i] = argumentParsers.size();
+            argumentParsers.add(parser);
+            argumentCompleters.add(completer);
+            greedy = arg.greedy();
+
+            if (usage.length() > 0) {
+                usage.append(' ');
+            }
+
+            usage.append('<').append(arg.value()).append(greedy ? "...>" : ">");
+        }
+
+        Node node = root;
+
+        if (!subcommand.value().isEmpty()) {
+            String[] path = subcommand.value().split(" ");
+
+            for (String word : path) {
+                Node child = node.child(word);
+                node = child != null ? child : node.addChild(word);
+            }
+
+            for (String alias : subcommand.aliases()) {
+                node.parent.addAlias(alias, node);
+            }
+        }
+
+        if (node.handler != null) {
+            throw new IllegalArgumentException("Subcomando duplicado: " + subcommand.value());
+        }
+
+        if (subcommand.async() && method.getReturnType() != void.class && method.getReturnType() != Runnable.class) {
+            throw new IllegalArgumentException("Subcomando assíncrono deve retornar void ou Runnable: " + method);
+        }
+
+        MethodHandle invoker = bind(method, commands).asSpreader(Object[].class, parameters.length).asType(INVOKER_TYPE);
+
+        node.handler = new Handler(usage.toString(), subcommand.description(), subcommand.permission(), playerOnly,
+            subcommand.async(), sources, argumentParsers.toArray(new ArgumentParser<?>[0]), argumentCompleters.toArray(new MethodHandle[0]),
+            greedy, invoker);
+    }
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private ArgumentParser<?> parser(Class<?> type) {
+        ArgumentParser<?> parser = parsers.get(type);
+
+        if (parser == null && type.isEnum()) {
+            parser = enumParser((Class) type);
+            parsers.put(type, parser);
+        }
+
+        return parser;
+    }
+
+    @Override
+    public boolean onCommand(CommandSender sender, Command command, String label, String[] args) {
+        Node node = root;
+        int depth = 0;
+
+        while (depth < args.length) {
+            Node child = node.child(args[depth]);
+
+            if (child == null) {
+                break;
+            }
+
+            node = child;
+            depth++;
+        }
+
+        Handler handler = node.handler;
+
+        // Sem argumentos e sem subcomando padrão: mostrar a ajuda
+        if (handler == null && args.length == 0) {
+            sendHelp(sender, label);
+            return true;
+        }
+
+        // Palavra que não é subcomando e não pode ser argumento
+        if (handler == null || (depth < args.length && handler.parsers.length == 0)) {
+            plugin.getMessages().send(sender, "unknown-subcommand", "label", label);
+            return true;
+        }
+
+        handler.execute(sender, label, node, args, depth);
+        return true;
+    }
+
+    @Override
+    public List<String> onTabComplete(CommandSender sender, Command command, String alias, String[] args) {
+        if (args.length == 0) {
+            return Collections.emptyList();
+        }
+
+        Node node = root;
+        int depth = 0;
+        int last = args.length - 1;
+
+        while (depth < last) {
+            Node child = node.child(args[depth]);
+
+            if (child == null) {
+                break;
+            }
+
+            node = child;
+            depth++;
+        }
+
+        String prefix = args[last];
+
+        if (depth == last && node.names.size() > 0) {
+            List<String> completions = node.names.complete(prefix, MAX_COMPLETIONS);
+            Node parent = node;
+            completions.removeIf(name -> !parent.child(name).isVisibleTo(sender));
+
+            if (!completions.isEmpty()) {
+                return completions;
+            }
+        }
+
+        Handler handler = node.handler;
+        int argument = last - depth;
+
+        if (handler == null || !handler.isVisibleTo(sender) || handler.parsers.length == 0) {
+            return Collections.emptyList();
+        }
+
+        if (argument >= handler.parsers.length) {
+            // Argumentos greedy não têm sugestões depois da primeira palavra
+            return Collections.emptyList();
+        }
+
+        return handler.complete(sender, argument, prefix);
+    }
+
+    /**
+     * Mostra os subcomandos disponíveis para quem executou o comando
+     * @param sender Quem executou o comando
+     * @param label Nome usado para o comando
+     */
+    public void sendHelp(CommandSender sender, String label) {
+        sender.sendMessage("§6=== Comandos Disponíveis ===");
+
+        Map<String, Handler> entries = new TreeMap<>();
+        root.collect("", entries);
+
+        for (Map.Entry<String, Handler> entry : entries.entrySet()) {
+            Handler handler = entry.getValue();
+
+            if (handler.description.isEmpty() || !handler.isVisibleTo(sender)) {
+                continue;
+            }
+
+            StringBuilder line = new StringBuilder("§e/").append(label);
+
+            if (!entry.getKey().isEmpty()) {
+                line.append(' ').append(entry.getKey());
+            }
+
+            if (!handler.usage.isEmpty()) {
+                line.append(' ').append(handler.usage);
+            }
+
+            sender.sendMessage(line.append(" §7- ").append(handler.description).toString());
+        }
+    }
+
+    private static Map<Class<?>, ArgumentParser<?>> defaultParsers(ExamplePlugin plugin) {
+        Map<Class<?>, ArgumentParser<?>> parsers = new HashMap<>();
+
+        parsers.put(String.class, (sender, input) -> input);
+
+        ArgumentParser<Integer> integer = (sender, input) -> {
+            try {
+                return Integer.parseInt(input);
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        };
+        parsers.put(int.class, integer);
+        parsers.put(Integer.class, integer);
+
+        ArgumentParser<Long> longParser = (sender, input) -> {
+            try {
+                return Long.parseLong(input);
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        };
+        parsers.put(long.class, longParser);
+        parsers.put(Long.class, longParser);
+
+        ArgumentParser<Double> doubleParser = (sender, input) -> {
+            try {
+                double value = Double.parseDouble(input);
+                return Double.isFinite(value) ? value : null;
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        };
+        parsers.put(double.class, doubleParser);
+        parsers.put(Double.class, doubleParser);
+
+        PrefixIndex booleans = new PrefixIndex("true", "false");
+        ArgumentParser<Boolean> booleanParser = new ArgumentParser<Boolean>() {
+            @Override
+            public Boolean parse(CommandSender sender, String input) {
+                if (input.equalsIgnoreCase("true")) {
+                    return Boolean.TRUE;
+                }
+
+                return input.equalsIgnoreCase("false") ? Boolean.FALSE : null;
+            }
+
+            @Override
+            public List<String> complete(CommandSender sender, String prefix, int limit) {
+                return booleans.complete(prefix, limit);
+            }
+        };
+        parsers.put(boolean.class, booleanParser);
+        parsers.put(Boolean.class, booleanParser);
+
+        parsers.put(Player.class, new ArgumentParser<Player>() {
+            @Override
+            public Player parse(CommandSender sender, String input) {
+                return plugin.getServer().getPlayerExact(input);
+            }
+
+            @Override
+            public List<String> complete(CommandSender sender, String prefix, int limit) {
+                List<String> names = new ArrayList<>();
+
+                for (Player player : plugin.getServer().getOnlinePlayers()) {
+                    if (names.size() >= limit) {
+                        break;
+                    }
+
+                    if (player.getName().regionMatches(true, 0, prefix, 0, prefix.length())) {
+                        names.add(player.getName());
+                    }
+                }
+
+                return names;
+            }
+        });
+
+        return parsers;
+    }
+
+    private static <E extends Enum<E>> ArgumentParser<E> enumParser(Class<E> type) {
+        Map<String, E> constants = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        PrefixIndex names = new PrefixIndex();
+
+        for (E constant : type.getEnumConstants()) {
+            String name = constant.name().toLowerCase(Locale.ROOT);
+            constants.put(name, constant);
+            names.add(name);
+        }
+
+        return new ArgumentParser<E>() {
+            @Override
+            public E parse(CommandSender sender, String input) {
+                return constants.get(input);
+            }
+
+            @Override
+            public List<String> complete(CommandSender sender, String prefix, int limit) {
+                return names.complete(prefix, limit);
+            }
+        };
+    }
+
+    /**
+     * Nó da árvore de subcomandos
+     */
+    private static final class Node {
+
+        private final String name;
+        private Node parent;
+
+        // Filhos por nome e apelido, sem diferenciar maiúsculas de minúsculas
+        private final Map<String, Node> children;
+        private final PrefixIndex names;
+
+        private Handler handler;
+
+        private Node(String name) {
+            this.name = name;
+            this.children = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+            this.names = new PrefixIndex();
+        }
+
+        private Node child(String word) {
+            return children.get(word);
+        }
+
+        private Node addChild(String word) {
+            Node child = new Node(word);
+            child.parent = this;
+            children.put(word, child);
+            names.add(word);
+            return child;
+        }
+
+        private void addAlias(String alias, Node child) {
+            if (children.putIfAbsent(alias, child) != null) {
+                throw new IllegalArgumentException("Apelido duplicado: " + alias);
+            }
+
+            names.add(alias);
+        }
+
+        /**
+         * Verifica se o nó tem algum subcomando que o sender pode usar
+         */
+        private boolean isVisibleTo(CommandSender sender) {
+            if (handler != null && handler.isVisibleTo(sender)) {
+                return true;
+            }
+
+            for (Node child : children.values()) {
+                if (child.isVisibleTo(sender)) {
+                    return true;
+                }
+            }
+
+            return false;
+        }
+
+        /**
+         * Junta os executores deste nó e dos filhos pelo caminho completo (sem apelidos)
+         */
+        private void collect(String path, Map<String, Handler> entries) {
+            if (handler != null) {
+                entries.put(path, handler);
+            }
+
+            for (Map.Entry<String, Node> entry : children.entrySet()) {
+                Node child = entry.getValue();
+
+                // Apelidos apontam para o mesmo nó com outro nome
+                if (entry.getKey().equals(child.name)) {
+                    child.collect(path.isEmpty() ? child.name : path + " " + child.name, entries);
+                }
+            }
+        }
+    }
+
+    /**
+     * Subcomando compilado: de onde vem cada parâmetro e como converter os argumentos
+     */
+    private final class Handler {
+
+        private final String usage;
+        private final String description;
+        private final String permission;
+        private final boolean playerOnly;
+        private final boolean async;
+
+        // Para cada parâmetro do método: SENDER, LABEL ou a posição do argumento digitado
+        private final int[] sources;
+        private final ArgumentParser<?>[] parsers;
+        private final MethodHandle[] completers;
+        private final boolean greedy;
+
+        // Método do subcomando com tipo (Object[])Object
+        private final MethodHandle invoker;
+
+        private Handler(String usage, String description, String permission, boolean playerOnly, boolean async,
+                        int[] sources, ArgumentParser<?>[] parsers, MethodHandle[] completers, boolean greedy, MethodHandle invoker) {
+            this.usage = usage;
+            this.description = description;
+            this.permission = permission;
+            this.playerOnly = playerOnly;
+            this.async = async;
+            this.sources = sources;
+            this.parsers = parsers;
+            this.completers = completers;
+            this.greedy = greedy;
+            this.invoker = invoker;
+        }
+
+        private boolean isVisibleTo(CommandSender sender) {
+            return (permission.isEmpty() || sender.hasPermission(permission))
+                && (!playerOnly || sender instanceof Player);
+        }
+
+        private void execute(CommandSender sender, String label, Node node, String[] args, int first) {
+            if (playerOnly && !(sender instanceof Player)) {
+                plugin.getMessages().send(sender, "players-only");
+                return;
+            }
+
+            if (!permission.isEmpty() && !sender.hasPermission(permission)) {
+                plugin.getMessages().send(sender, "no-permission");
+                return;
+            }
+
+            int given = args.length - first;
+
+            if (given < parsers.length || (!greedy && given > parsers.length)) {
+                plugin.getMessages().send(sender, "usage", "label", label, "usage", path(node) + usage);
+                return;
+            }
+
+            Object[] values = new Object[sources.length];
+
+            for (int i = 0; i < sources.length; i++) {
+                int source = sources[i];
+
+                if (source == SENDER) {
+                    values[i] = sender;
+                    continue;
+                }
+
+                if (source == LABEL) {
+                    values[i] = label;
+                    continue;
+                }
+
+                String input = greedy && source == parsers.length - 1
+                    ? join(args, first + source)
+                    : args[first + source];
+                Object value = parsers[source].parse(sender, input);
+
+                if (value == null) {
+                    plugin.getMessages().send(sender, "invalid-argument", "value", input);
+                    return;
+                }
+
+                values[i] = value;
+            }
+
+            if (async) {
+                plugin.getCommandRunner().submit(sender, () -> invoke(values));
+                return;
+            }
+
+            Object result = invoke(values);
+
+            if (result instanceof Runnable) {
+                ((Runnable) result).run();
+            }
+        }
+
+        private Object invoke(Object[] values) {
+            try {
+                return (Object) invoker.invokeExact(values);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        private List<String> complete(CommandSender sender, int argument, String prefix) {
+            MethodHandle completer = completers[argument];
+
+            if (completer == null) {
+                return parsers[argument].complete(sender, prefix, MAX_COMPLETIONS);
+            }
+
+            try {
+                return (List<String>) completer.invokeExact(sender, prefix, MAX_COMPLETIONS);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        private String path(Node node) {
+            StringBuilder path = new StringBuilder();
+
+            for (Node current = node; current != null && current.parent != null; current = current.parent) {
+                path.insert(0, current.name + " ");
+            }
+
+            return path.toString();
+        }
+    }
+
+    /**
+     * Junta os argumentos a partir de uma posição separados por espaço
+     */
+    private static String join(String[] args, int start) {
+        int length = args.length - start - 1;
+
+        for (int i = start; i < args.length; i++) {
+            length += args[i].length();
+        }
+
+        StringBuilder builder = new StringBuilder(length);
+
+        for (int i = start; i < args.length; i++) {
+            if (i > start) {
+                builder.append(' ');
+            }
+
+            builder.append(args[i]);
+        }
+
+        return builder.toString();
+    }
+}
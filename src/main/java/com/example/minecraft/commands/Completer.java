@@ -0,0 +1,20 @@
+package com.example.minecraft.commands;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marca um método como autocompletar de argumentos, referenciado por @Arg(completer = ...)
+ * Assinatura esperada: List&lt;String&gt; metodo(CommandSender sender, String prefix, int limit)
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface Completer {
+
+    /**
+     * Nome do autocompletar
+     */
+    String value();
+}
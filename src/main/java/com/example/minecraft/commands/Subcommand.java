@@ -0,0 +1,45 @@
+package com.example.minecraft.commands;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marca um método como subcomando de um CommandDispatcher
+ * Os parâmetros anotados com @Arg são lidos dos argumentos digitados; os demais são
+ * preenchidos pelo tipo: CommandSender ou Player recebem quem executou o comando (Player
+ * restringe o subcomando a jogadores) e String recebe o nome usado para o comando
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface Subcommand {
+
+    /**
+     * Caminho do subcomando, com as palavras separadas por espaço (ex: "profile reset")
+     * Vazio para o comando sem argumentos
+     */
+    String value();
+
+    /**
+     * Nomes alternativos para a última palavra do caminho
+     */
+    String[] aliases() default {};
+
+    /**
+     * Descrição mostrada na ajuda (subcomandos sem descrição não aparecem na ajuda)
+     */
+    String description() default "";
+
+    /**
+     * Permissão necessária (vazio para nenhuma)
+     */
+    String permission() default "";
+
+    /**
+     * Executa o subcomando fora da thread principal (ex: consultas ao armazenamento)
+     * O corpo não deve usar a API do Bukkit; o método pode retornar um Runnable, executado
+     * na thread principal com o resultado (ex: enviar as mensagens ao jogador)
+     */
+    boolean async() default false;
+}
@@ -0,0 +1,246 @@
+package com.example.minecraft.config;
+
+import org.bukkit.configuration.Configuration;
+import org.bukkit.configuration.ConfigurationSection;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Cópia imutável do config.yml, lida uma única vez a cada recarga
+ * Os valores ficam em um mapa de caminhos completos (ex: features.compass.cooldown), então
+ * as leituras não bloqueiam nem voltam a interpretar o YAML e podem ser feitas de qualquer thread
+ * Os valores padrão servem apenas para leituras de valores ausentes; as chaves de uma seção
+ * vêm do arquivo quando ela existe nele, então remover uma entrada (ex: stats.tracked.<nome>)
+ * a remove de fato, e dos valores padrão só quando a seção inteira falta (configs antigas)
+ */
+public final class PluginSettings {
+
+    private static final PluginSettings EMPTY = new PluginSettings(Collections.emptyMap(), Collections.emptySet(),
+            Collections.emptyMap(), Collections.emptySet());
+
+    // Valores finais (não seções) por caminho completo
+    private final Map<String, Object> values;
+
+    // Valores padrão usados quando o caminho não existe no arquivo
+    private final Map<String, Object> defaults;
+
+    // Nomes dos filhos diretos de cada seção, na ordem do arquivo
+    private final Map<String, List<String>> children;
+
+    // Nomes dos filhos diretos de cada seção dos valores padrão
+    private final Map<String, List<String>> defaultChildren;
+
+    private PluginSettings(Map<String, Object> values, Set<String> sections,
+                           Map<String, Object> defaults, Set<String> defaultSections) {
+        this.values = values;
+        this.defaults = defaults;
+        this.children = indexChildren(values.keySet(), sections);
+        this.defaultChildren = indexChildren(defaults.keySet(), defaultSections);
+    }
+
+    private static Map<String, List<String>> indexChildren(Set<String> paths, Set<String> sections) {
+        Map<String, Set<String>> keys = new HashMap<>();
+
+        // Seções vazias também contam, para que esvaziar uma seção não traga os padrões de volta
+        for (String section : sections) {
+            keys.computeIfAbsent(section, key -> new LinkedHashSet<>());
+        }
+
+        for (String path : paths) {
+            int end = path.length();
+
+            // Registrar cada nível do caminho na seção acima dele
+            while (end > 0) {
+                int dot = path.lastIndexOf('.', end - 1);
+                String parent = dot < 0 ? "" : path.substring(0, dot);
+                keys.computeIfAbsent(parent, key -> new LinkedHashSet<>()).add(path.substring(dot + 1, end));
+                end = dot < 0 ? 0 : dot;
+            }
+        }
+
+        Map<String, List<String>> children = new HashMap<>();
+
+        for (Map.Entry<String, Set<String>> entry : keys.entrySet()) {
+            children.put(entry.getKey(), Collections.unmodifiableList(new ArrayList<>(entry.getValue())));
+        }
+
+        return children;
+    }
+
+    /**
+     * Obtém uma configuração vazia (todos os valores padrão)
+     * @return Configuração vazia
+     */
+    public static PluginSettings empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Copia uma configuração carregada e, à parte, os seus valores padrão
+     * @param config Configuração carregada
+     * @return Cópia imutável
+     */
+    public static PluginSettings of(Configuration config) {
+        Map<String, Object> values = new LinkedHashMap<>();
+        Map<String, Object> defaults = new LinkedHashMap<>();
+        Set<String> sections = new HashSet<>();
+        Set<String> defaultSections = new HashSet<>();
+
+        if (config.getDefaults() != null) {
+            copyValues(config.getDefaults(), defaults, defaultSections);
+        }
+
+        copyValues(config, values, sections);
+        return new PluginSettings(Collections.unmodifiableMap(values), sections,
+                Collections.unmodifiableMap(defaults), defaultSections);
+    }
+
+    private static void copyValues(ConfigurationSection section, Map<String, Object> values, Set<String> sections) {
+        for (Map.Entry<String, Object> entry : section.getValues(true).entrySet()) {
+            Object value = entry.getValue();
+
+            if (value instanceof ConfigurationSection) {
+                sections.add(entry.getKey());
+                continue;
+            }
+
+            if (value instanceof List) {
+                value = Collections.unmodifiableList(new ArrayList<>((List<?>) value));
+            }
+
+            values.put(entry.getKey(), value);
+        }
+    }
+
+    /**
+     * Compara com outra configuração
+     * @param previous Configuração anterior
+     * @return Caminhos completos dos valores adicionados, removidos ou alterados
+     */
+    public Set<String> diff(PluginSettings previous) {
+        Set<String> paths = new HashSet<>(values.keySet());
+        paths.addAll(defaults.keySet());
+        paths.addAll(previous.values.keySet());
+        paths.addAll(previous.defaults.keySet());
+
+        Set<String> changed = new HashSet<>();
+
+        for (String path : paths) {
+            Object value = get(path);
+
+            if (value == null ? previous.get(path) != null : !value.equals(previous.get(path))) {
+                changed.add(path);
+            }
+        }
+
+        return changed;
+    }
+
+    /**
+     * Verifica se algum caminho alterado está dentro de uma seção
+     * @param changed Caminhos retornados por diff()
+     * @param section Caminho da seção (ex: settings.profiler)
+     * @return true se a seção ou algum valor dentro dela mudou
+     */
+    public static boolean isChanged(Set<String> changed, String section) {
+        for (String path : changed) {
+            if (path.equals(section) || (path.startsWith(section) && path.charAt(section.length()) == '.')) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Verifica se existe um valor ou seção no caminho
+     * @param path Caminho completo
+     * @return true se existir
+     */
+    public boolean contains(String path) {
+        return values.containsKey(path) || defaults.containsKey(path) || children.containsKey(path)
+                || defaultChildren.containsKey(path);
+    }
+
+    /**
+     * Obtém os nomes dos filhos diretos de uma seção, como estão no arquivo ou, se a seção
+     * não existir nele, como estão nos valores padrão
+     * @param path Caminho da seção
+     * @return Lista (somente leitura) de nomes, vazia se a seção não existir em nenhum dos dois
+     */
+    public List<String> getKeys(String path) {
+        List<String> keys = children.get(path);
+
+        if (keys == null && !values.containsKey(path)) {
+            keys = defaultChildren.get(path);
+        }
+
+        return keys != null ? keys : Collections.emptyList();
+    }
+
+    public boolean getBoolean(String path, boolean def) {
+        Object value = get(path);
+        return value instanceof Boolean ? (Boolean) value : def;
+    }
+
+    public int getInt(String path, int def) {
+        Object value = get(path);
+        return value instanceof Number ? ((Number) value).intValue() : def;
+    }
+
+    public long getLong(String path, long def) {
+        Object value = get(path);
+        return value instanceof Number ? ((Number) value).longValue() : def;
+    }
+
+    public double getDouble(String path, double def) {
+        Object value = get(path);
+        return value instanceof Number ? ((Number) value).doubleValue() : def;
+    }
+
+    public String getString(String path, String def) {
+        Object value = get(path);
+        return value != null && !(value instanceof List) ? value.toString() : def;
+    }
+
+    /**
+     * Obtém um valor do arquivo ou, se ausente, o valor padrão
+     * @param path Caminho completo
+     * @return Valor encontrado ou null
+     */
+    private Object get(String path) {
+        Object value = values.get(path);
+        return value != null ? value : defaults.get(path);
+    }
+
+    /**
+     * Obtém uma lista de textos
+     * @param path Caminho completo
+     * @return Lista (somente leitura), vazia se o valor não existir ou não for uma lista
+     */
+    public List<String> getStringList(String path) {
+        Object value = get(path);
+
+        if (!(value instanceof List)) {
+            return Collections.emptyList();
+        }
+
+        List<String> list = new ArrayList<>();
+
+        for (Object element : (List<?>) value) {
+            if (element != null) {
+                list.add(element.toString());
+            }
+        }
+
+        return Collections.unmodifiableList(list);
+    }
+}
@@ -0,0 +1,204 @@
+package com.example.minecraft.config;
+
+import org.bukkit.configuration.InvalidConfigurationException;
+import org.bukkit.configuration.file.YamlConfiguration;
+
+import com.example.minecraft.ExamplePlugin;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Mantém a cópia atual do config.yml e a recarrega sem travar a thread principal
+ * O arquivo é lido fora da thread principal, comparado com a cópia atual e publicado com
+ * uma única troca de referência; apenas os serviços das seções alteradas são avisados
+ */
+public class SettingsManager {
+
+    private final ExamplePlugin plugin;
+    private final File file;
+
+    private volatile PluginSettings current;
+
+    // Tarefas executadas quando uma seção muda, na ordem de registro
+    private final List<Subscription> subscriptions;
+
+    public SettingsManager(ExamplePlugin plugin) {
+        this.plugin = plugin;
+        this.file = new File(plugin.getDataFolder(), "config.yml");
+        this.current = PluginSettings.empty();
+        this.subscriptions = new ArrayList<>();
+    }
+
+    /**
+     * Carrega o config.yml na thread atual (usado ao ativar o plugin)
+     * Em caso de erro no arquivo, apenas os valores padrão são usados
+     */
+    public void load() {
+        try {
+            current = parse();
+        } catch (IOException | InvalidConfigurationException e) {
+            plugin.getLogger().severe("Erro ao ler o config.yml, usando os valores padrão: " + e.getMessage());
+            current = parseDefaults();
+        }
+    }
+
+    /**
+     * Registra uma tarefa a ser executada quando alguma das seções mudar em uma recarga
+     * A tarefa roda uma única vez por recarga, na thread principal, depois que a nova
+     * configuração já foi publicada
+     * @param listener Tarefa a ser executada
+     * @param sections Caminhos das seções (ex: features ou settings.profiler)
+     */
+    public void subscribe(Runnable listener, String... sections) {
+        subscriptions.add(new Subscription(listener, sections));
+    }
+
+    /**
+     * Recarrega o config.yml fora da thread principal
+     * Deve ser chamado na thread principal; o future é completado nela
+     * @return Future com as seções alteradas (com erro se o arquivo for inválido)
+     */
+    public CompletableFuture<Set<String>> reload() {
+        CompletableFuture<Set<String>> result = new CompletableFuture<>();
+
+        plugin.getServer().getScheduler().runTaskAsynchronously(plugin, () -> {
+            PluginSettings next;
+
+            try {
+                next = parse();
+            } catch (IOException | InvalidConfigurationException e) {
+                plugin.getServer().getScheduler().runTask(plugin, () -> result.completeExceptionally(e));
+                return;
+            }
+
+            plugin.getServer().getScheduler().runTask(plugin, () -> result.complete(publish(next)));
+        });
+
+        return result;
+    }
+
+    /**
+     * Publica uma nova configuração e avisa os serviços das seções alteradas
+     * @param next Nova configuração
+     * @return Seções alteradas
+     */
+    private Set<String> publish(PluginSettings next) {
+        Set<String> changed = next.diff(current);
+        current = next;
+
+        Set<String> notified = new TreeSet<>();
+
+        for (Subscription subscription : subscriptions) {
+            List<String> sections = subscription.getChanged(changed);
+
+            if (sections.isEmpty()) {
+                continue;
+            }
+
+            notified.addAll(sections);
+
+            try {
+                subscription.listener.run();
+            } catch (RuntimeException e) {
+                plugin.getLogger().severe("Erro ao aplicar " + String.join(", ", sections) + ": " + e.getMessage());
+            }
+        }
+
+        // Valores que só são lidos ao ativar o plugin
+        Set<String> restart = new TreeSet<>();
+
+        for (String path : changed) {
+            if (!isCovered(path)) {
+                restart.add(path);
+            }
+        }
+
+        if (!restart.isEmpty()) {
+            plugin.getLogger().warning("Alterações que só serão aplicadas ao reiniciar o servidor: " + String.join(", ", restart));
+        }
+
+        return notified;
+    }
+
+    private boolean isCovered(String path) {
+        Set<String> single = Set.of(path);
+
+        for (Subscription subscription : subscriptions) {
+            if (!subscription.getChanged(single).isEmpty()) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private PluginSettings parse() throws IOException, InvalidConfigurationException {
+        YamlConfiguration config = new YamlConfiguration();
+        config.load(file);
+        config.setDefaults(loadDefaults());
+        return PluginSettings.of(config);
+    }
+
+    private PluginSettings parseDefaults() {
+        // Sem um arquivo válido, o config.yml embutido faz o papel do arquivo, seções incluídas
+        return PluginSettings.of(loadDefaults());
+    }
+
+    private YamlConfiguration loadDefaults() {
+        InputStream stream = plugin.getResource("config.yml");
+
+        if (stream == null) {
+            return new YamlConfiguration();
+        }
+
+        try (Reader reader = new InputStreamReader(stream, StandardCharsets.UTF_8)) {
+            return YamlConfiguration.loadConfiguration(reader);
+        } catch (IOException e) {
+            return new YamlConfiguration();
+        }
+    }
+
+    /**
+     * Obtém a configuração atual
+     * @return Cópia imutável do config.yml
+     */
+    public PluginSettings getSettings() {
+        return current;
+    }
+
+    /**
+     * Tarefa registrada para um conjunto de seções
+     */
+    private static final class Subscription {
+
+        private final Runnable listener;
+        private final String[] sections;
+
+        private Subscription(Runnable listener, String[] sections) {
+            this.listener = listener;
+            this.sections = sections.clone();
+        }
+
+        private List<String> getChanged(Set<String> changed) {
+            List<String> result = new ArrayList<>(sections.length);
+
+            for (String section : sections) {
+                if (PluginSettings.isChanged(changed, section)) {
+                    result.add(section);
+                }
+            }
+
+            return result;
+        }
+    }
+}
@@ -0,0 +1,363 @@
+package com.example.minecraft.effects;
+
+import org.bukkit.Location;
+import org.bukkit.Particle;
+import org.bukkit.Sound;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+import org.bukkit.scheduler.BukkitTask;
+
+import com.example.minecraft.ExamplePlugin;
+import com.example.minecraft.config.PluginSettings;
+import com.example.minecraft.player.PlayerIndexRegistry;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Envio agrupado de efeitos cosméticos (partículas e sons)
+ * Os efeitos pedidos durante um tick são enfileirados, efeitos repetidos no mesmo local são
+ * unidos e a fila é enviada uma vez por tick respeitando um limite de pacotes por tick e
+ * por jogador; o que passa do limite é descartado
+ * Deve ser usado apenas na thread principal
+ */
+public class EffectDispatcher {
+
+    // Precisão usada para considerar dois efeitos no mesmo local (1/4 de bloco)
+    private static final double LOCATION_PRECISION = 4.0;
+
+    private final ExamplePlugin plugin;
+    private final PlayerIndexRegistry players;
+
+    // Efeitos aguardando o próximo envio (a chave e o valor são o mesmo objeto)
+    private final Map<ParticleEffect, ParticleEffect> particles;
+    private final Map<SoundEffect, SoundEffect> sounds;
+
+    // Pacotes enviados para cada jogador no tick atual, indexados pelo índice do jogador
+    private int[] packetsSent;
+
+    // Jogadores próximos do efeito sendo enviado (reutilizada entre os efeitos)
+    private final List<Player> viewers;
+
+    // Posição reutilizada ao tocar os sons
+    private final Location viewerLocation;
+
+    private final AtomicLong packetCounter;
+    private final AtomicLong droppedCounter;
+
+    private int maxPacketsPerTick;
+    private int maxPacketsPerPlayer;
+    private int maxQueued;
+    private double viewDistance;
+
+    private BukkitTask drainTask;
+
+    public EffectDispatcher(ExamplePlugin plugin, PlayerIndexRegistry players) {
+        this.plugin = plugin;
+        this.players = players;
+        this.particles = new HashMap<>();
+        this.sounds = new HashMap<>();
+        this.packetsSent = new int[16];
+        this.viewers = new ArrayList<>();
+        this.viewerLocation = new Location(null, 0, 0, 0);
+        this.packetCounter = plugin.getMetrics().counter("effect_packets");
+        this.droppedCounter = plugin.getMetrics().counter("effects_dropped");
+    }
+
+    /**
+     * Lê os limites da seção effects do config.yml
+     */
+    public void reload() {
+        PluginSettings config = plugin.getSettings();
+
+        maxPacketsPerTick = Math.max(0, config.getInt("effects.max-packets-per-tick", 1000));
+        maxPacketsPerPlayer = Math.max(0, config.getInt("effects.max-packets-per-player", 40));
+        maxQueued = Math.max(1, config.getInt("effects.max-queued", 2048));
+
+        viewDistance = Math.max(0.0, config.getDouble("effects.view-distance", 32.0));
+    }
+
+    /**
+     * Inicia a tarefa que envia os efeitos a cada tick
+     */
+    public void start() {
+        drainTask = plugin.getServer().getScheduler().runTaskTimer(plugin, this::drain, 1L, 1L);
+    }
+
+    /**
+     * Para o envio e descarta os efeitos pendentes
+     */
+    public void shutdown() {
+        if (drainTask != null) {
+            drainTask.cancel();
+            drainTask = null;
+        }
+
+        particles.clear();
+        sounds.clear();
+    }
+
+    /**
+     * Enfileira partículas para os jogadores próximos de uma localização
+     * Efeitos iguais no mesmo local e no mesmo tick são enviados uma única vez
+     * @param location Localização do efeito
+     * @param particle Tipo de partícula
+     * @param count Quantidade de partículas
+     * @param offsetX Deslocamento no eixo X
+     * @param offsetY Deslocamento no eixo Y
+     * @param offsetZ Deslocamento no eixo Z
+     * @param speed Velocidade das partículas
+     */
+    public void spawnParticles(Location location, Particle particle, int count,
+                               double offsetX, double offsetY, double offsetZ, double speed) {
+        if (location.getWorld() == null) {
+            return;
+        }
+
+        ParticleEffect effect = new ParticleEffect(location.getWorld(), particle,
+            location.getX(), location.getY(), location.getZ(), count, offsetX, offsetY, offsetZ, speed);
+        ParticleEffect existing = particles.get(effect);
+
+        if (existing != null) {
+            existing.count = Math.max(existing.count, count);
+            return;
+        }
+
+        if (particles.size() + sounds.size() >= maxQueued) {
+            droppedCounter.incrementAndGet();
+            return;
+        }
+
+        particles.put(effect, effect);
+    }
+
+    /**
+     * Enfileira um som para um jogador
+     * O mesmo som para o mesmo jogador no mesmo tick é tocado uma única vez
+     * @param player Jogador para reproduzir o som
+     * @param sound Tipo de som
+     * @param volume Volume do som (0.0 a 1.0)
+     * @param pitch Tom do som (0.5 a 2.0)
+     */
+    public void playSound(Player player, Sound sound, float volume, float pitch) {
+        SoundEffect effect = new SoundEffect(player, sound, volume, pitch);
+
+        if (sounds.containsKey(effect)) {
+            return;
+        }
+
+        if (particles.size() + sounds.size() >= maxQueued) {
+            droppedCounter.incrementAndGet();
+            return;
+        }
+
+        sounds.put(effect, effect);
+    }
+
+    /**
+     * Envia os efeitos enfileirados dentro dos limites de pacotes
+     */
+    private void drain() {
+        if (particles.isEmpty() && sounds.isEmpty()) {
+            return;
+        }
+
+        int capacity = players.getCapacity();
+
+        if (packetsSent.length < capacity) {
+            packetsSent = new int[Math.max(capacity, packetsSent.length * 2)];
+        } else {
+            Arrays.fill(packetsSent, 0, capacity, 0);
+        }
+
+        int budget = maxPacketsPerTick;
+        long sent = 0;
+        long dropped = 0;
+
+        // Sons primeiro: são um único pacote e geralmente respondem a uma ação do próprio jogador
+        for (SoundEffect effect : sounds.values()) {
+            Player player = effect.player;
+
+            if (!player.isOnline()) {
+                continue;
+            }
+
+            if (budget <= 0 || !reserve(player)) {
+                dropped++;
+                continue;
+            }
+
+            player.playSound(player.getLocation(viewerLocation), effect.sound, effect.volume, effect.pitch);
+            budget--;
+            sent++;
+        }
+
+        for (ParticleEffect effect : particles.values()) {
+            if (budget <= 0) {
+                dropped++;
+                continue;
+            }
+
+            // Apenas os jogadores dentro da distância de visão do efeito
+            viewers.clear();
+            plugin.getSpatialIndex().collectNearby(effect.world, effect.x, effect.y, effect.z, viewDistance, viewers);
+
+            for (int i = 0; i < viewers.size(); i++) {
+                Player viewer = viewers.get(i);
+
+                if (budget <= 0) {
+                    break;
+                }
+
+                if (!reserve(viewer)) {
+                    dropped++;
+                    continue;
+                }
+
+                viewer.spawnParticle(effect.particle, effect.x, effect.y, effect.z, effect.count,
+                    effect.offsetX, effect.offsetY, effect.offsetZ, effect.speed);
+                budget--;
+                sent++;
+            }
+        }
+
+        particles.clear();
+        sounds.clear();
+        viewers.clear();
+
+        packetCounter.addAndGet(sent);
+
+        if (dropped > 0) {
+            droppedCounter.addAndGet(dropped);
+        }
+    }
+
+    /**
+     * Reserva um pacote do limite do jogador no tick atual
+     * @param player Jogador que vai receber o pacote
+     * @return true se o jogador ainda tinha limite disponível
+     */
+    private boolean reserve(Player player) {
+        int index = players.indexOf(player);
+
+        if (index < 0 || index >= packetsSent.length || packetsSent[index] >= maxPacketsPerPlayer) {
+            return false;
+        }
+
+        packetsSent[index]++;
+        return true;
+    }
+
+    /**
+     * Obtém a quantidade de efeitos aguardando envio
+     * @return Quantidade de efeitos na fila
+     */
+    public int getQueuedCount() {
+        return particles.size() + sounds.size();
+    }
+
+    /**
+     * Partículas enfileiradas, identificadas pelo mundo, tipo e local arredondado
+     */
+    private static final class ParticleEffect {
+
+        private final World world;
+        private final Particle particle;
+        private final double x;
+        private final double y;
+        private final double z;
+        private final double offsetX;
+        private final double offsetY;
+        private final double offsetZ;
+        private final double speed;
+        private int count;
+
+        // Local arredondado usado para unir efeitos repetidos
+        private final long blockX;
+        private final long blockY;
+        private final long blockZ;
+
+        private ParticleEffect(World world, Particle particle, double x, double y, double z, int count,
+                               double offsetX, double offsetY, double offsetZ, double speed) {
+            this.world = world;
+            this.particle = particle;
+            this.x = x;
+            this.y = y;
+            this.z = z;
+            this.count = count;
+            this.offsetX = offsetX;
+            this.offsetY = offsetY;
+            this.offsetZ = offsetZ;
+            this.speed = speed;
+            this.blockX = Math.round(x * LOCATION_PRECISION);
+            this.blockY = Math.round(y * LOCATION_PRECISION);
+            this.blockZ = Math.round(z * LOCATION_PRECISION);
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (this == other) {
+                return true;
+            }
+
+            if (!(other instanceof ParticleEffect)) {
+                return false;
+            }
+
+            ParticleEffect effect = (ParticleEffect) other;
+            return world == effect.world && particle == effect.particle
+                && blockX == effect.blockX && blockY == effect.blockY && blockZ == effect.blockZ;
+        }
+
+        @Override
+        public int hashCode() {
+            int result = System.identityHashCode(world);
+            result = 31 * result + particle.hashCode();
+            result = 31 * result + Long.hashCode(blockX);
+            result = 31 * result + Long.hashCode(blockY);
+            result = 31 * result + Long.hashCode(blockZ);
+            return result;
+        }
+    }
+
+    /**
+     * Som enfileirado para um jogador
+     */
+    private static final class SoundEffect {
+
+        private final Player player;
+        private final Sound sound;
+        private final float volume;
+        private final float pitch;
+
+        private SoundEffect(Player player, Sound sound, float volume, float pitch) {
+            this.player = player;
+            this.sound = sound;
+            this.volume = volume;
+            this.pitch = pitch;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (this == other) {
+                return true;
+            }
+
+            if (!(other instanceof SoundEffect)) {
+                return false;
+            }
+
+            SoundEffect effect = (SoundEffect) other;
+            return player == effect.player && sound == effect.sound;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * System.identityHashCode(player) + sound.hashCode();
+        }
+    }
+}
@@ -8,13 +8,19 @@ import org.bukkit.event.EventPriority;
 import org.bukkit.event.Listener;
 import org.bukkit.event.block.BlockBreakEvent;
 import org.bukkit.event.entity.EntityDamageByEntityEvent;
+import org.bukkit.event.player.AsyncPlayerPreLoginEvent;
 import org.bukkit.event.player.PlayerInteractEvent;
 import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerLoginEvent;
 import org.bukkit.event.player.PlayerQuitEvent;
 import org.bukkit.inventory.ItemStack;
 
 import com.example.minecraft.ExamplePlugin;
-import com.example.minecraft.utils.PluginUtils;
+import com.example.minecraft.features.CooldownService.Cooldown;
+import com.example.minecraft.items.CustomItem;
+import com.example.minecraft.metrics.LatencyHistogram;
+import com.example.minecraft.stats.StatsService.TrackedStat;
+import com.example.minecraft.player.PlayerProfile;
 
 /**
  * Exemplo de classe para manipulação de eventos do Bukkit
@@ -23,12 +29,54 @@ import com.example.minecraft.utils.PluginUtils;
 public class EventsManager implements Listener {
 
     private final ExamplePlugin plugin;
+    
+    // Tempo gasto na thread principal a cada entrada de jogador
+    private final LatencyHistogram joinMainThreadTime;
+    
+    // Tempo de recarga da bússola (features.compass)
+    private final Cooldown compassCooldown;
+    
+    // Bússola mágica entregue no kit inicial
+    private final CustomItem magicCompass;
 
     public EventsManager(ExamplePlugin plugin) {
         this.plugin = plugin;
+        this.joinMainThreadTime = plugin.getMetrics().histogram("player_join_main_thread");
+        this.compassCooldown = plugin.getCooldowns().get("compass");
+        this.magicCompass = plugin.getItems().register(1, "magic_compass", Material.COMPASS,
+            "§6Bússola Mágica",
+            this::useMagicCompass,
+            "§7Use para encontrar seu caminho",
+            "§7Item especial para novos jogadores");
         
         // Registrar eventos
-        plugin.getServer().getPluginManager().registerEvents(this, plugin);
+        plugin.getProfiler().registerEvents(this);
+    }
+    
+    /**
+     * Pré-carrega os dados do jogador na thread de login, fora da thread principal
+     * Executado por último para considerar apenas logins permitidos pelos outros plugins
+     * @param event Evento de pré-login assíncrono
+     */
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onAsyncPreLogin(AsyncPlayerPreLoginEvent event) {
+        if (event.getLoginResult() != AsyncPlayerPreLoginEvent.Result.ALLOWED) {
+            return;
+        }
+        
+        plugin.getProfileManager().prefetch(event.getUniqueId(),
+            plugin.getSettings().getLong("storage.prefetch-timeout", 3000L));
+    }
+    
+    /**
+     * Descarta os dados pré-carregados se o login for negado (ex: servidor cheio, whitelist)
+     * @param event Evento de login
+     */
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerLogin(PlayerLoginEvent event) {
+        if (event.getResult() != PlayerLoginEvent.Result.ALLOWED) {
+            plugin.getProfileManager().discardPrefetch(event.getPlayer().getUniqueId());
+        }
     }
     
     /**
@@ -37,31 +85,32 @@ public class EventsManager implements Listener {
      */
     @EventHandler
     public void onPlayerJoin(PlayerJoinEvent event) {
+        long startNanos = System.nanoTime();
         Player player = event.getPlayer();
         
         // Personalizar mensagem de entrada
-        event.setJoinMessage("§a[+] §e" + player.getName() + " §aentrou no servidor!");
+        event.setJoinMessage(plugin.getMessages().render("join", "player", player.getName()));
         
         // Verificar se é a primeira vez que o jogador entra
         if (!player.hasPlayedBefore()) {
             // Dar itens iniciais
             player.getInventory().addItem(new ItemStack(Material.BREAD, 16));
-            player.getInventory().addItem(PluginUtils.createCustomItem(
-                Material.COMPASS, 
-                "§6Bússola Mágica", 
-                "§7Use para encontrar seu caminho",
-                "§7Item especial para novos jogadores"
-            ));
+            player.getInventory().addItem(magicCompass.create(1));
             
             // Reproduzir som de boas-vindas
-            PluginUtils.playSound(player, Sound.ENTITY_PLAYER_LEVELUP, 1.0f, 1.0f);
+            plugin.getEffects().playSound(player, Sound.ENTITY_PLAYER_LEVELUP, 1.0f, 1.0f);
             
             // Enviar mensagem de boas-vindas
-            player.sendMessage("§6Bem-vindo ao servidor! §eAqui está um kit inicial para você.");
+            plugin.getMessages().send(player, "first-join");
         }
         
+        // Enviar mensagem de boas-vindas configurada
+        plugin.getMessages().send(player, "welcome");
+        
         // Carregar dados do jogador
         loadPlayerData(player);
+        
+        joinMainThreadTime.record(System.nanoTime() - startNanos);
     }
     
     /**
@@ -73,7 +122,7 @@ public class EventsManager implements Listener {
         Player player = event.getPlayer();
         
         // Personalizar mensagem de saída
-        event.setQuitMessage("§c[-] §e" + player.getName() + " §csaiu do servidor!");
+        event.setQuitMessage(plugin.getMessages().render("quit", "player", player.getName()));
         
         // Salvar dados do jogador
         savePlayerData(player);
@@ -88,18 +137,19 @@ public class EventsManager implements Listener {
         Player player = event.getPlayer();
         Material blockType = event.getBlock().getType();
         
-        // Exemplo: Dar recompensas especiais para minérios
-        if (blockType == Material.DIAMOND_ORE || blockType == Material.DEEPSLATE_DIAMOND_ORE) {
-            // Incrementar contador de diamantes minerados
-            int count = plugin.getCustomConfig().getInt("players." + player.getUniqueId() + ".stats.diamonds_mined", 0);
-            plugin.getCustomConfig().set("players." + player.getUniqueId() + ".stats.diamonds_mined", count + 1);
-            plugin.saveCustomConfig();
-            
-            // Verificar se atingiu um marco
-            if ((count + 1) % 10 == 0) {
-                player.sendMessage("§b§lParabéns! §eVocê minerou §b" + (count + 1) + " §ediamantes no total!");
-                PluginUtils.playSound(player, Sound.UI_TOAST_CHALLENGE_COMPLETE, 1.0f, 1.0f);
-            }
+        // Contar os blocos configurados em stats.tracked (ex: minérios de diamante)
+        TrackedStat stat = plugin.getStats().getTracked(blockType);
+        
+        if (stat == null) {
+            return;
+        }
+        
+        long count = plugin.getStats().increment(player, stat);
+        
+        // Verificar se atingiu um marco
+        if (stat.isMilestone(count) && stat.getMilestoneMessage() != null) {
+            plugin.getMessages().send(player, stat.getMilestoneMessage(), "count", count);
+            plugin.getEffects().playSound(player, Sound.UI_TOAST_CHALLENGE_COMPLETE, 1.0f, 1.0f);
         }
     }
     
@@ -109,27 +159,42 @@ public class EventsManager implements Listener {
      */
     @EventHandler
     public void onPlayerInteract(PlayerInteractEvent event) {
-        Player player = event.getPlayer();
+        // Executar a ação dos itens personalizados (ex: bússola mágica)
+        plugin.getItems().dispatch(event);
+    }
+    
+    /**
+     * Teletransporta o jogador para o spawn ao usar a bússola mágica
+     * @param event Evento de interação
+     * @param player Jogador que usou o item
+     * @param item Bússola usada
+     */
+    private void useMagicCompass(PlayerInteractEvent event, Player player, ItemStack item) {
+        if (!compassCooldown.isEnabled()) {
+            return;
+        }
         
-        // Verificar se o jogador está segurando um item específico
-        if (event.hasItem() && event.getItem().getType() == Material.COMPASS) {
-            // Verificar se o item tem um nome específico
-            if (event.getItem().hasItemMeta() && event.getItem().getItemMeta().hasDisplayName() &&
-                event.getItem().getItemMeta().getDisplayName().equals("§6Bússola Mágica")) {
-                
-                // Cancelar o evento para evitar o comportamento padrão
-                event.setCancelled(true);
-                
-                // Teletransportar o jogador para o spawn
-                player.teleport(player.getWorld().getSpawnLocation());
-                
-                // Efeitos visuais e sonoros
-                PluginUtils.spawnParticles(player.getLocation(), org.bukkit.Particle.PORTAL, 50, 0.5, 0.5, 0.5, 0.1);
-                PluginUtils.playSound(player, Sound.ENTITY_ENDERMAN_TELEPORT, 1.0f, 1.0f);
-                
-                player.sendMessage("§6Você foi teletransportado para o spawn!");
-            }
+        // Cancelar o evento para evitar o comportamento padrão
+        event.setCancelled(true);
+        
+        // Verificar o tempo de recarga antes de teletransportar
+        if (!compassCooldown.tryUse(player)) {
+            plugin.getMessages().send(player, "cooldown", "seconds", compassCooldown.getRemainingSeconds(player));
+            return;
         }
+        
+        // Teletransportar o jogador para o spawn depois que o chunk de destino estiver carregado
+        plugin.getTeleports().teleport(player, player.getWorld().getSpawnLocation()).thenAccept(success -> {
+            if (!success) {
+                return;
+            }
+            
+            // Efeitos visuais e sonoros
+            plugin.getEffects().spawnParticles(player.getLocation(), org.bukkit.Particle.PORTAL, 50, 0.5, 0.5, 0.5, 0.1);
+            plugin.getEffects().playSound(player, Sound.ENTITY_ENDERMAN_TELEPORT, 1.0f, 1.0f);
+            
+            plugin.getMessages().send(player, "compass-teleport");
+        });
     }
     
     /**
@@ -143,68 +208,67 @@ public class EventsManager implements Listener {
             Player attacker = (Player) event.getDamager();
             
             // Verificar se o jogador tem um efeito especial ativado
-            if (plugin.getCustomConfig().getBoolean("players." + attacker.getUniqueId() + ".effects.critical_hit", false)) {
+            PlayerProfile profile = plugin.getProfileManager().get(attacker);
+            
+            if (profile != null && profile.hasCriticalHit()) {
                 // Aumentar o dano em 50%
                 event.setDamage(event.getDamage() * 1.5);
                 
                 // Efeitos visuais
-                PluginUtils.spawnParticles(event.getEntity().getLocation(), 
+                plugin.getEffects().spawnParticles(event.getEntity().getLocation(), 
                     org.bukkit.Particle.CRIT, 20, 0.5, 0.5, 0.5, 0.1);
                 
                 // Informar o jogador
-                attacker.sendMessage("§c§lGolpe Crítico! §e+" + (int)(event.getDamage() * 0.5) + " de dano extra!");
+                plugin.getMessages().send(attacker, "critical-hit", "damage", (int) (event.getDamage() * 0.5));
             }
         }
     }
     
     /**
-     * Carrega os dados do jogador da configuração
+     * Anexa ao jogador o perfil pré-carregado durante o login
      * @param player Jogador para carregar os dados
      */
     private void loadPlayerData(Player player) {
+        PlayerProfile profile = plugin.getProfileManager().attach(player);
+        
         // Verificar se o jogador tem dados salvos
-        if (plugin.getCustomConfig().contains("players." + player.getUniqueId())) {
+        if (!profile.isFirstJoin()) {
             // Carregar última localização conhecida
-            if (plugin.getCustomConfig().contains("players." + player.getUniqueId() + ".last_location")) {
-                player.sendMessage("§eSeus dados foram carregados com sucesso!");
+            if (profile.hasLastLocation()) {
+                plugin.getMessages().send(player, "data-loaded");
             }
         } else {
             // Criar entrada para o jogador
-            plugin.getCustomConfig().set("players." + player.getUniqueId() + ".name", player.getName());
-            plugin.getCustomConfig().set("players." + player.getUniqueId() + ".first_join", System.currentTimeMillis());
-            plugin.saveCustomConfig();
+            profile.setName(player.getName());
+            profile.setFirstJoinTime(System.currentTimeMillis());
         }
     }
     
     /**
-     * Salva os dados do jogador na configuração
+     * Atualiza o perfil do jogador, salva e o remove do cache
      * @param player Jogador para salvar os dados
      */
     private void savePlayerData(Player player) {
+        PlayerProfile profile = plugin.getProfileManager().get(player);
+        
+        if (profile == null) {
+            return;
+        }
+        
         // Salvar última localização
-        plugin.getCustomConfig().set("players." + player.getUniqueId() + ".last_location.world", 
-            player.getLocation().getWorld().getName());
-        plugin.getCustomConfig().set("players." + player.getUniqueId() + ".last_location.x", 
-            player.getLocation().getX());
-        plugin.getCustomConfig().set("players." + player.getUniqueId() + ".last_location.y", 
-            player.getLocation().getY());
-        plugin.getCustomConfig().set("players." + player.getUniqueId() + ".last_location.z", 
-            player.getLocation().getZ());
-        plugin.getCustomConfig().set("players." + player.getUniqueId() + ".last_location.yaw", 
-            player.getLocation().getYaw());
-        plugin.getCustomConfig().set("players." + player.getUniqueId() + ".last_location.pitch", 
-            player.getLocation().getPitch());
+        profile.setLastLocation(player.getLocation());
         
         // Salvar última vez online
-        plugin.getCustomConfig().set("players." + player.getUniqueId() + ".last_online", 
-            System.currentTimeMillis());
+        profile.setLastOnline(System.currentTimeMillis());
         
         // Salvar nível e experiência
-        plugin.getCustomConfig().set("players." + player.getUniqueId() + ".level", 
-            player.getLevel());
-        plugin.getCustomConfig().set("players." + player.getUniqueId() + ".exp", 
-            player.getExp());
+        profile.setLevel(player.getLevel());
+        profile.setExp(player.getExp());
+        
+        // Transferir os contadores de estatísticas ainda pendentes e fechar a sessão
+        plugin.getStats().flush(player);
+        plugin.getSessions().close(player);
         
-        plugin.saveCustomConfig();
+        plugin.getProfileManager().unload(player.getUniqueId());
     }
 }
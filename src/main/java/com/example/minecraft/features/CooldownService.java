@@ -0,0 +1,245 @@
+package com.example.minecraft.features;
+
+import org.bukkit.entity.Player;
+import org.bukkit.scheduler.BukkitTask;
+
+import com.example.minecraft.ExamplePlugin;
+import com.example.minecraft.config.PluginSettings;
+import com.example.minecraft.player.PlayerIndexRegistry;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Serviço central de tempos de recarga (cooldowns) das funcionalidades
+ * Os tempos são lidos de features.<nome>.cooldown (em segundos) e guardados em arrays
+ * primitivos indexados pelo índice do jogador, medidos em ticks do servidor
+ * Deve ser usado apenas na thread principal
+ */
+public class CooldownService {
+
+    private final ExamplePlugin plugin;
+    private final PlayerIndexRegistry players;
+    private final Map<String, Cooldown> cooldowns;
+
+    // Relógio monotônico em ticks, incrementado uma vez por tick pela thread principal
+    private volatile long currentTick;
+    private BukkitTask clockTask;
+
+    public CooldownService(ExamplePlugin plugin, PlayerIndexRegistry players) {
+        this.plugin = plugin;
+        this.players = players;
+        this.cooldowns = new ConcurrentHashMap<>();
+
+        // Limpar os tempos de um índice liberado antes que ele seja reutilizado
+        players.addReleaseListener(index -> {
+            for (Cooldown cooldown : cooldowns.values()) {
+                cooldown.clear(index);
+            }
+        });
+    }
+
+    /**
+     * Inicia o relógio de ticks usado pelos cooldowns
+     */
+    public void start() {
+        clockTask = plugin.getServer().getScheduler().runTaskTimer(plugin, () -> currentTick++, 1L, 1L);
+    }
+
+    /**
+     * Para o relógio de ticks
+     */
+    public void shutdown() {
+        if (clockTask != null) {
+            clockTask.cancel();
+            clockTask = null;
+        }
+    }
+
+    /**
+     * Recarrega a configuração de todas as funcionalidades da seção features
+     * Os objetos Cooldown já obtidos continuam válidos
+     */
+    public void reload() {
+        PluginSettings settings = plugin.getSettings();
+
+        for (String name : settings.getKeys("features")) {
+            get(name);
+        }
+
+        for (Cooldown cooldown : cooldowns.values()) {
+            cooldown.configure(settings);
+        }
+    }
+
+    /**
+     * Obtém o cooldown de uma funcionalidade
+     * Guarde o objeto retornado para evitar a busca pelo nome a cada uso
+     * @param feature Nome da funcionalidade em features.*
+     * @return Cooldown da funcionalidade
+     */
+    public Cooldown get(String feature) {
+        return cooldowns.computeIfAbsent(feature, name -> {
+            Cooldown cooldown = new Cooldown(name);
+            cooldown.configure(plugin.getSettings());
+            return cooldown;
+        });
+    }
+
+    /**
+     * Obtém todos os cooldowns conhecidos
+     * @return Cooldowns por funcionalidade
+     */
+    public Collection<Cooldown> getCooldowns() {
+        return Collections.unmodifiableCollection(cooldowns.values());
+    }
+
+    /**
+     * Obtém o tick atual do relógio dos cooldowns
+     * @return Ticks desde que o serviço foi iniciado
+     */
+    public long getCurrentTick() {
+        return currentTick;
+    }
+
+    /**
+     * Tempo de recarga de uma funcionalidade
+     */
+    public final class Cooldown {
+
+        private final String name;
+        private volatile boolean enabled;
+        private volatile long durationTicks;
+
+        // Tick em que o cooldown de cada jogador termina (0 = sem cooldown)
+        private long[] expiresAt;
+
+        private Cooldown(String name) {
+            this.name = name;
+            this.expiresAt = new long[Math.max(16, players.getCapacity())];
+        }
+
+        private void configure(PluginSettings settings) {
+            String path = "features." + name;
+
+            enabled = settings.getBoolean(path + ".enabled", true);
+            durationTicks = Math.max(0L, settings.getLong(path + ".cooldown", 0L)) * 20L;
+        }
+
+        /**
+         * Usa a funcionalidade se o jogador não estiver em cooldown
+         * @param player Jogador
+         * @return true se o uso foi permitido (o cooldown é reiniciado), false caso contrário
+         */
+        public boolean tryUse(Player player) {
+            int index = players.indexOf(player);
+
+            if (index < 0) {
+                return false;
+            }
+
+            if (getRemainingTicks(index) > 0L) {
+                return false;
+            }
+
+            if (durationTicks > 0L) {
+                ensureCapacity(index);
+                expiresAt[index] = currentTick + durationTicks;
+            }
+
+            return true;
+        }
+
+        /**
+         * Obtém o tempo restante do cooldown de um jogador
+         * @param player Jogador
+         * @return Ticks restantes (0 se não estiver em cooldown)
+         */
+        public long getRemainingTicks(Player player) {
+            int index = players.indexOf(player);
+            return index < 0 ? 0L : getRemainingTicks(index);
+        }
+
+        /**
+         * Obtém o tempo restante do cooldown de um jogador em segundos (arredondado para cima)
+         * @param player Jogador
+         * @return Segundos restantes (0 se não estiver em cooldown)
+         */
+        public long getRemainingSeconds(Player player) {
+            return (getRemainingTicks(player) + 19L) / 20L;
+        }
+
+        private long getRemainingTicks(int index) {
+            if (index >= expiresAt.length) {
+                return 0L;
+            }
+
+            long expires = expiresAt[index];
+
+            if (expires == 0L) {
+                return 0L;
+            }
+
+            long remaining = expires - currentTick;
+
+            // Limpeza preguiçosa das entradas expiradas
+            if (remaining <= 0L) {
+                expiresAt[index] = 0L;
+                return 0L;
+            }
+
+            return remaining;
+        }
+
+        /**
+         * Remove o cooldown de um jogador
+         * @param player Jogador
+         */
+        public void reset(Player player) {
+            int index = players.indexOf(player);
+
+            if (index >= 0) {
+                clear(index);
+            }
+        }
+
+        private void clear(int index) {
+            if (index < expiresAt.length) {
+                expiresAt[index] = 0L;
+            }
+        }
+
+        private void ensureCapacity(int index) {
+            if (index >= expiresAt.length) {
+                expiresAt = Arrays.copyOf(expiresAt, Math.max(index + 1, expiresAt.length * 2));
+            }
+        }
+
+        /**
+         * Obtém o nome da funcionalidade
+         * @return Nome em features.*
+         */
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * Verifica se a funcionalidade está habilitada
+         * @return true se features.<nome>.enabled for verdadeiro (ou não existir)
+         */
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        /**
+         * Obtém a duração do cooldown
+         * @return Duração em ticks
+         */
+        public long getDurationTicks() {
+            return durationTicks;
+        }
+    }
+}
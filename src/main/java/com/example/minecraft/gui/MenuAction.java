@@ -0,0 +1,20 @@
+package com.example.minecraft.gui;
+
+import org.bukkit.entity.Player;
+
+/**
+ * Ação executada ao clicar em um slot de menu
+ * As ações são compiladas uma única vez a partir do menus.yml
+ */
+@FunctionalInterface
+public interface MenuAction {
+
+    /**
+     * Executa a ação
+     * @param manager Gerenciador de menus
+     * @param player Jogador que clicou
+     * @param view Menu aberto pelo jogador
+     * @param entry Entrada da lista paginada clicada (null fora de listas)
+     */
+    void execute(MenuManager manager, Player player, MenuView view, String entry);
+}
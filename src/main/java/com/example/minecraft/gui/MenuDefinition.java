@@ -0,0 +1,130 @@
+package com.example.minecraft.gui;
+
+import org.bukkit.inventory.ItemStack;
+
+import java.util.Arrays;
+
+/**
+ * Definição compilada de um menu
+ * Cada slot tem sua ação em um array, então um clique é resolvido com um único acesso por índice
+ */
+public final class MenuDefinition {
+
+    private final String id;
+    private final MenuTemplate template;
+    private final MenuAction[] actions;
+    private final Pagination pagination;
+
+    public MenuDefinition(String id, MenuTemplate template, MenuAction[] actions, Pagination pagination) {
+        this.id = id;
+        this.template = template;
+        this.actions = actions;
+        this.pagination = pagination;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public MenuTemplate getTemplate() {
+        return template;
+    }
+
+    /**
+     * Obtém a ação de um slot
+     * @param slot Slot clicado
+     * @return Ação do slot ou null se não houver
+     */
+    public MenuAction getAction(int slot) {
+        return slot >= 0 && slot < actions.length ? actions[slot] : null;
+    }
+
+    /**
+     * Obtém a configuração de paginação
+     * @return Paginação ou null se o menu não tiver lista
+     */
+    public Pagination getPagination() {
+        return pagination;
+    }
+
+    /**
+     * Configuração da lista paginada de um menu
+     */
+    public static final class Pagination {
+
+        private final String source;
+        private final int[] slots;
+        private final int[] slotPositions;
+        private final ItemStack entryItem;
+        private final MenuAction entryAction;
+        private final int previousSlot;
+        private final ItemStack previousItem;
+        private final int nextSlot;
+        private final ItemStack nextItem;
+
+        public Pagination(String source, int[] slots, int menuSize, ItemStack entryItem, MenuAction entryAction,
+                          int previousSlot, ItemStack previousItem, int nextSlot, ItemStack nextItem) {
+            this.source = source;
+            this.slots = slots;
+            this.entryItem = entryItem;
+            this.entryAction = entryAction;
+            this.previousSlot = previousSlot;
+            this.previousItem = previousItem;
+            this.nextSlot = nextSlot;
+            this.nextItem = nextItem;
+
+            // Mapa slot -> posição na página (-1 para slots fora da lista)
+            this.slotPositions = new int[menuSize];
+            Arrays.fill(slotPositions, -1);
+
+            for (int i = 0; i < slots.length; i++) {
+                slotPositions[slots[i]] = i;
+            }
+        }
+
+        public String getSource() {
+            return source;
+        }
+
+        public int[] getSlots() {
+            return slots;
+        }
+
+        public int getPageSize() {
+            return slots.length;
+        }
+
+        /**
+         * Obtém a posição de um slot dentro da página
+         * @param slot Slot do inventário
+         * @return Posição na página ou -1 se o slot não faz parte da lista
+         */
+        public int getPosition(int slot) {
+            return slot >= 0 && slot < slotPositions.length ? slotPositions[slot] : -1;
+        }
+
+        public ItemStack getEntryItem() {
+            return entryItem;
+        }
+
+        public MenuAction getEntryAction() {
+            return entryAction;
+        }
+
+        public int getPreviousSlot() {
+            return previousSlot;
+        }
+
+        public ItemStack getPreviousItem() {
+            return previousItem;
+        }
+
+        public int getNextSlot() {
+            return nextSlot;
+        }
+
+        public ItemStack getNextItem() {
+            return nextItem;
+        }
+    }
+}
@@ -0,0 +1,289 @@
+package com.example.minecraft.gui;
+
+import org.bukkit.Material;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.ItemMeta;
+import org.bukkit.inventory.meta.SkullMeta;
+
+import com.example.minecraft.utils.PluginUtils;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compila as definições de menus do menus.yml em objetos MenuDefinition
+ * Erros de configuração são reportados com o caminho do item para facilitar a correção
+ */
+public class MenuLoader {
+
+    /**
+     * Compila todos os menus de uma configuração
+     * @param root Seção "menus" do arquivo
+     * @return Menus compilados, indexados pelo id
+     * @throws IllegalArgumentException Se alguma definição for inválida
+     */
+    public Map<String, MenuDefinition> load(ConfigurationSection root) {
+        Map<String, MenuDefinition> menus = new LinkedHashMap<>();
+
+        for (String id : root.getKeys(false)) {
+            ConfigurationSection section = root.getConfigurationSection(id);
+
+            if (section != null) {
+                menus.put(id, loadMenu(id, section));
+            }
+        }
+
+        return menus;
+    }
+
+    private MenuDefinition loadMenu(String id, ConfigurationSection section) {
+        int rows = section.getInt("rows", 3);
+
+        if (rows < 1 || rows > 6) {
+            throw new IllegalArgumentException("menus." + id + ".rows deve estar entre 1 e 6");
+        }
+
+        int size = rows * 9;
+        MenuTemplate.Builder builder = new MenuTemplate.Builder(PluginUtils.formatMessage(section.getString("title", id)), rows);
+        MenuAction[] actions = new MenuAction[size];
+
+        ConfigurationSection items = section.getConfigurationSection("items");
+
+        if (items != null) {
+            for (String key : items.getKeys(false)) {
+                ConfigurationSection itemSection = items.getConfigurationSection(key);
+                String path = "menus." + id + ".items." + key;
+
+                if (itemSection == null) {
+                    throw new IllegalArgumentException(path + " deve ser uma seção");
+                }
+
+                int slot = readSlot(itemSection, path, size);
+                ItemStack item = createItem(itemSection, path);
+
+                if (itemSection.getBoolean("viewer-head", false)) {
+                    builder.dynamic(slot, player -> {
+                        ItemStack head = item.clone();
+
+                        if (head.getItemMeta() instanceof SkullMeta) {
+                            SkullMeta meta = (SkullMeta) head.getItemMeta();
+                            meta.setOwningPlayer(player);
+                            head.setItemMeta(meta);
+                        }
+
+                        return head;
+                    });
+                } else {
+                    builder.item(slot, item);
+                }
+
+                actions[slot] = parseActions(itemSection.getStringList("actions"), path);
+            }
+        }
+
+        MenuDefinition.Pagination pagination = null;
+        ConfigurationSection paginationSection = section.getConfigurationSection("pagination");
+
+        if (paginationSection != null) {
+            pagination = loadPagination(paginationSection, "menus." + id + ".pagination", size);
+
+            if (pagination.getPreviousSlot() >= 0) {
+                actions[pagination.getPreviousSlot()] = (manager, player, view, entry) -> view.showPage(view.getPage() - 1);
+            }
+
+            if (pagination.getNextSlot() >= 0) {
+                actions[pagination.getNextSlot()] = (manager, player, view, entry) -> view.showPage(view.getPage() + 1);
+            }
+        }
+
+        return new MenuDefinition(id, builder.build(), actions, pagination);
+    }
+
+    private MenuDefinition.Pagination loadPagination(ConfigurationSection section, String path, int size) {
+        int[] slots = parseSlotRanges(section.getString("slots", ""), path + ".slots", size);
+        ConfigurationSection entry = section.getConfigurationSection("entry");
+
+        if (entry == null) {
+            throw new IllegalArgumentException(path + ".entry é obrigatório");
+        }
+
+        ConfigurationSection previous = section.getConfigurationSection("previous");
+        ConfigurationSection next = section.getConfigurationSection("next");
+
+        return new MenuDefinition.Pagination(
+            section.getString("source", "online-players"),
+            slots,
+            size,
+            createItem(entry, path + ".entry"),
+            parseActions(entry.getStringList("actions"), path + ".entry"),
+            previous != null ? readSlot(previous, path + ".previous", size) : -1,
+            previous != null ? createItem(previous, path + ".previous") : null,
+            next != null ? readSlot(next, path + ".next", size) : -1,
+            next != null ? createItem(next, path + ".next") : null);
+    }
+
+    private int readSlot(ConfigurationSection section, String path, int size) {
+        int slot = section.getInt("slot", -1);
+
+        if (slot < 0 || slot >= size) {
+            throw new IllegalArgumentException(path + ".slot deve estar entre 0 e " + (size - 1));
+        }
+
+        return slot;
+    }
+
+    /**
+     * Lê intervalos de slots no formato "0-8,10,12-14"
+     * @param value Texto com os intervalos
+     * @param path Caminho na configuração (para mensagens de erro)
+     * @param size Tamanho do menu
+     * @return Slots em ordem
+     */
+    private int[] parseSlotRanges(String value, String path, int size) {
+        List<Integer> slots = new ArrayList<>();
+
+        for (String part : value.split(",")) {
+            String range = part.trim();
+
+            if (range.isEmpty()) {
+                continue;
+            }
+
+            String[] bounds = range.split("-", 2);
+
+            if (!PluginUtils.isInteger(bounds[0].trim()) || (bounds.length > 1 && !PluginUtils.isInteger(bounds[1].trim()))) {
+                throw new IllegalArgumentException(path + " tem um intervalo inválido: " + range);
+            }
+
+            int start = Integer.parseInt(bounds[0].trim());
+            int end = bounds.length > 1 ? Integer.parseInt(bounds[1].trim()) : start;
+
+            for (int slot = start; slot <= end; slot++) {
+                if (slot < 0 || slot >= size) {
+                    throw new IllegalArgumentException(path + " contém o slot " + slot + " fora do menu");
+                }
+
+                slots.add(slot);
+            }
+        }
+
+        if (slots.isEmpty()) {
+            throw new IllegalArgumentException(path + " não define nenhum slot");
+        }
+
+        return slots.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    private ItemStack createItem(ConfigurationSection section, String path) {
+        Material material = Material.matchMaterial(section.getString("material", ""));
+
+        if (material == null) {
+            throw new IllegalArgumentException(path + ".material inválido: " + section.getString("material"));
+        }
+
+        ItemStack item = new ItemStack(material, Math.max(1, section.getInt("amount", 1)));
+        ItemMeta meta = item.getItemMeta();
+
+        if (meta != null) {
+            if (section.contains("name")) {
+                meta.setDisplayName(PluginUtils.formatMessage(section.getString("name")));
+            }
+
+            List<String> lore = new ArrayList<>();
+            for (String line : section.getStringList("lore")) {
+                lore.add(PluginUtils.formatMessage(line));
+            }
+
+            if (!lore.isEmpty()) {
+                meta.setLore(lore);
+            }
+
+            item.setItemMeta(meta);
+        }
+
+        return item;
+    }
+
+    /**
+     * Compila uma lista de ações em uma única ação
+     * @param rawActions Ações no formato "tipo:argumento"
+     * @param path Caminho na configuração (para mensagens de erro)
+     * @return Ação composta ou null se a lista estiver vazia
+     */
+    private MenuAction parseActions(List<String> rawActions, String path) {
+        if (rawActions.isEmpty()) {
+            return null;
+        }
+
+        MenuAction[] compiled = new MenuAction[rawActions.size()];
+
+        for (int i = 0; i < compiled.length; i++) {
+            compiled[i] = parseAction(rawActions.get(i), path);
+        }
+
+        if (compiled.length == 1) {
+            return compiled[0];
+        }
+
+        return (manager, player, view, entry) -> {
+            for (MenuAction action : compiled) {
+                action.execute(manager, player, view, entry);
+            }
+        };
+    }
+
+    private MenuAction parseAction(String raw, String path) {
+        String[] parts = raw.split(":", 2);
+        String type = parts[0].trim().toLowerCase();
+        String argument = parts.length > 1 ? parts[1] : "";
+
+        switch (type) {
+            case "open":
+                return (manager, player, view, entry) -> manager.open(player, argument);
+
+            case "close":
+                return (manager, player, view, entry) -> manager.close(player);
+
+            case "give": {
+                String[] itemParts = argument.split(":");
+                Material material = Material.matchMaterial(itemParts[0]);
+
+                if (material == null) {
+                    throw new IllegalArgumentException(path + ": material inválido na ação '" + raw + "'");
+                }
+
+                int amount = itemParts.length > 1 && PluginUtils.isInteger(itemParts[1]) ? Integer.parseInt(itemParts[1]) : 1;
+                ItemStack item = new ItemStack(material, amount);
+
+                return (manager, player, view, entry) -> player.getInventory().addItem(item.clone());
+            }
+
+            case "message": {
+                String message = PluginUtils.formatMessage(argument);
+                return (manager, player, view, entry) ->
+                    player.sendMessage(entry != null ? message.replace("{entry}", entry) : message);
+            }
+
+            case "command":
+                return (manager, player, view, entry) ->
+                    player.performCommand(entry != null ? argument.replace("{entry}", entry) : argument);
+
+            case "page":
+                if (argument.equalsIgnoreCase("next")) {
+                    return (manager, player, view, entry) -> view.showPage(view.getPage() + 1);
+                }
+
+                if (argument.equalsIgnoreCase("previous")) {
+                    return (manager, player, view, entry) -> view.showPage(view.getPage() - 1);
+                }
+
+                throw new IllegalArgumentException(path + ": página inválida na ação '" + raw + "'");
+
+            default:
+                throw new IllegalArgumentException(path + ": ação desconhecida '" + raw + "'");
+        }
+    }
+}
@@ -1,223 +1,311 @@
 package com.example.minecraft.gui;
 
-import org.bukkit.Bukkit;
 import org.bukkit.Material;
+import org.bukkit.World;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.file.YamlConfiguration;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
 import org.bukkit.event.Listener;
+import org.bukkit.event.inventory.InventoryAction;
 import org.bukkit.event.inventory.InventoryClickEvent;
+import org.bukkit.event.inventory.InventoryCloseEvent;
+import org.bukkit.event.inventory.InventoryDragEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
 import org.bukkit.inventory.Inventory;
-import org.bukkit.inventory.ItemStack;
-import org.bukkit.inventory.meta.ItemMeta;
+import org.bukkit.inventory.InventoryHolder;
 
 import com.example.minecraft.ExamplePlugin;
 
-import java.util.Arrays;
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Exemplo de classe para criar interfaces gráficas (GUIs) no Minecraft
- * Demonstra como criar menus interativos usando inventários
+ * Os menus são definidos no menus.yml, compilados uma única vez e podem
+ * ser recarregados sem reiniciar o servidor
  */
 public class MenuManager implements Listener {
 
     private final ExamplePlugin plugin;
-    private final Map<UUID, MenuType> openMenus;
+    
+    // Quantidade de menus abertos no momento
+    private final AtomicInteger openMenus;
+    
+    // Fontes de entradas para as listas paginadas
+    private final Map<String, PageSource> sources;
+    
+    // Menus compilados (substituídos por inteiro a cada recarga)
+    private volatile Map<String, MenuDefinition> menus;
 
     public MenuManager(ExamplePlugin plugin) {
         this.plugin = plugin;
-        this.openMenus = new HashMap<>();
+        this.openMenus = new AtomicInteger();
+        this.sources = new HashMap<>();
+        this.menus = Collections.emptyMap();
+        
+        // Registrar as fontes de listas disponíveis
+        registerSource("online-players", viewer -> {
+            List<String> names = new ArrayList<>();
+            for (Player online : plugin.getServer().getOnlinePlayers()) {
+                names.add(online.getName());
+            }
+            Collections.sort(names, String.CASE_INSENSITIVE_ORDER);
+            return names;
+        });
+        registerSource("worlds", viewer -> {
+            List<String> names = new ArrayList<>();
+            for (World world : plugin.getServer().getWorlds()) {
+                names.add(world.getName());
+            }
+            return names;
+        });
+        
+        reload();
         
         // Registrar eventos
-        plugin.getServer().getPluginManager().registerEvents(this, plugin);
+        plugin.getProfiler().registerEvents(this);
     }
     
     /**
-     * Abre o menu principal para um jogador
-     * @param player Jogador para abrir o menu
+     * Recarrega e compila as definições do menus.yml
+     * Em caso de erro, os menus atuais continuam em uso
+     * @return true se os menus foram recarregados
      */
-    public void openMainMenu(Player player) {
-        // Criar inventário com 3 linhas (27 slots)
-        Inventory inventory = Bukkit.createInventory(null, 27, "§6Menu Principal");
-        
-        // Adicionar itens ao menu
-        inventory.setItem(10, createItem(Material.DIAMOND_SWORD, "§bOpções de Combate", 
-                "§7Clique para ver opções de combate"));
+    public boolean reload() {
+        File file = new File(plugin.getDataFolder(), "menus.yml");
         
-        inventory.setItem(13, createItem(Material.GRASS_BLOCK, "§aOpções de Mundo", 
-                "§7Clique para ver opções de mundo"));
+        if (!file.exists()) {
+            plugin.saveResource("menus.yml", false);
+        }
         
-        inventory.setItem(16, createItem(Material.PLAYER_HEAD, "§eOpções de Jogador", 
-                "§7Clique para ver opções de jogador"));
+        ConfigurationSection root = YamlConfiguration.loadConfiguration(file).getConfigurationSection("menus");
         
-        // Adicionar botão de fechar no canto inferior direito
-        inventory.setItem(26, createItem(Material.BARRIER, "§cFechar", 
-                "§7Clique para fechar o menu"));
+        if (root == null) {
+            plugin.getLogger().severe("O arquivo menus.yml não contém a seção 'menus'.");
+            return false;
+        }
         
-        // Abrir inventário para o jogador
-        player.openInventory(inventory);
+        try {
+            menus = Collections.unmodifiableMap(new MenuLoader().load(root));
+        } catch (IllegalArgumentException e) {
+            plugin.getLogger().severe("Erro no menus.yml, mantendo os menus atuais: " + e.getMessage());
+            return false;
+        }
         
-        // Registrar que o jogador está com o menu principal aberto
-        openMenus.put(player.getUniqueId(), MenuType.MAIN);
+        plugin.getLogger().info(menus.size() + " menus carregados.");
+        return true;
     }
     
     /**
-     * Abre o submenu de combate para um jogador
+     * Registra uma fonte de entradas para listas paginadas
+     * @param name Nome usado em pagination.source
+     * @param source Fonte das entradas
+     */
+    public void registerSource(String name, PageSource source) {
+        sources.put(name, source);
+    }
+    
+    /**
+     * Abre um menu para um jogador
      * @param player Jogador para abrir o menu
+     * @param id Id do menu no menus.yml
+     * @return true se o menu existe e foi aberto
      */
-    public void openCombatMenu(Player player) {
-        // Criar inventário com 3 linhas (27 slots)
-        Inventory inventory = Bukkit.createInventory(null, 27, "§bOpções de Combate");
+    public boolean open(Player player, String id) {
+        MenuDefinition definition = menus.get(id);
         
-        // Adicionar itens ao menu
-        inventory.setItem(11, createItem(Material.IRON_SWORD, "§7Espada de Ferro", 
-                "§7Clique para receber uma espada de ferro"));
-        
-        inventory.setItem(13, createItem(Material.BOW, "§7Arco", 
-                "§7Clique para receber um arco"));
+        if (definition == null) {
+            plugin.getLogger().warning("Menu não encontrado: " + id);
+            return false;
+        }
         
-        inventory.setItem(15, createItem(Material.SHIELD, "§7Escudo", 
-                "§7Clique para receber um escudo"));
+        List<String> entries = Collections.emptyList();
         
-        // Adicionar botão de voltar no canto inferior esquerdo
-        inventory.setItem(18, createItem(Material.ARROW, "§aVoltar", 
-                "§7Clique para voltar ao menu principal"));
+        if (definition.getPagination() != null) {
+            PageSource source = sources.get(definition.getPagination().getSource());
+            
+            if (source != null) {
+                entries = source.getEntries(player);
+            }
+        }
         
-        // Adicionar botão de fechar no canto inferior direito
-        inventory.setItem(26, createItem(Material.BARRIER, "§cFechar", 
-                "§7Clique para fechar o menu"));
+        MenuView view = new MenuView(definition, player, entries);
+        view.showPage(0);
         
-        // Abrir inventário para o jogador
-        player.openInventory(inventory);
+        // Abrir inventário para o jogador (o menu anterior, se houver, dispara o evento de fechamento)
+        if (player.openInventory(view.getInventory()) == null) {
+            // Abertura cancelada por outro plugin
+            return false;
+        }
         
-        // Registrar que o jogador está com o menu de combate aberto
-        openMenus.put(player.getUniqueId(), MenuType.COMBAT);
+        openMenus.incrementAndGet();
+        return true;
     }
     
     /**
-     * Cria um item para o menu
-     * @param material Material do item
-     * @param name Nome do item
-     * @param lore Descrição do item
-     * @return ItemStack configurado
+     * Fecha o menu de um jogador
+     * @param player Jogador
      */
-    private ItemStack createItem(Material material, String name, String... lore) {
-        ItemStack item = new ItemStack(material);
-        ItemMeta meta = item.getItemMeta();
-        
-        meta.setDisplayName(name);
-        meta.setLore(Arrays.asList(lore));
-        
-        item.setItemMeta(meta);
-        
-        return item;
+    public void close(Player player) {
+        player.closeInventory();
     }
     
-    @EventHandler
+    /**
+     * Obtém a quantidade de menus abertos no momento
+     * @return Quantidade de menus abertos
+     */
+    public int getOpenMenuCount() {
+        return openMenus.get();
+    }
+    
+    /**
+     * Obtém o menu aberto por um jogador
+     * @param player Jogador
+     * @return Menu aberto ou null se o jogador não estiver em um menu
+     */
+    public MenuView getOpenMenu(Player player) {
+        InventoryHolder holder = player.getOpenInventory().getTopInventory().getHolder();
+        return holder instanceof MenuView ? (MenuView) holder : null;
+    }
+    
+    /**
+     * Abre o menu principal para um jogador
+     * @param player Jogador para abrir o menu
+     */
+    public void openMainMenu(Player player) {
+        open(player, "main");
+    }
+    
+    /**
+     * Abre o submenu de combate para um jogador
+     * @param player Jogador para abrir o menu
+     */
+    public void openCombatMenu(Player player) {
+        open(player, "combat");
+    }
+    
+    @EventHandler(priority = EventPriority.LOW)
     public void onInventoryClick(InventoryClickEvent event) {
-        // Verificar se quem clicou é um jogador
-        if (!(event.getWhoClicked() instanceof Player)) {
+        // Identificar o menu pelo dono do inventário de cima
+        Inventory top = event.getView().getTopInventory();
+        
+        if (!(top.getHolder() instanceof MenuView)) {
             return;
         }
         
-        Player player = (Player) event.getWhoClicked();
-        UUID playerId = player.getUniqueId();
+        MenuView view = (MenuView) top.getHolder();
         
-        // Verificar se o jogador está com um menu aberto
-        if (!openMenus.containsKey(playerId)) {
+        // Cliques no inventário do próprio jogador são permitidos, exceto os que moveriam itens para o menu
+        if (event.getClickedInventory() != top) {
+            if (event.isShiftClick() || event.getAction() == InventoryAction.COLLECT_TO_CURSOR) {
+                event.setCancelled(true);
+            }
             return;
         }
         
         // Cancelar o evento para evitar que o jogador pegue o item
         event.setCancelled(true);
         
-        // Verificar se o clique foi em um item válido
-        if (event.getCurrentItem() == null || event.getCurrentItem().getType() == Material.AIR) {
+        // Verificar se quem clicou é um jogador e se o clique foi em um item válido
+        if (!(event.getWhoClicked() instanceof Player)
+                || event.getCurrentItem() == null || event.getCurrentItem().getType() == Material.AIR) {
             return;
         }
         
-        // Obter o tipo de menu aberto
-        MenuType menuType = openMenus.get(playerId);
-        
-        // Processar o clique com base no menu aberto
-        switch (menuType) {
-            case MAIN:
-                handleMainMenuClick(player, event.getSlot(), event.getCurrentItem().getType());
-                break;
-            case COMBAT:
-                handleCombatMenuClick(player, event.getSlot(), event.getCurrentItem().getType());
-                break;
-            // Adicione mais casos conforme necessário
+        Player player = (Player) event.getWhoClicked();
+        int slot = event.getRawSlot();
+        MenuDefinition definition = view.getDefinition();
+        MenuDefinition.Pagination pagination = definition.getPagination();
+        
+        // Clique em uma entrada da lista paginada
+        if (pagination != null) {
+            int position = pagination.getPosition(slot);
+            
+            if (position >= 0) {
+                String entry = view.getEntry(position);
+                
+                if (entry != null && pagination.getEntryAction() != null) {
+                    pagination.getEntryAction().execute(this, player, view, entry);
+                }
+                
+                return;
+            }
+        }
+        
+        // Clique em um item fixo: a ação é obtida diretamente pelo índice do slot
+        MenuAction action = definition.getAction(slot);
+        
+        if (action != null) {
+            action.execute(this, player, view, null);
         }
     }
     
     /**
-     * Processa cliques no menu principal
-     * @param player Jogador que clicou
-     * @param slot Slot clicado
-     * @param material Material do item clicado
+     * Impede que itens sejam arrastados para dentro dos menus
+     * @param event Evento de arrastar
      */
-    private void handleMainMenuClick(Player player, int slot, Material material) {
-        switch (slot) {
-            case 10: // Opções de Combate
-                openCombatMenu(player);
-                break;
-            case 13: // Opções de Mundo
-                player.sendMessage("§aOpções de mundo em desenvolvimento...");
-                player.closeInventory();
-                openMenus.remove(player.getUniqueId());
-                break;
-            case 16: // Opções de Jogador
-                player.sendMessage("§eOpções de jogador em desenvolvimento...");
-                player.closeInventory();
-                openMenus.remove(player.getUniqueId());
-                break;
-            case 26: // Fechar
-                player.closeInventory();
-                openMenus.remove(player.getUniqueId());
-                break;
+    @EventHandler(priority = EventPriority.LOW)
+    public void onInventoryDrag(InventoryDragEvent event) {
+        Inventory top = event.getView().getTopInventory();
+        
+        if (!(top.getHolder() instanceof MenuView)) {
+            return;
+        }
+        
+        int topSize = top.getSize();
+        
+        for (int rawSlot : event.getRawSlots()) {
+            if (rawSlot < topSize) {
+                event.setCancelled(true);
+                return;
+            }
         }
     }
     
     /**
-     * Processa cliques no menu de combate
-     * @param player Jogador que clicou
-     * @param slot Slot clicado
-     * @param material Material do item clicado
+     * Registra o fechamento de um menu (ESC, outro menu aberto por cima ou desconexão)
+     * @param event Evento de fechamento
      */
-    private void handleCombatMenuClick(Player player, int slot, Material material) {
-        switch (slot) {
-            case 11: // Espada de Ferro
-                player.getInventory().addItem(new ItemStack(Material.IRON_SWORD));
-                player.sendMessage("§aVocê recebeu uma espada de ferro!");
-                break;
-            case 13: // Arco
-                player.getInventory().addItem(new ItemStack(Material.BOW));
-                player.sendMessage("§aVocê recebeu um arco!");
-                break;
-            case 15: // Escudo
-                player.getInventory().addItem(new ItemStack(Material.SHIELD));
-                player.sendMessage("§aVocê recebeu um escudo!");
-                break;
-            case 18: // Voltar
-                openMainMenu(player);
-                break;
-            case 26: // Fechar
-                player.closeInventory();
-                openMenus.remove(player.getUniqueId());
-                break;
+    @EventHandler
+    public void onInventoryClose(InventoryCloseEvent event) {
+        InventoryHolder holder = event.getInventory().getHolder();
+        
+        if (holder instanceof MenuView && ((MenuView) holder).markClosed()) {
+            openMenus.decrementAndGet();
         }
     }
     
     /**
-     * Tipos de menu disponíveis
+     * Fecha o menu de um jogador que saiu do servidor
+     * @param event Evento de saída
      */
-    public enum MenuType {
-        MAIN,
-        COMBAT,
-        WORLD,
-        PLAYER
+    @EventHandler
+    public void onPlayerQuit(PlayerQuitEvent event) {
+        MenuView view = getOpenMenu(event.getPlayer());
+        
+        if (view != null && view.markClosed()) {
+            openMenus.decrementAndGet();
+        }
+    }
+    
+    /**
+     * Fonte de entradas para listas paginadas
+     */
+    @FunctionalInterface
+    public interface PageSource {
+        
+        /**
+         * Obtém as entradas da lista para um jogador
+         * @param viewer Jogador que está abrindo o menu
+         * @return Entradas da lista
+         */
+        List<String> getEntries(Player viewer);
     }
 }
@@ -0,0 +1,116 @@
+package com.example.minecraft.gui;
+
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.Inventory;
+import org.bukkit.inventory.InventoryHolder;
+import org.bukkit.inventory.ItemStack;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Modelo imutável de um menu, montado uma única vez
+ * Ao abrir, o conteúdo fixo é copiado de uma só vez para o inventário e apenas
+ * os slots dinâmicos são gerados para o jogador
+ */
+public final class MenuTemplate {
+
+    private final String title;
+    private final int size;
+    private final ItemStack[] contents;
+    private final Map<Integer, SlotRenderer> dynamicSlots;
+
+    private MenuTemplate(Builder builder) {
+        this.title = builder.title;
+        this.size = builder.size;
+        this.contents = builder.contents.clone();
+        this.dynamicSlots = Collections.unmodifiableMap(new LinkedHashMap<>(builder.dynamicSlots));
+    }
+
+    /**
+     * Cria o inventário do menu para um jogador
+     * @param holder Dono do inventário, usado para identificar o menu nos eventos
+     * @param player Jogador que vai abrir o menu
+     * @return Inventário pronto para ser aberto
+     */
+    public Inventory createInventory(InventoryHolder holder, Player player) {
+        Inventory inventory = Bukkit.createInventory(holder, size, title);
+
+        // O servidor copia os itens, então o array do modelo pode ser compartilhado
+        inventory.setContents(contents);
+
+        for (Map.Entry<Integer, SlotRenderer> entry : dynamicSlots.entrySet()) {
+            inventory.setItem(entry.getKey(), entry.getValue().render(player));
+        }
+
+        return inventory;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Gera o item de um slot dinâmico para um jogador específico
+     */
+    @FunctionalInterface
+    public interface SlotRenderer {
+
+        /**
+         * Gera o item do slot
+         * @param player Jogador que está abrindo o menu
+         * @return Item a ser exibido
+         */
+        ItemStack render(Player player);
+    }
+
+    /**
+     * Construtor de modelos de menu
+     */
+    public static final class Builder {
+
+        private final String title;
+        private final int size;
+        private final ItemStack[] contents;
+        private final Map<Integer, SlotRenderer> dynamicSlots;
+
+        public Builder(String title, int rows) {
+            this.title = title;
+            this.size = rows * 9;
+            this.contents = new ItemStack[size];
+            this.dynamicSlots = new LinkedHashMap<>();
+        }
+
+        /**
+         * Define um item fixo
+         * @param slot Slot do item
+         * @param item Item exibido para todos os jogadores
+         * @return Este construtor
+         */
+        public Builder item(int slot, ItemStack item) {
+            contents[slot] = item;
+            return this;
+        }
+
+        /**
+         * Define um slot gerado para cada jogador
+         * @param slot Slot do item
+         * @param renderer Gerador do item
+         * @return Este construtor
+         */
+        public Builder dynamic(int slot, SlotRenderer renderer) {
+            dynamicSlots.put(slot, renderer);
+            return this;
+        }
+
+        public MenuTemplate build() {
+            return new MenuTemplate(this);
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package com.example.minecraft.gui;
+
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.Inventory;
+import org.bukkit.inventory.InventoryHolder;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.ItemMeta;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Menu aberto por um jogador: definição, inventário e estado da página atual
+ * A própria view é o dono (InventoryHolder) do inventário, então identificar um menu
+ * nos eventos é apenas uma verificação de tipo, sem mapas por jogador
+ */
+public class MenuView implements InventoryHolder {
+
+    private final MenuDefinition definition;
+    private final Inventory inventory;
+    private final List<String> entries;
+    private int page;
+    private boolean closed;
+
+    public MenuView(MenuDefinition definition, Player viewer, List<String> entries) {
+        this.definition = definition;
+        this.entries = entries;
+        this.inventory = definition.getTemplate().createInventory(this, viewer);
+    }
+
+    public MenuDefinition getDefinition() {
+        return definition;
+    }
+
+    @Override
+    public Inventory getInventory() {
+        return inventory;
+    }
+
+    /**
+     * Marca o menu como fechado
+     * @return true se o menu estava aberto até agora
+     */
+    boolean markClosed() {
+        if (closed) {
+            return false;
+        }
+
+        closed = true;
+        return true;
+    }
+
+    public int getPage() {
+        return page;
+    }
+
+    /**
+     * Obtém o número de páginas da lista
+     * @return Quantidade de páginas (no mínimo 1)
+     */
+    public int getPageCount() {
+        MenuDefinition.Pagination pagination = definition.getPagination();
+
+        if (pagination == null || entries.isEmpty()) {
+            return 1;
+        }
+
+        return (entries.size() + pagination.getPageSize() - 1) / pagination.getPageSize();
+    }
+
+    /**
+     * Obtém a entrada exibida em uma posição da página atual
+     * @param position Posição dentro da página
+     * @return Entrada ou null se a posição estiver vazia
+     */
+    public String getEntry(int position) {
+        int index = page * definition.getPagination().getPageSize() + position;
+        return index < entries.size() ? entries.get(index) : null;
+    }
+
+    /**
+     * Mostra uma página da lista atualizando apenas os slots da lista e de navegação
+     * @param newPage Página a ser exibida
+     */
+    public void showPage(int newPage) {
+        MenuDefinition.Pagination pagination = definition.getPagination();
+
+        if (pagination == null) {
+            return;
+        }
+
+        page = Math.max(0, Math.min(newPage, getPageCount() - 1));
+
+        int[] slots = pagination.getSlots();
+        for (int position = 0; position < slots.length; position++) {
+            String entry = getEntry(position);
+            inventory.setItem(slots[position], entry != null ? renderEntry(pagination.getEntryItem(), entry) : null);
+        }
+
+        if (pagination.getPreviousSlot() >= 0) {
+            inventory.setItem(pagination.getPreviousSlot(), page > 0 ? pagination.getPreviousItem() : null);
+        }
+
+        if (pagination.getNextSlot() >= 0) {
+            inventory.setItem(pagination.getNextSlot(), page < getPageCount() - 1 ? pagination.getNextItem() : null);
+        }
+    }
+
+    /**
+     * Gera o item de uma entrada substituindo {entry} no nome e na descrição
+     * @param base Item base da lista
+     * @param entry Valor da entrada
+     * @return Item da entrada
+     */
+    private static ItemStack renderEntry(ItemStack base, String entry) {
+        ItemStack item = base.clone();
+        ItemMeta meta = item.getItemMeta();
+
+        if (meta == null) {
+            return item;
+        }
+
+        if (meta.hasDisplayName()) {
+            meta.setDisplayName(meta.getDisplayName().replace("{entry}", entry));
+        }
+
+        if (meta.hasLore()) {
+            List<String> lore = new ArrayList<>(meta.getLore().size());
+
+            for (String line : meta.getLore()) {
+                lore.add(line.replace("{entry}", entry));
+            }
+
+            meta.setLore(lore);
+        }
+
+        item.setItemMeta(meta);
+        return item;
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.minecraft.items;
+
+import org.bukkit.Material;
+import org.bukkit.entity.Player;
+import org.bukkit.event.player.PlayerInteractEvent;
+import org.bukkit.inventory.ItemStack;
+
+/**
+ * Item personalizado registrado no CustomItemRegistry
+ * O item modelo já vem marcado com o id numérico no PersistentDataContainer
+ */
+public final class CustomItem {
+
+    private final int id;
+    private final String key;
+    private final ItemStack template;
+    private final InteractHandler handler;
+
+    CustomItem(int id, String key, ItemStack template, InteractHandler handler) {
+        this.id = id;
+        this.key = key;
+        this.template = template;
+        this.handler = handler;
+    }
+
+    /**
+     * Cria uma nova cópia do item
+     * @param amount Quantidade
+     * @return Item marcado com o id do registro
+     */
+    public ItemStack create(int amount) {
+        ItemStack item = template.clone();
+        item.setAmount(amount);
+        return item;
+    }
+
+    /**
+     * Obtém o id numérico gravado nos itens
+     * @return Id do item
+     */
+    public int getId() {
+        return id;
+    }
+
+    /**
+     * Obtém o nome interno do item
+     * @return Nome interno (ex: magic_compass)
+     */
+    public String getKey() {
+        return key;
+    }
+
+    /**
+     * Obtém o material do item
+     * @return Material do item modelo
+     */
+    public Material getMaterial() {
+        return template.getType();
+    }
+
+    InteractHandler getHandler() {
+        return handler;
+    }
+
+    /**
+     * Ação executada quando um jogador interage segurando o item
+     */
+    @FunctionalInterface
+    public interface InteractHandler {
+        void onInteract(PlayerInteractEvent event, Player player, ItemStack item);
+    }
+}
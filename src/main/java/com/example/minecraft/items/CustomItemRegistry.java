@@ -0,0 +1,183 @@
+package com.example.minecraft.items;
+
+import org.bukkit.Material;
+import org.bukkit.NamespacedKey;
+import org.bukkit.event.player.PlayerInteractEvent;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.ItemMeta;
+import org.bukkit.persistence.PersistentDataType;
+
+import com.example.minecraft.ExamplePlugin;
+import com.example.minecraft.utils.PluginUtils;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Registro dos itens personalizados do plugin
+ * Cada item recebe um id numérico fixo gravado no PersistentDataContainer, então a
+ * identificação não depende do nome (itens renomeados continuam funcionando)
+ * Itens entregues antes do id existir são reconhecidos uma vez pelo nome e recebem o id
+ */
+public class CustomItemRegistry {
+
+    // Os ids ficam gravados nos itens dos jogadores e não devem mudar entre versões
+    public static final int MAX_ID = 255;
+
+    private final NamespacedKey idKey;
+
+    // Tabela de itens indexada pelo id
+    private final CustomItem[] items;
+    private final Map<String, CustomItem> itemsByKey;
+
+    // Itens por nome de exibição original, para migrar itens antigos sem id
+    private final Map<String, CustomItem> itemsByLegacyName;
+
+    // Materiais usados por algum item registrado (evita ler o meta de itens comuns)
+    private final boolean[] materials;
+
+    public CustomItemRegistry(ExamplePlugin plugin) {
+        this.idKey = new NamespacedKey(plugin, "item");
+        this.items = new CustomItem[MAX_ID + 1];
+        this.itemsByKey = new HashMap<>();
+        this.itemsByLegacyName = new HashMap<>();
+        this.materials = new boolean[Material.values().length];
+    }
+
+    /**
+     * Registra um item personalizado
+     * @param id Id numérico fixo do item (1 a MAX_ID)
+     * @param key Nome interno do item
+     * @param material Material do item
+     * @param name Nome do item
+     * @param handler Ação ao interagir com o item (pode ser null)
+     * @param lore Descrição do item
+     * @return Item registrado
+     */
+    public CustomItem register(int id, String key, Material material, String name,
+                               CustomItem.InteractHandler handler, String... lore) {
+        if (id < 1 || id > MAX_ID) {
+            throw new IllegalArgumentException("Id de item inválido: " + id);
+        }
+
+        if (items[id] != null || itemsByKey.containsKey(key)) {
+            throw new IllegalArgumentException("Item já registrado: " + id + " (" + key + ")");
+        }
+
+        ItemStack template = PluginUtils.createCustomItem(material, name, lore);
+        ItemMeta meta = template.getItemMeta();
+        meta.getPersistentDataContainer().set(idKey, PersistentDataType.INTEGER, id);
+        template.setItemMeta(meta);
+
+        CustomItem item = new CustomItem(id, key, template, handler);
+        items[id] = item;
+        itemsByKey.put(key, item);
+        itemsByLegacyName.putIfAbsent(name, item);
+        materials[material.ordinal()] = true;
+        return item;
+    }
+
+    /**
+     * Identifica um item personalizado
+     * Lê o meta no máximo uma vez e apenas para materiais usados por itens registrados
+     * Um item sem id com o nome original de um item registrado (entregue antes do id existir)
+     * é reconhecido pelo nome e recebe o id, então a verificação pelo nome acontece uma única vez
+     * @param stack Item a ser verificado
+     * @return Item personalizado ou null se não for um item do plugin
+     */
+    public CustomItem identify(ItemStack stack) {
+        if (stack == null || !materials[stack.getType().ordinal()] || !stack.hasItemMeta()) {
+            return null;
+        }
+
+        ItemMeta meta = stack.getItemMeta();
+        Integer id = meta.getPersistentDataContainer().get(idKey, PersistentDataType.INTEGER);
+
+        if (id == null) {
+            return migrateLegacy(stack, meta);
+        }
+
+        if (id < 1 || id > MAX_ID) {
+            return null;
+        }
+
+        return items[id];
+    }
+
+    /**
+     * Reconhece um item antigo pelo nome de exibição e grava nele o id do registro
+     * @param stack Item sem id
+     * @param meta Meta já lido do item
+     * @return Item personalizado ou null se o nome não for de um item registrado
+     */
+    private CustomItem migrateLegacy(ItemStack stack, ItemMeta meta) {
+        if (!meta.hasDisplayName()) {
+            return null;
+        }
+
+        CustomItem item = itemsByLegacyName.get(meta.getDisplayName());
+
+        if (item == null || item.getMaterial() != stack.getType()) {
+            return null;
+        }
+
+        meta.getPersistentDataContainer().set(idKey, PersistentDataType.INTEGER, item.getId());
+        stack.setItemMeta(meta);
+        return item;
+    }
+
+    /**
+     * Executa a ação do item personalizado usado no evento, se houver
+     * @param event Evento de interação
+     * @return true se o item era um item personalizado com ação
+     */
+    public boolean dispatch(PlayerInteractEvent event) {
+        if (!event.hasItem()) {
+            return false;
+        }
+
+        ItemStack stack = event.getItem();
+        CustomItem item = identify(stack);
+
+        if (item == null || item.getHandler() == null) {
+            return false;
+        }
+
+        item.getHandler().onInteract(event, event.getPlayer(), stack);
+        return true;
+    }
+
+    /**
+     * Obtém um item pelo id
+     * @param id Id do item
+     * @return Item ou null se não existir
+     */
+    public CustomItem get(int id) {
+        return id >= 1 && id <= MAX_ID ? items[id] : null;
+    }
+
+    /**
+     * Obtém um item pelo nome interno
+     * @param key Nome interno
+     * @return Item ou null se não existir
+     */
+    public CustomItem get(String key) {
+        return itemsByKey.get(key);
+    }
+
+    /**
+     * Obtém a quantidade de itens registrados
+     * @return Quantidade de itens
+     */
+    public int size() {
+        return itemsByKey.size();
+    }
+
+    /**
+     * Obtém a chave usada para gravar o id nos itens
+     * @return Chave do PersistentDataContainer
+     */
+    public NamespacedKey getIdKey() {
+        return idKey;
+    }
+}
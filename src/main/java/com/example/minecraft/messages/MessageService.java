@@ -0,0 +1,176 @@
+package com.example.minecraft.messages;
+
+import org.bukkit.command.CommandSender;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.bukkit.entity.Player;
+
+import com.example.minecraft.ExamplePlugin;
+import com.example.minecraft.config.PluginSettings;
+import com.example.minecraft.utils.PluginUtils;
+
+import java.io.File;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Serviço de mensagens do plugin
+ * Todas as mensagens de messages.* (e dos pacotes de idioma em lang/) são compiladas
+ * uma única vez ao ativar o plugin e a cada recarga
+ */
+public class MessageService {
+
+    // Pacotes de idioma distribuídos com o plugin
+    private static final String[] BUNDLED_LOCALES = { "en_us" };
+
+    private final ExamplePlugin plugin;
+
+    // Mensagens padrão (config.yml) e por idioma (lang/messages_<idioma>.yml)
+    private volatile Map<String, MessageTemplate> defaults;
+    private volatile Map<String, Map<String, MessageTemplate>> locales;
+
+    // Chaves ausentes do arquivo, resolvidas pelos valores padrão ou já reportadas como inexistentes
+    private final Map<String, MessageTemplate> missing;
+
+    public MessageService(ExamplePlugin plugin) {
+        this.plugin = plugin;
+        this.defaults = Collections.emptyMap();
+        this.locales = Collections.emptyMap();
+        this.missing = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Recarrega e compila todas as mensagens
+     */
+    public void reload() {
+        PluginSettings settings = plugin.getSettings();
+        String prefix = settings.getString("settings.prefix", "");
+        Map<String, MessageTemplate> newDefaults = new HashMap<>();
+
+        for (String key : settings.getKeys("messages")) {
+            String raw = settings.getString("messages." + key, null);
+
+            if (raw != null) {
+                newDefaults.put(key, compile(raw, prefix));
+            }
+        }
+
+        Map<String, Map<String, MessageTemplate>> newLocales = new HashMap<>();
+
+        File langFolder = new File(plugin.getDataFolder(), "lang");
+
+        for (String locale : BUNDLED_LOCALES) {
+            if (!new File(langFolder, "messages_" + locale + ".yml").exists()) {
+                plugin.saveResource("lang/messages_" + locale + ".yml", false);
+            }
+        }
+
+        File[] files = langFolder.listFiles((dir, name) -> name.startsWith("messages_") && name.endsWith(".yml"));
+
+        if (files != null) {
+            for (File file : files) {
+                String name = file.getName();
+                String locale = name.substring("messages_".length(), name.length() - ".yml".length()).toLowerCase(Locale.ROOT);
+                newLocales.put(locale, compile(YamlConfiguration.loadConfiguration(file), prefix));
+            }
+        }
+
+        defaults = newDefaults;
+        locales = newLocales;
+        missing.clear();
+    }
+
+    private Map<String, MessageTemplate> compile(ConfigurationSection section, String prefix) {
+        Map<String, MessageTemplate> templates = new HashMap<>();
+
+        if (section == null) {
+            return templates;
+        }
+
+        for (String key : section.getKeys(false)) {
+            String raw = section.getString(key);
+
+            if (raw != null) {
+                templates.put(key, compile(raw, prefix));
+            }
+        }
+
+        return templates;
+    }
+
+    private MessageTemplate compile(String raw, String prefix) {
+        // O prefixo é fixo, então é substituído já na compilação
+        return MessageTemplate.compile(PluginUtils.formatMessage(raw.replace("{prefix}", prefix)));
+    }
+
+    /**
+     * Obtém uma mensagem no idioma padrão
+     * @param key Chave da mensagem em messages.*
+     * @return Mensagem compilada
+     */
+    public MessageTemplate get(String key) {
+        MessageTemplate template = defaults.get(key);
+        return template != null ? template : missing(key);
+    }
+
+    /**
+     * Obtém uma mensagem no idioma do destinatário, se houver tradução
+     * @param receiver Destinatário da mensagem
+     * @param key Chave da mensagem em messages.*
+     * @return Mensagem compilada
+     */
+    public MessageTemplate get(CommandSender receiver, String key) {
+        if (receiver instanceof Player && !locales.isEmpty()) {
+            Map<String, MessageTemplate> bundle = locales.get(((Player) receiver).getLocale().toLowerCase(Locale.ROOT));
+
+            if (bundle != null) {
+                MessageTemplate template = bundle.get(key);
+
+                if (template != null) {
+                    return template;
+                }
+            }
+        }
+
+        return get(key);
+    }
+
+    /**
+     * Renderiza uma mensagem no idioma padrão (ex: mensagens para todo o servidor)
+     * @param key Chave da mensagem
+     * @param replacements Pares nome/valor dos placeholders
+     * @return Mensagem final
+     */
+    public String render(String key, Object... replacements) {
+        return get(key).render(replacements);
+    }
+
+    /**
+     * Envia uma mensagem no idioma do destinatário
+     * @param receiver Destinatário da mensagem
+     * @param key Chave da mensagem
+     * @param replacements Pares nome/valor dos placeholders
+     */
+    public void send(CommandSender receiver, String key, Object... replacements) {
+        receiver.sendMessage(get(receiver, key).render(replacements));
+    }
+
+    private MessageTemplate missing(String key) {
+        return missing.computeIfAbsent(key, missingKey -> {
+            PluginSettings settings = plugin.getSettings();
+
+            // Chaves adicionadas depois que o config.yml do servidor foi gerado vêm do config.yml padrão
+            String raw = settings.getString("messages." + missingKey, null);
+
+            if (raw != null) {
+                return compile(raw, settings.getString("settings.prefix", ""));
+            }
+
+            plugin.getLogger().warning("Mensagem não encontrada no config.yml: messages." + missingKey);
+            return MessageTemplate.compile("messages." + missingKey);
+        });
+    }
+}
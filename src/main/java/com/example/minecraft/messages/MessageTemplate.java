@@ -0,0 +1,122 @@
+package com.example.minecraft.messages;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Mensagem pré-compilada: as cores já foram traduzidas e os placeholders ({nome})
+ * foram separados em segmentos, então renderizar é uma única passada em um
+ * StringBuilder com o tamanho calculado
+ */
+public final class MessageTemplate {
+
+    // Estimativa do tamanho de cada valor substituído
+    private static final int PLACEHOLDER_ESTIMATE = 16;
+
+    private final String[] literals;
+    private final String[] placeholders;
+    private final int literalLength;
+
+    private MessageTemplate(String[] literals, String[] placeholders) {
+        this.literals = literals;
+        this.placeholders = placeholders;
+
+        int length = 0;
+        for (String literal : literals) {
+            length += literal.length();
+        }
+        this.literalLength = length;
+    }
+
+    /**
+     * Compila uma mensagem separando os placeholders
+     * @param message Mensagem com as cores já traduzidas
+     * @return Mensagem compilada
+     */
+    public static MessageTemplate compile(String message) {
+        List<String> literals = new ArrayList<>();
+        List<String> placeholders = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        int index = 0;
+
+        while (index < message.length()) {
+            char c = message.charAt(index);
+            int end = c == '{' ? findPlaceholderEnd(message, index + 1) : -1;
+
+            if (end > 0) {
+                literals.add(current.toString());
+                placeholders.add(message.substring(index + 1, end));
+                current.setLength(0);
+                index = end + 1;
+            } else {
+                current.append(c);
+                index++;
+            }
+        }
+
+        literals.add(current.toString());
+        return new MessageTemplate(literals.toArray(new String[0]), placeholders.toArray(new String[0]));
+    }
+
+    /**
+     * Procura o fim de um placeholder válido (letras, números, '_' ou '-')
+     * @param message Mensagem
+     * @param start Posição logo após o '{'
+     * @return Posição do '}' ou -1 se não for um placeholder
+     */
+    private static int findPlaceholderEnd(String message, int start) {
+        for (int i = start; i < message.length(); i++) {
+            char c = message.charAt(i);
+
+            if (c == '}') {
+                return i > start ? i : -1;
+            }
+
+            if (!Character.isLetterOrDigit(c) && c != '_' && c != '-') {
+                return -1;
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * Renderiza a mensagem substituindo os placeholders
+     * @param replacements Pares nome/valor (ex: "player", "Steve", "count", 10)
+     * @return Mensagem final
+     */
+    public String render(Object... replacements) {
+        if (placeholders.length == 0) {
+            return literals[0];
+        }
+
+        StringBuilder builder = new StringBuilder(literalLength + placeholders.length * PLACEHOLDER_ESTIMATE);
+
+        for (int i = 0; i < placeholders.length; i++) {
+            builder.append(literals[i]);
+            appendValue(builder, placeholders[i], replacements);
+        }
+
+        return builder.append(literals[placeholders.length]).toString();
+    }
+
+    private static void appendValue(StringBuilder builder, String name, Object[] replacements) {
+        for (int i = 0; i + 1 < replacements.length; i += 2) {
+            if (name.equals(replacements[i])) {
+                builder.append(replacements[i + 1]);
+                return;
+            }
+        }
+
+        // Placeholder sem valor: manter o texto original
+        builder.append('{').append(name).append('}');
+    }
+
+    /**
+     * Verifica se a mensagem tem placeholders
+     * @return true se houver placeholders a substituir
+     */
+    public boolean hasPlaceholders() {
+        return placeholders.length > 0;
+    }
+}
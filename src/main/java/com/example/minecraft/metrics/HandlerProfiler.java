@@ -0,0 +1,285 @@
+package com.example.minecraft.metrics;
+
+import org.bukkit.command.Command;
+import org.bukkit.command.CommandExecutor;
+import org.bukkit.command.CommandSender;
+import org.bukkit.command.TabCompleter;
+import org.bukkit.command.TabExecutor;
+import org.bukkit.event.Event;
+import org.bukkit.event.EventException;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.Listener;
+import org.bukkit.plugin.EventExecutor;
+import org.bukkit.scheduler.BukkitTask;
+
+import com.example.minecraft.ExamplePlugin;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Mede o tempo gasto em cada listener e comando do plugin
+ * Os listeners registrados por aqui e os comandos envolvidos por wrap() registram a duração
+ * de cada chamada em uma janela deslizante; desligado, o custo é uma leitura de campo volatile
+ */
+public class HandlerProfiler {
+
+    // Quantidade de intervalos em que a janela é dividida
+    private static final int WINDOW_INTERVALS = 6;
+
+    private final ExamplePlugin plugin;
+    private final Map<String, RollingHistogram> handlers;
+
+    // Quantidade de execuções de cada comando (contadas mesmo com a medição desligada)
+    private final Map<String, AtomicLong> commandCalls;
+
+    private volatile boolean enabled;
+    private long windowSeconds;
+    private BukkitTask rotateTask;
+
+    public HandlerProfiler(ExamplePlugin plugin) {
+        this.plugin = plugin;
+        this.handlers = new ConcurrentSkipListMap<>();
+        this.commandCalls = new ConcurrentSkipListMap<>();
+    }
+
+    /**
+     * Inicia a rotação da janela
+     * @param enabled Se a medição começa ligada
+     * @param windowSeconds Duração da janela em segundos
+     */
+    public void start(boolean enabled, long windowSeconds) {
+        this.enabled = enabled;
+        this.windowSeconds = Math.max(WINDOW_INTERVALS, windowSeconds);
+
+        long intervalTicks = Math.max(1L, this.windowSeconds * 20L / WINDOW_INTERVALS);
+        rotateTask = plugin.getServer().getScheduler().runTaskTimer(plugin, this::rotate, intervalTicks, intervalTicks);
+    }
+
+    /**
+     * Para a rotação da janela
+     */
+    public void shutdown() {
+        if (rotateTask != null) {
+            rotateTask.cancel();
+            rotateTask = null;
+        }
+    }
+
+    private void rotate() {
+        for (RollingHistogram histogram : handlers.values()) {
+            histogram.rotate();
+        }
+    }
+
+    /**
+     * Registra os métodos @EventHandler de um listener com medição de tempo
+     * Substitui o PluginManager.registerEvents do Bukkit
+     * @param listener Listener a ser registrado
+     */
+    public void registerEvents(Listener listener) {
+        Set<Method> methods = new LinkedHashSet<>(Arrays.asList(listener.getClass().getMethods()));
+        methods.addAll(Arrays.asList(listener.getClass().getDeclaredMethods()));
+
+        for (Method method : methods) {
+            EventHandler annotation = method.getAnnotation(EventHandler.class);
+
+            if (annotation == null || method.isBridge() || method.isSynthetic()) {
+                continue;
+            }
+
+            Class<?>[] parameters = method.getParameterTypes();
+
+            if (parameters.length != 1 || !Event.class.isAssignableFrom(parameters[0])) {
+                plugin.getLogger().severe("Método de evento inválido: " + listener.getClass().getName() + "." + method.getName());
+                continue;
+            }
+
+            Class<? extends Event> eventClass = parameters[0].asSubclass(Event.class);
+            method.setAccessible(true);
+
+            RollingHistogram histogram = handler(listener.getClass().getSimpleName() + "#" + method.getName());
+            EventExecutor executor = (target, event) -> {
+                // O mesmo executor recebe subclasses do evento registrado
+                if (!eventClass.isInstance(event)) {
+                    return;
+                }
+
+                if (!enabled) {
+                    invoke(method, target, event);
+                    return;
+                }
+
+                long start = System.nanoTime();
+
+                try {
+                    invoke(method, target, event);
+                } finally {
+                    histogram.record(System.nanoTime() - start);
+                }
+            };
+
+            plugin.getServer().getPluginManager().registerEvent(eventClass, listener, annotation.priority(),
+                executor, plugin, annotation.ignoreCancelled());
+        }
+    }
+
+    private static void invoke(Method method, Listener target, Event event) throws EventException {
+        try {
+            method.invoke(target, event);
+        } catch (InvocationTargetException e) {
+            throw new EventException(e.getCause());
+        } catch (IllegalAccessException e) {
+            throw new EventException(e);
+        }
+    }
+
+    /**
+     * Envolve um executor de comando com medição de tempo (execução e autocompletar)
+     * @param name Nome do comando
+     * @param executor Executor original
+     * @return Executor com medição
+     */
+    public TabExecutor wrap(String name, CommandExecutor executor) {
+        AtomicLong calls = commandCalls.computeIfAbsent(name, key -> new AtomicLong());
+        return new ProfiledCommand(executor, calls, handler("/" + name), handler("/" + name + " (tab)"));
+    }
+
+    /**
+     * Obtém (ou cria) o histograma de um handler
+     * @param name Nome do handler
+     * @return Histograma com janela deslizante
+     */
+    public RollingHistogram handler(String name) {
+        return handlers.computeIfAbsent(name, key -> new RollingHistogram(WINDOW_INTERVALS));
+    }
+
+    /**
+     * Obtém os histogramas de todos os handlers
+     * @return Mapa (somente leitura) de histogramas, ordenados por nome
+     */
+    public Map<String, RollingHistogram> getHandlers() {
+        return Collections.unmodifiableMap(handlers);
+    }
+
+    /**
+     * Obtém a quantidade de execuções de cada comando
+     * @return Mapa (somente leitura) de contadores, ordenados pelo nome do comando
+     */
+    public Map<String, AtomicLong> getCommandCalls() {
+        return Collections.unmodifiableMap(commandCalls);
+    }
+
+    /**
+     * Junta as medições da janela de todos os handlers
+     * @return Histogramas por handler, ordenados por nome
+     */
+    public Map<String, LatencyHistogram> snapshot() {
+        Map<String, LatencyHistogram> snapshot = new TreeMap<>();
+
+        for (Map.Entry<String, RollingHistogram> entry : handlers.entrySet()) {
+            snapshot.put(entry.getKey(), entry.getValue().snapshot());
+        }
+
+        return snapshot;
+    }
+
+    /**
+     * Limpa as medições de todos os handlers
+     */
+    public void reset() {
+        for (RollingHistogram histogram : handlers.values()) {
+            histogram.reset();
+        }
+    }
+
+    /**
+     * Liga ou desliga a medição
+     * @param enabled true para medir as chamadas
+     */
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * Verifica se a medição está ligada
+     * @return true se ligada
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Obtém a duração da janela de medição
+     * @return Duração em segundos
+     */
+    public long getWindowSeconds() {
+        return windowSeconds;
+    }
+
+    /**
+     * Executor de comando que mede a duração de cada chamada
+     */
+    private final class ProfiledCommand implements TabExecutor {
+
+        private final CommandExecutor delegate;
+        private final AtomicLong calls;
+        private final RollingHistogram commandTime;
+        private final RollingHistogram tabCompleteTime;
+
+        private ProfiledCommand(CommandExecutor delegate, AtomicLong calls,
+                                RollingHistogram commandTime, RollingHistogram tabCompleteTime) {
+            this.delegate = delegate;
+            this.calls = calls;
+            this.commandTime = commandTime;
+            this.tabCompleteTime = tabCompleteTime;
+        }
+
+        @Override
+        public boolean onCommand(CommandSender sender, Command command, String label, String[] args) {
+            calls.incrementAndGet();
+
+            if (!enabled) {
+                return delegate.onCommand(sender, command, label, args);
+            }
+
+            long start = System.nanoTime();
+
+            try {
+                return delegate.onCommand(sender, command, label, args);
+            } finally {
+                commandTime.record(System.nanoTime() - start);
+            }
+        }
+
+        @Override
+        public List<String> onTabComplete(CommandSender sender, Command command, String alias, String[] args) {
+            if (!(delegate instanceof TabCompleter)) {
+                return null;
+            }
+
+            TabCompleter completer = (TabCompleter) delegate;
+
+            if (!enabled) {
+                return completer.onTabComplete(sender, command, alias, args);
+            }
+
+            long start = System.nanoTime();
+
+            try {
+                return completer.onTabComplete(sender, command, alias, args);
+            } finally {
+                tabCompleteTime.record(System.nanoTime() - start);
+            }
+        }
+    }
+}
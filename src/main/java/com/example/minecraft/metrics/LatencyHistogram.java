@@ -0,0 +1,191 @@
+package com.example.minecraft.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Histograma de latências sem travas, no estilo do HdrHistogram
+ * Os valores (em nanossegundos) são agrupados em faixas logarítmicas com 8 subdivisões
+ * por potência de 2, o que dá uma precisão de ~12% com memória fixa e sem alocações
+ */
+public class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    private static final int SUB_BUCKET_MASK = SUB_BUCKET_COUNT - 1;
+    private static final int BUCKET_COUNT = (64 - SUB_BUCKET_BITS + 1) * SUB_BUCKET_COUNT;
+
+    private final AtomicLongArray counts;
+    private final AtomicLong totalCount;
+    private final AtomicLong totalNanos;
+    private final AtomicLong maxNanos;
+
+    public LatencyHistogram() {
+        this.counts = new AtomicLongArray(BUCKET_COUNT);
+        this.totalCount = new AtomicLong();
+        this.totalNanos = new AtomicLong();
+        this.maxNanos = new AtomicLong();
+    }
+
+    /**
+     * Registra uma medição
+     * @param nanos Duração em nanossegundos
+     */
+    public void record(long nanos) {
+        long value = Math.max(0L, nanos);
+
+        counts.incrementAndGet(bucketIndex(value));
+        totalCount.incrementAndGet();
+        totalNanos.addAndGet(value);
+
+        long max = maxNanos.get();
+        while (value > max && !maxNanos.compareAndSet(max, value)) {
+            max = maxNanos.get();
+        }
+    }
+
+    /**
+     * Obtém o número de medições registradas
+     * @return Quantidade de medições
+     */
+    public long getCount() {
+        return totalCount.get();
+    }
+
+    /**
+     * Obtém a soma de todas as medições
+     * @return Soma em nanossegundos
+     */
+    public long getTotalNanos() {
+        return totalNanos.get();
+    }
+
+    /**
+     * Obtém a maior medição registrada
+     * @return Maior valor em nanossegundos
+     */
+    public long getMaxNanos() {
+        return maxNanos.get();
+    }
+
+    /**
+     * Obtém a média das medições
+     * @return Média em nanossegundos
+     */
+    public long getMeanNanos() {
+        long count = totalCount.get();
+        return count == 0 ? 0L : totalNanos.get() / count;
+    }
+
+    /**
+     * Obtém um percentil aproximado (limite superior da faixa correspondente)
+     * @param percentile Percentil entre 0 e 100
+     * @return Valor do percentil em nanossegundos
+     */
+    public long getPercentile(double percentile) {
+        long count = totalCount.get();
+
+        if (count == 0) {
+            return 0L;
+        }
+
+        long target = Math.max(1L, (long) Math.ceil(count * (percentile / 100.0)));
+        long seen = 0;
+
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            seen += counts.get(i);
+
+            if (seen >= target) {
+                return Math.min(bucketUpperBound(i), maxNanos.get());
+            }
+        }
+
+        return maxNanos.get();
+    }
+
+    /**
+     * Obtém a quantidade de medições em uma faixa
+     * @param index Índice da faixa
+     * @return Quantidade de medições
+     */
+    public long getBucketCount(int index) {
+        return counts.get(index);
+    }
+
+    /**
+     * Obtém o número de faixas do histograma
+     * @return Número de faixas
+     */
+    public static int getBucketCount() {
+        return BUCKET_COUNT;
+    }
+
+    /**
+     * Soma as medições de outro histograma a este
+     * @param other Histograma de origem
+     */
+    public void add(LatencyHistogram other) {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            long count = other.counts.get(i);
+
+            if (count != 0L) {
+                counts.addAndGet(i, count);
+            }
+        }
+
+        totalCount.addAndGet(other.totalCount.get());
+        totalNanos.addAndGet(other.totalNanos.get());
+
+        long value = other.maxNanos.get();
+        long max = maxNanos.get();
+        while (value > max && !maxNanos.compareAndSet(max, value)) {
+            max = maxNanos.get();
+        }
+    }
+
+    /**
+     * Limpa todas as medições
+     */
+    public void reset() {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            counts.set(i, 0L);
+        }
+
+        totalCount.set(0L);
+        totalNanos.set(0L);
+        maxNanos.set(0L);
+    }
+
+    /**
+     * Calcula a faixa de um valor
+     * @param value Valor em nanossegundos
+     * @return Índice da faixa
+     */
+    static int bucketIndex(long value) {
+        if (value < SUB_BUCKET_COUNT) {
+            return (int) value;
+        }
+
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & SUB_BUCKET_MASK;
+
+        return ((exponent - SUB_BUCKET_BITS + 1) << SUB_BUCKET_BITS) + subBucket;
+    }
+
+    /**
+     * Calcula o maior valor que cai em uma faixa
+     * @param index Índice da faixa
+     * @return Limite superior da faixa em nanossegundos
+     */
+    public static long bucketUpperBound(int index) {
+        if (index < SUB_BUCKET_COUNT) {
+            return index;
+        }
+
+        int exponent = (index >>> SUB_BUCKET_BITS) + SUB_BUCKET_BITS - 1;
+        long subBucket = index & SUB_BUCKET_MASK;
+        long lower = (1L << exponent) | (subBucket << (exponent - SUB_BUCKET_BITS));
+
+        return lower + (1L << (exponent - SUB_BUCKET_BITS)) - 1;
+    }
+}
@@ -0,0 +1,128 @@
+package com.example.minecraft.metrics;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Registro central das métricas do plugin
+ * As métricas são criadas sob demanda e identificadas por nome
+ */
+public class MetricsRegistry {
+
+    private final Map<String, LatencyHistogram> histograms;
+    private final Map<String, LatencyHistogram> sizeHistograms;
+    private final Map<String, AtomicLong> counters;
+    private final Map<String, LongSupplier> gauges;
+
+    public MetricsRegistry() {
+        this.histograms = new ConcurrentSkipListMap<>();
+        this.sizeHistograms = new ConcurrentSkipListMap<>();
+        this.counters = new ConcurrentSkipListMap<>();
+        this.gauges = new ConcurrentSkipListMap<>();
+    }
+
+    /**
+     * Obtém (ou cria) um histograma de latência
+     * @param name Nome da métrica
+     * @return Histograma associado ao nome
+     */
+    public LatencyHistogram histogram(String name) {
+        return histograms.computeIfAbsent(name, key -> new LatencyHistogram());
+    }
+
+    /**
+     * Obtém (ou cria) um histograma de tamanhos; usa as mesmas faixas, mas os valores são bytes
+     * @param name Nome da métrica
+     * @return Histograma associado ao nome
+     */
+    public LatencyHistogram sizeHistogram(String name) {
+        return sizeHistograms.computeIfAbsent(name, key -> new LatencyHistogram());
+    }
+
+    /**
+     * Obtém (ou cria) um contador
+     * @param name Nome da métrica
+     * @return Contador associado ao nome
+     */
+    public AtomicLong counter(String name) {
+        return counters.computeIfAbsent(name, key -> new AtomicLong());
+    }
+
+    /**
+     * Registra um medidor cujo valor é lido no momento da consulta
+     * @param name Nome da métrica
+     * @param supplier Fonte do valor (pode ser chamada em qualquer thread)
+     */
+    public void gauge(String name, LongSupplier supplier) {
+        gauges.put(name, supplier);
+    }
+
+    /**
+     * Obtém todos os contadores registrados, ordenados por nome
+     * @return Mapa (somente leitura) de contadores
+     */
+    public Map<String, AtomicLong> getCounters() {
+        return Collections.unmodifiableMap(counters);
+    }
+
+    /**
+     * Obtém todos os medidores registrados, ordenados por nome
+     * @return Mapa (somente leitura) de medidores
+     */
+    public Map<String, LongSupplier> getGauges() {
+        return Collections.unmodifiableMap(gauges);
+    }
+
+    /**
+     * Obtém todos os histogramas registrados, ordenados por nome
+     * @return Mapa (somente leitura) de histogramas
+     */
+    public Map<String, LatencyHistogram> getHistograms() {
+        return Collections.unmodifiableMap(histograms);
+    }
+
+    /**
+     * Obtém todos os histogramas de tamanhos registrados, ordenados por nome
+     * @return Mapa (somente leitura) de histogramas
+     */
+    public Map<String, LatencyHistogram> getSizeHistograms() {
+        return Collections.unmodifiableMap(sizeHistograms);
+    }
+
+    /**
+     * Formata uma duração em nanossegundos para exibição
+     * @param nanos Duração em nanossegundos
+     * @return Duração formatada (ns, µs ou ms)
+     */
+    public static String formatNanos(long nanos) {
+        if (nanos < 1_000L) {
+            return nanos + "ns";
+        }
+
+        if (nanos < 1_000_000L) {
+            return String.format("%.1fµs", nanos / 1_000.0);
+        }
+
+        return String.format("%.2fms", nanos / 1_000_000.0);
+    }
+
+    /**
+     * Formata um tamanho em bytes para exibição
+     * @param bytes Tamanho em bytes
+     * @return Tamanho formatado (B, KB ou MB)
+     */
+    public static String formatBytes(long bytes) {
+        if (bytes < 1024L) {
+            return bytes + "B";
+        }
+
+        if (bytes < 1024L * 1024L) {
+            return String.format("%.1fKB", bytes / 1024.0);
+        }
+
+        return String.format("%.2fMB", bytes / (1024.0 * 1024.0));
+    }
+}
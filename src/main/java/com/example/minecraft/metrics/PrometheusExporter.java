@@ -0,0 +1,362 @@
+package com.example.minecraft.metrics;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+import com.example.minecraft.ExamplePlugin;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Servidor HTTP opcional com as métricas do plugin no formato de texto do Prometheus
+ * As respostas são montadas em um buffer reutilizado por uma única thread, sem alocar
+ * objetos por consulta além do próprio buffer (quando ele precisa crescer)
+ */
+public class PrometheusExporter implements HttpHandler {
+
+    // Limites das faixas exportadas: 2^10ns (~1µs) até 2^34ns (~17s), multiplicando por 4
+    private static final int FIRST_BUCKET_EXPONENT = 10;
+    private static final int LAST_BUCKET_EXPONENT = 34;
+    private static final int BUCKET_EXPONENT_STEP = 2;
+
+    // Limites das faixas dos histogramas de tamanho: 2^6 (64B) até 2^20 (1MB), multiplicando por 4
+    private static final int FIRST_SIZE_BUCKET_EXPONENT = 6;
+    private static final int LAST_SIZE_BUCKET_EXPONENT = 20;
+
+    private final ExamplePlugin plugin;
+    private final String prefix;
+
+    // Valores de "le" já formatados (em segundos) e o limite correspondente em nanossegundos
+    private final String[] bucketLabels;
+    private final long[] bucketBounds;
+
+    // Valores de "le" e limites dos histogramas de tamanho, ambos em bytes
+    private final String[] sizeBucketLabels;
+    private final long[] sizeBucketBounds;
+
+    private HttpServer server;
+    private ExecutorService executor;
+
+    // Buffer da resposta, usado apenas pela thread do servidor
+    private byte[] buffer;
+    private int length;
+
+    public PrometheusExporter(ExamplePlugin plugin) {
+        this.plugin = plugin;
+        this.prefix = plugin.getName().toLowerCase(Locale.ROOT).replaceAll("[^a-z0-9_]", "_") + "_";
+        this.buffer = new byte[16 * 1024];
+
+        int bucketCount = (LAST_BUCKET_EXPONENT - FIRST_BUCKET_EXPONENT) / BUCKET_EXPONENT_STEP + 1;
+        this.bucketLabels = new String[bucketCount];
+        this.bucketBounds = new long[bucketCount];
+
+        for (int i = 0; i < bucketCount; i++) {
+            long bound = 1L << (FIRST_BUCKET_EXPONENT + i * BUCKET_EXPONENT_STEP);
+            bucketBounds[i] = bound - 1;
+            bucketLabels[i] = Double.toString(bound / 1_000_000_000.0);
+        }
+
+        int sizeBucketCount = (LAST_SIZE_BUCKET_EXPONENT - FIRST_SIZE_BUCKET_EXPONENT) / BUCKET_EXPONENT_STEP + 1;
+        this.sizeBucketLabels = new String[sizeBucketCount];
+        this.sizeBucketBounds = new long[sizeBucketCount];
+
+        for (int i = 0; i < sizeBucketCount; i++) {
+            long bound = 1L << (FIRST_SIZE_BUCKET_EXPONENT + i * BUCKET_EXPONENT_STEP);
+            sizeBucketBounds[i] = bound - 1;
+            sizeBucketLabels[i] = Long.toString(bound);
+        }
+    }
+
+    /**
+     * Inicia o servidor HTTP
+     * @param address Endereço de escuta (ex: 127.0.0.1)
+     * @param port Porta de escuta
+     * @throws IOException Se não for possível abrir a porta
+     */
+    public void start(String address, int port) throws IOException {
+        server = HttpServer.create(new InetSocketAddress(address, port), 0);
+        executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, plugin.getName() + "-Metrics");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        server.setExecutor(executor);
+        server.createContext("/metrics", this);
+        server.start();
+    }
+
+    /**
+     * Para o servidor HTTP
+     */
+    public void stop() {
+        if (server == null) {
+            return;
+        }
+
+        server.stop(0);
+        executor.shutdown();
+
+        try {
+            executor.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        server = null;
+    }
+
+    @Override
+    public void handle(HttpExchange exchange) throws IOException {
+        try {
+            if (!"GET".equals(exchange.getRequestMethod())) {
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+
+            length = 0;
+            render();
+
+            exchange.getResponseHeaders().set("Content-Type", "text/plain; version=0.0.4; charset=utf-8");
+            exchange.sendResponseHeaders(200, length);
+
+            try (OutputStream body = exchange.getResponseBody()) {
+                body.write(buffer, 0, length);
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+
+    /**
+     * Escreve todas as métricas no buffer
+     */
+    private void render() {
+        MetricsRegistry metrics = plugin.getMetrics();
+
+        for (Map.Entry<String, AtomicLong> entry : metrics.getCounters().entrySet()) {
+            writeType(entry.getKey(), "_total", "counter");
+            writeName(entry.getKey(), "_total");
+            write(' ');
+            writeLong(entry.getValue().get());
+            write('\n');
+        }
+
+        for (Map.Entry<String, LongSupplier> entry : metrics.getGauges().entrySet()) {
+            writeType(entry.getKey(), "", "gauge");
+            writeName(entry.getKey(), "");
+            write(' ');
+            writeLong(entry.getValue().getAsLong());
+            write('\n');
+        }
+
+        for (Map.Entry<String, LatencyHistogram> entry : metrics.getHistograms().entrySet()) {
+            writeType(entry.getKey(), "_seconds", "histogram");
+            writeHistogram(entry.getKey(), null, null, entry.getValue());
+        }
+
+        for (Map.Entry<String, LatencyHistogram> entry : metrics.getSizeHistograms().entrySet()) {
+            writeType(entry.getKey(), "_bytes", "histogram");
+            writeHistogram(entry.getKey(), "_bytes", null, null, entry.getValue(), sizeBucketBounds, sizeBucketLabels);
+        }
+
+        HandlerProfiler profiler = plugin.getProfiler();
+
+        writeType("commands", "_total", "counter");
+
+        for (Map.Entry<String, AtomicLong> entry : profiler.getCommandCalls().entrySet()) {
+            writeName("commands", "_total");
+            writeLabel("command", entry.getKey());
+            write(' ');
+            writeLong(entry.getValue().get());
+            write('\n');
+        }
+
+        writeType("handler_duration", "_seconds", "histogram");
+
+        for (Map.Entry<String, RollingHistogram> entry : profiler.getHandlers().entrySet()) {
+            writeHistogram("handler_duration", "handler", entry.getKey(), entry.getValue().getTotal());
+        }
+    }
+
+    private void writeHistogram(String name, String labelName, String labelValue, LatencyHistogram histogram) {
+        writeHistogram(name, "_seconds", labelName, labelValue, histogram, bucketBounds, bucketLabels);
+    }
+
+    private void writeHistogram(String name, String unit, String labelName, String labelValue, LatencyHistogram histogram,
+                                long[] bounds, String[] labels) {
+        // A quantidade total é lida uma vez para manter +Inf e _count iguais
+        long count = histogram.getCount();
+        long cumulative = 0;
+        int index = 0;
+        int bucketCount = LatencyHistogram.getBucketCount();
+
+        for (int i = 0; i < bounds.length; i++) {
+            while (index < bucketCount && LatencyHistogram.bucketUpperBound(index) <= bounds[i]) {
+                cumulative += histogram.getBucketCount(index++);
+            }
+
+            writeBucket(name, unit, labelName, labelValue, labels[i], Math.min(cumulative, count));
+        }
+
+        writeBucket(name, unit, labelName, labelValue, "+Inf", count);
+
+        writeName(name, unit);
+        writeAscii("_sum");
+
+        if (labelName != null) {
+            writeLabel(labelName, labelValue);
+        }
+
+        write(' ');
+
+        // Os histogramas de tempo guardam nanossegundos e são exportados em segundos
+        if (bounds == bucketBounds) {
+            writeSeconds(histogram.getTotalNanos());
+        } else {
+            writeLong(histogram.getTotalNanos());
+        }
+
+        write('\n');
+
+        writeName(name, unit);
+        writeAscii("_count");
+
+        if (labelName != null) {
+            writeLabel(labelName, labelValue);
+        }
+
+        write(' ');
+        writeLong(count);
+        write('\n');
+    }
+
+    private void writeBucket(String name, String unit, String labelName, String labelValue, String bound, long count) {
+        writeName(name, unit);
+        writeAscii("_bucket");
+        write('{');
+
+        if (labelName != null) {
+            writeAscii(labelName);
+            writeAscii("=\"");
+            writeLabelValue(labelValue);
+            writeAscii("\",");
+        }
+
+        writeAscii("le=\"");
+        writeAscii(bound);
+        writeAscii("\"} ");
+        writeLong(count);
+        write('\n');
+    }
+
+    private void writeType(String name, String suffix, String type) {
+        writeAscii("# TYPE ");
+        writeName(name, suffix);
+        write(' ');
+        writeAscii(type);
+        write('\n');
+    }
+
+    private void writeName(String name, String suffix) {
+        writeAscii(prefix);
+        writeAscii(name);
+        writeAscii(suffix);
+    }
+
+    private void writeLabel(String name, String value) {
+        write('{');
+        writeAscii(name);
+        writeAscii("=\"");
+        writeLabelValue(value);
+        writeAscii("\"}");
+    }
+
+    /**
+     * Escreve uma duração em segundos com 9 casas decimais, sem converter para double
+     */
+    private void writeSeconds(long nanos) {
+        writeLong(nanos / 1_000_000_000L);
+        write('.');
+
+        long fraction = nanos % 1_000_000_000L;
+        for (long digit = 100_000_000L; digit > 0; digit /= 10) {
+            write((char) ('0' + (fraction / digit) % 10));
+        }
+    }
+
+    private void writeLong(long value) {
+        if (value < 0) {
+            write('-');
+            value = -value;
+        }
+
+        if (value < 10) {
+            write((char) ('0' + value));
+            return;
+        }
+
+        // Escrever os dígitos de trás para frente e inverter no lugar
+        ensureCapacity(20);
+        int start = length;
+
+        while (value > 0) {
+            buffer[length++] = (byte) ('0' + value % 10);
+            value /= 10;
+        }
+
+        for (int i = start, j = length - 1; i < j; i++, j--) {
+            byte swap = buffer[i];
+            buffer[i] = buffer[j];
+            buffer[j] = swap;
+        }
+    }
+
+    /**
+     * Escreve um texto ASCII (nomes de métricas e trechos fixos); outros caracteres viram '_'
+     */
+    private void writeAscii(String text) {
+        int size = text.length();
+        ensureCapacity(size);
+
+        for (int i = 0; i < size; i++) {
+            char c = text.charAt(i);
+            buffer[length++] = (byte) (c < 0x80 ? c : '_');
+        }
+    }
+
+    /**
+     * Escreve o valor de um rótulo, trocando os caracteres que precisariam de escape por '_'
+     */
+    private void writeLabelValue(String value) {
+        int size = value.length();
+        ensureCapacity(size);
+
+        for (int i = 0; i < size; i++) {
+            char c = value.charAt(i);
+            buffer[length++] = (byte) (c < 0x80 && c != '"' && c != '\\' && c != '\n' ? c : '_');
+        }
+    }
+
+    private void write(char c) {
+        ensureCapacity(1);
+        buffer[length++] = (byte) c;
+    }
+
+    private void ensureCapacity(int extra) {
+        if (length + extra > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, length + extra));
+        }
+    }
+}
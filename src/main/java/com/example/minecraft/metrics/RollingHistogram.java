@@ -0,0 +1,74 @@
+package com.example.minecraft.metrics;
+
+/**
+ * Histograma de latências com janela deslizante
+ * A janela é dividida em intervalos; a cada rotação o intervalo mais antigo é descartado
+ * Um histograma acumulado (nunca limpo) é mantido para exportação
+ */
+public class RollingHistogram {
+
+    private final LatencyHistogram[] intervals;
+    private volatile int current;
+
+    // Todas as medições desde a criação
+    private final LatencyHistogram total;
+
+    public RollingHistogram(int intervalCount) {
+        this.total = new LatencyHistogram();
+        this.intervals = new LatencyHistogram[Math.max(1, intervalCount)];
+
+        for (int i = 0; i < intervals.length; i++) {
+            intervals[i] = new LatencyHistogram();
+        }
+    }
+
+    /**
+     * Registra uma medição no intervalo atual
+     * @param nanos Duração em nanossegundos
+     */
+    public void record(long nanos) {
+        intervals[current].record(nanos);
+        total.record(nanos);
+    }
+
+    /**
+     * Avança para o próximo intervalo, descartando as medições mais antigas
+     * Deve ser chamado por uma única thread (ex: tarefa periódica na thread principal)
+     */
+    public void rotate() {
+        int next = (current + 1) % intervals.length;
+        intervals[next].reset();
+        current = next;
+    }
+
+    /**
+     * Junta todos os intervalos da janela em um único histograma
+     * @return Cópia das medições da janela
+     */
+    public LatencyHistogram snapshot() {
+        LatencyHistogram merged = new LatencyHistogram();
+
+        for (LatencyHistogram interval : intervals) {
+            merged.add(interval);
+        }
+
+        return merged;
+    }
+
+    /**
+     * Obtém o histograma acumulado, que não é afetado pela rotação nem por reset()
+     * @return Histograma com todas as medições
+     */
+    public LatencyHistogram getTotal() {
+        return total;
+    }
+
+    /**
+     * Limpa todas as medições da janela
+     */
+    public void reset() {
+        for (LatencyHistogram interval : intervals) {
+            interval.reset();
+        }
+    }
+}
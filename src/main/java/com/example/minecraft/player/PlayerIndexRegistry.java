@@ -0,0 +1,145 @@
+package com.example.minecraft.player;
+
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+
+import com.example.minecraft.ExamplePlugin;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.IntConsumer;
+
+/**
+ * Atribui a cada jogador online um índice numérico pequeno e reutilizável
+ * Permite que outros serviços guardem dados por jogador em arrays primitivos
+ * em vez de mapas indexados por UUID
+ */
+public class PlayerIndexRegistry implements Listener {
+
+    private final Map<UUID, Integer> indices;
+
+    // Índices liberados, reutilizados antes de criar novos
+    private int[] freeIndices;
+    private int freeCount;
+
+    // Maior índice já atribuído + 1
+    private int capacity;
+
+    // Chamados quando um índice é liberado (para limpar os dados associados)
+    private final List<IntConsumer> releaseListeners;
+
+    public PlayerIndexRegistry(ExamplePlugin plugin) {
+        this.indices = new ConcurrentHashMap<>();
+        this.freeIndices = new int[16];
+        this.releaseListeners = new ArrayList<>();
+
+        // Jogadores já online (ex: após um /reload)
+        for (Player player : plugin.getServer().getOnlinePlayers()) {
+            assign(player.getUniqueId());
+        }
+
+        plugin.getProfiler().registerEvents(this);
+    }
+
+    /**
+     * Registra uma tarefa a ser executada quando um índice for liberado
+     * @param listener Recebe o índice liberado
+     */
+    public void addReleaseListener(IntConsumer listener) {
+        releaseListeners.add(listener);
+    }
+
+    /**
+     * Atribui um índice ao jogador (ou retorna o já atribuído)
+     * Deve ser chamado na thread principal
+     * @param uuid UUID do jogador
+     * @return Índice do jogador
+     */
+    public int assign(UUID uuid) {
+        Integer current = indices.get(uuid);
+
+        if (current != null) {
+            return current;
+        }
+
+        int index = freeCount > 0 ? freeIndices[--freeCount] : capacity++;
+        indices.put(uuid, index);
+        return index;
+    }
+
+    /**
+     * Libera o índice do jogador para ser reutilizado
+     * Deve ser chamado na thread principal
+     * @param uuid UUID do jogador
+     */
+    public void release(UUID uuid) {
+        Integer index = indices.remove(uuid);
+
+        if (index == null) {
+            return;
+        }
+
+        for (IntConsumer listener : releaseListeners) {
+            listener.accept(index);
+        }
+
+        if (freeCount == freeIndices.length) {
+            freeIndices = Arrays.copyOf(freeIndices, freeCount * 2);
+        }
+
+        freeIndices[freeCount++] = index;
+    }
+
+    /**
+     * Obtém o índice de um jogador
+     * @param uuid UUID do jogador
+     * @return Índice do jogador ou -1 se ele não estiver online
+     */
+    public int indexOf(UUID uuid) {
+        Integer index = indices.get(uuid);
+        return index != null ? index : -1;
+    }
+
+    /**
+     * Obtém o índice de um jogador
+     * @param player Jogador
+     * @return Índice do jogador ou -1 se ele não estiver online
+     */
+    public int indexOf(Player player) {
+        return indexOf(player.getUniqueId());
+    }
+
+    /**
+     * Obtém a quantidade de índices já criados (tamanho mínimo dos arrays por jogador)
+     * @return Capacidade atual
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Atribui o índice antes dos outros listeners de entrada
+     * @param event Evento de entrada do jogador
+     */
+    @EventHandler(priority = EventPriority.LOWEST)
+    public void onPlayerJoin(PlayerJoinEvent event) {
+        assign(event.getPlayer().getUniqueId());
+    }
+
+    /**
+     * Libera o índice depois dos outros listeners de saída
+     * @param event Evento de saída do jogador
+     */
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerQuit(PlayerQuitEvent event) {
+        release(event.getPlayer().getUniqueId());
+    }
+}
@@ -0,0 +1,369 @@
+package com.example.minecraft.player;
+
+import org.bukkit.Location;
+
+import com.example.minecraft.storage.MutationJournal;
+import com.example.minecraft.utils.PrefixIndex;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Dados tipados de um jogador mantidos em memória enquanto ele está online
+ * Os eventos leem e alteram os campos diretamente; a conversão para o formato
+ * de armazenamento acontece apenas na hora de salvar
+ * Com um diário associado, cada alteração também é registrada nele assim que acontece
+ */
+public class PlayerProfile {
+
+    // Nome da estatística de diamantes minerados no armazenamento
+    public static final String STAT_DIAMONDS_MINED = "diamonds_mined";
+
+    private final UUID uuid;
+    private final boolean firstJoin;
+
+    private String name;
+    private long firstJoinTime;
+    private long lastOnline;
+    private int level;
+    private float exp;
+
+    // Última localização conhecida (mantida em campos primitivos)
+    private String lastWorld;
+    private double lastX;
+    private double lastY;
+    private double lastZ;
+    private float lastYaw;
+    private float lastPitch;
+
+    // Estatísticas por nome (ex: diamonds_mined)
+    private final Map<String, Long> stats;
+
+    // Efeitos especiais
+    private boolean criticalHit;
+
+    // Dados definidos pelo jogador com /advanced set
+    private final Map<String, String> data;
+
+    // Chaves de data indexadas para o autocompletar
+    private final PrefixIndex dataKeyIndex;
+
+    // Indica se o perfil foi alterado desde o último salvamento
+    private boolean dirty;
+
+    // Diário que recebe as alterações (null enquanto o perfil é carregado ou reaplicado)
+    private MutationJournal journal;
+
+    // Dados próprios do armazenamento que carregou o perfil (ex: documento YAML original)
+    private Object storeState;
+
+    public PlayerProfile(UUID uuid, boolean firstJoin) {
+        this.uuid = uuid;
+        this.firstJoin = firstJoin;
+        this.stats = new LinkedHashMap<>();
+        this.data = new LinkedHashMap<>();
+        this.dataKeyIndex = new PrefixIndex();
+    }
+
+    /**
+     * Obtém o UUID do jogador
+     * @return UUID do jogador
+     */
+    public UUID getUniqueId() {
+        return uuid;
+    }
+
+    /**
+     * Verifica se o perfil foi criado agora (jogador sem dados salvos)
+     * @return true se for o primeiro acesso do jogador
+     */
+    public boolean isFirstJoin() {
+        return firstJoin;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+        dirty = true;
+
+        if (journal != null) {
+            journal.logName(uuid, name);
+        }
+    }
+
+    public long getFirstJoinTime() {
+        return firstJoinTime;
+    }
+
+    public void setFirstJoinTime(long firstJoinTime) {
+        this.firstJoinTime = firstJoinTime;
+        dirty = true;
+
+        if (journal != null) {
+            journal.logFirstJoin(uuid, firstJoinTime);
+        }
+    }
+
+    public long getLastOnline() {
+        return lastOnline;
+    }
+
+    public void setLastOnline(long lastOnline) {
+        this.lastOnline = lastOnline;
+        dirty = true;
+
+        if (journal != null) {
+            journal.logLastOnline(uuid, lastOnline);
+        }
+    }
+
+    public int getLevel() {
+        return level;
+    }
+
+    public void setLevel(int level) {
+        this.level = level;
+        dirty = true;
+
+        if (journal != null) {
+            journal.logLevel(uuid, level);
+        }
+    }
+
+    public float getExp() {
+        return exp;
+    }
+
+    public void setExp(float exp) {
+        this.exp = exp;
+        dirty = true;
+
+        if (journal != null) {
+            journal.logExp(uuid, exp);
+        }
+    }
+
+    /**
+     * Verifica se existe uma última localização salva
+     * @return true se a última localização é conhecida
+     */
+    public boolean hasLastLocation() {
+        return lastWorld != null;
+    }
+
+    public String getLastWorld() {
+        return lastWorld;
+    }
+
+    public double getLastX() {
+        return lastX;
+    }
+
+    public double getLastY() {
+        return lastY;
+    }
+
+    public double getLastZ() {
+        return lastZ;
+    }
+
+    public float getLastYaw() {
+        return lastYaw;
+    }
+
+    public float getLastPitch() {
+        return lastPitch;
+    }
+
+    /**
+     * Define a última localização conhecida copiando as coordenadas
+     * @param world Nome do mundo
+     * @param x Coordenada X
+     * @param y Coordenada Y
+     * @param z Coordenada Z
+     * @param yaw Rotação horizontal
+     * @param pitch Rotação vertical
+     */
+    public void setLastLocation(String world, double x, double y, double z, float yaw, float pitch) {
+        this.lastWorld = world;
+        this.lastX = x;
+        this.lastY = y;
+        this.lastZ = z;
+        this.lastYaw = yaw;
+        this.lastPitch = pitch;
+        dirty = true;
+
+        if (journal != null) {
+            journal.logLocation(uuid, world, x, y, z, yaw, pitch);
+        }
+    }
+
+    /**
+     * Define a última localização conhecida a partir de uma Location
+     * @param location Localização do jogador
+     */
+    public void setLastLocation(Location location) {
+        setLastLocation(location.getWorld().getName(), location.getX(), location.getY(), location.getZ(),
+            location.getYaw(), location.getPitch());
+    }
+
+    /**
+     * Obtém o valor de uma estatística
+     * @param stat Nome da estatística
+     * @return Valor da estatística ou 0 se não existir
+     */
+    public long getStat(String stat) {
+        Long value = stats.get(stat);
+        return value != null ? value : 0L;
+    }
+
+    /**
+     * Define o valor de uma estatística
+     * @param stat Nome da estatística
+     * @param value Novo valor
+     */
+    public void setStat(String stat, long value) {
+        stats.put(stat, value);
+        dirty = true;
+
+        if (journal != null) {
+            journal.logStat(uuid, stat, value);
+        }
+    }
+
+    /**
+     * Soma um valor a uma estatística
+     * @param stat Nome da estatística
+     * @param delta Valor a ser somado
+     * @return Novo valor da estatística
+     */
+    public long addStat(String stat, long delta) {
+        long value = getStat(stat) + delta;
+        stats.put(stat, value);
+        dirty = true;
+
+        // O valor final é registrado para que reaplicar o diário não some duas vezes
+        if (journal != null) {
+            journal.logStat(uuid, stat, value);
+        }
+
+        return value;
+    }
+
+    /**
+     * Obtém todas as estatísticas do jogador
+     * @return Mapa (somente leitura) de estatísticas
+     */
+    public Map<String, Long> getStats() {
+        return Collections.unmodifiableMap(stats);
+    }
+
+    public boolean hasCriticalHit() {
+        return criticalHit;
+    }
+
+    public void setCriticalHit(boolean criticalHit) {
+        this.criticalHit = criticalHit;
+        dirty = true;
+
+        if (journal != null) {
+            journal.logCriticalHit(uuid, criticalHit);
+        }
+    }
+
+    /**
+     * Obtém um valor definido pelo jogador
+     * @param key Chave do valor
+     * @return Valor armazenado ou null se não existir
+     */
+    public String getData(String key) {
+        return data.get(key);
+    }
+
+    /**
+     * Define um valor para uma chave do jogador
+     * @param key Chave do valor
+     * @param value Valor a ser armazenado
+     */
+    public void setData(String key, String value) {
+        if (data.put(key, value) == null) {
+            dataKeyIndex.add(key);
+        }
+
+        dirty = true;
+
+        if (journal != null) {
+            journal.logData(uuid, key, value);
+        }
+    }
+
+    /**
+     * Obtém todas as chaves definidas pelo jogador
+     * @return Conjunto (somente leitura) de chaves
+     */
+    public Set<String> getDataKeys() {
+        return Collections.unmodifiableSet(data.keySet());
+    }
+
+    /**
+     * Obtém o índice das chaves definidas pelo jogador, usado no autocompletar
+     * @return Índice de chaves (não deve ser alterado)
+     */
+    public PrefixIndex getDataKeyIndex() {
+        return dataKeyIndex;
+    }
+
+    /**
+     * Obtém todos os valores definidos pelo jogador
+     * @return Mapa (somente leitura) de chaves e valores
+     */
+    public Map<String, String> getDataMap() {
+        return Collections.unmodifiableMap(data);
+    }
+
+    /**
+     * Associa o diário que passa a receber as alterações do perfil
+     * @param journal Diário de alterações (null para parar de registrar)
+     */
+    public void setJournal(MutationJournal journal) {
+        this.journal = journal;
+    }
+
+    /**
+     * Obtém os dados que o armazenamento associou ao perfil ao carregá-lo
+     * Usado apenas pela implementação de PlayerStore que criou o perfil
+     * @return Dados do armazenamento ou null
+     */
+    public Object getStoreState() {
+        return storeState;
+    }
+
+    /**
+     * Associa dados do armazenamento ao perfil; eles são descartados junto com o perfil
+     * @param storeState Dados do armazenamento
+     */
+    public void setStoreState(Object storeState) {
+        this.storeState = storeState;
+    }
+
+    /**
+     * Verifica se o perfil tem alterações não salvas
+     * @return true se houver alterações pendentes
+     */
+    public boolean isDirty() {
+        return dirty;
+    }
+
+    /**
+     * Marca o perfil como salvo
+     */
+    public void clearDirty() {
+        dirty = false;
+    }
+}
@@ -0,0 +1,255 @@
+package com.example.minecraft.player;
+
+import org.bukkit.entity.Player;
+
+import com.example.minecraft.ExamplePlugin;
+import com.example.minecraft.metrics.LatencyHistogram;
+import com.example.minecraft.storage.PlayerStore;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Cache dos perfis dos jogadores online, indexado por UUID
+ * Os perfis são pré-carregados durante o login (fora da thread principal),
+ * anexados na entrada, removidos na saída e salvos periodicamente
+ * apenas quando foram alterados
+ */
+public class ProfileManager {
+
+    // Folga além do tempo limite do pré-carregamento antes de um perfil não anexado ser descartado
+    private static final long STALE_PREFETCH_MARGIN_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+    private final ExamplePlugin plugin;
+    private final PlayerStore store;
+    private final Map<UUID, PlayerProfile> profiles;
+
+    // Perfis sendo carregados durante o login, aguardando a entrada do jogador
+    private final Map<UUID, PendingProfile> prefetched;
+
+    // Ordena o início de um pré-carregamento em relação à gravação de saída do mesmo jogador
+    private final Object unloadLock;
+
+    private final ExecutorService loaderExecutor;
+
+    // Tempo entre o início do login e o perfil pronto para uso
+    private final LatencyHistogram joinReadyLatency;
+
+    public ProfileManager(ExamplePlugin plugin, PlayerStore store) {
+        this.plugin = plugin;
+        this.store = store;
+        this.profiles = new ConcurrentHashMap<>();
+        this.prefetched = new ConcurrentHashMap<>();
+        this.unloadLock = new Object();
+        this.joinReadyLatency = plugin.getMetrics().histogram("player_join_ready");
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.loaderExecutor = Executors.newFixedThreadPool(2, runnable -> {
+            Thread thread = new Thread(runnable, plugin.getName() + "-Loader-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Inicia o carregamento do perfil durante o login
+     * Chamado na thread de login; aguarda no máximo o tempo limite informado
+     * @param uuid UUID do jogador
+     * @param timeoutMillis Tempo máximo de espera em milissegundos
+     */
+    public void prefetch(UUID uuid, long timeoutMillis) {
+        long startNanos = System.nanoTime();
+        CompletableFuture<PlayerProfile> future;
+
+        discardStalePrefetches(startNanos - TimeUnit.MILLISECONDS.toNanos(timeoutMillis) - STALE_PREFETCH_MARGIN_NANOS);
+
+        // Verificação e registro atômicos em relação ao unload() da sessão anterior
+        synchronized (unloadLock) {
+            // Se o jogador ainda está online (login duplicado), carregar na entrada após a saída da sessão antiga
+            if (profiles.containsKey(uuid)) {
+                return;
+            }
+
+            future = CompletableFuture.supplyAsync(() -> store.load(uuid), loaderExecutor);
+            prefetched.put(uuid, new PendingProfile(future, startNanos));
+        }
+
+        try {
+            future.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            plugin.getLogger().warning("Tempo esgotado carregando os dados de " + uuid + ", o carregamento continuará na entrada.");
+        } catch (ExecutionException e) {
+            plugin.getLogger().severe("Falha ao carregar os dados de " + uuid + ": " + e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Descarta um perfil pré-carregado (ex: login negado depois do pré-carregamento)
+     * @param uuid UUID do jogador
+     */
+    public void discardPrefetch(UUID uuid) {
+        PendingProfile pending = prefetched.remove(uuid);
+
+        if (pending != null) {
+            pending.future.cancel(false);
+        }
+    }
+
+    /**
+     * Descarta os perfis pré-carregados de logins que nunca chegaram à entrada
+     * (ex: cliente desconectado entre o pré-login e a entrada, sem evento de saída)
+     * @param oldestNanos Início mais antigo (System.nanoTime) ainda mantido
+     */
+    private void discardStalePrefetches(long oldestNanos) {
+        prefetched.entrySet().removeIf(entry -> {
+            PendingProfile pending = entry.getValue();
+
+            if (pending.startNanos - oldestNanos >= 0) {
+                return false;
+            }
+
+            pending.future.cancel(false);
+            return true;
+        });
+    }
+
+    /**
+     * Anexa o perfil pré-carregado ao jogador que entrou
+     * Se o pré-carregamento não terminou ou falhou, o perfil é carregado aqui mesmo
+     * @param player Jogador que entrou
+     * @return Perfil do jogador
+     */
+    public PlayerProfile attach(Player player) {
+        long startNanos = System.nanoTime();
+        PendingProfile pending = prefetched.remove(player.getUniqueId());
+        PlayerProfile profile = null;
+
+        if (pending != null && pending.future.isDone() && !pending.future.isCompletedExceptionally()) {
+            profile = pending.future.join();
+        } else if (pending != null) {
+            pending.future.cancel(false);
+        }
+
+        if (profile == null) {
+            // Carregamento síncrono de contingência
+            profile = store.load(player.getUniqueId());
+        }
+
+        profile.setJournal(plugin.getJournal());
+        profiles.put(player.getUniqueId(), profile);
+
+        joinReadyLatency.record(System.nanoTime() - (pending != null ? pending.startNanos : startNanos));
+
+        return profile;
+    }
+
+    /**
+     * Carrega de forma síncrona o perfil de um jogador já online (ex: após um /reload)
+     * @param player Jogador online
+     * @return Perfil do jogador
+     */
+    public PlayerProfile load(Player player) {
+        PlayerProfile profile = store.load(player.getUniqueId());
+        profile.setJournal(plugin.getJournal());
+        profiles.put(player.getUniqueId(), profile);
+        return profile;
+    }
+
+    /**
+     * Obtém o perfil em cache de um jogador
+     * @param uuid UUID do jogador
+     * @return Perfil do jogador ou null se não estiver carregado
+     */
+    public PlayerProfile get(UUID uuid) {
+        return profiles.get(uuid);
+    }
+
+    /**
+     * Obtém o perfil em cache de um jogador
+     * @param player Jogador
+     * @return Perfil do jogador ou null se não estiver carregado
+     */
+    public PlayerProfile get(Player player) {
+        return profiles.get(player.getUniqueId());
+    }
+
+    /**
+     * Salva e remove do cache o perfil de um jogador
+     * @param uuid UUID do jogador
+     */
+    public void unload(UUID uuid) {
+        PlayerProfile profile = profiles.get(uuid);
+
+        if (profile == null) {
+            return;
+        }
+
+        // Gravar antes de remover do cache: enquanto o perfil está no cache, um novo login não
+        // pré-carrega, e depois da remoção a leitura já encontra a gravação pendente
+        synchronized (unloadLock) {
+            store.unload(profile);
+            profiles.remove(uuid);
+        }
+    }
+
+    /**
+     * Envia para o armazenamento os perfis alterados desde o último salvamento
+     * Deve ser chamado na thread principal
+     */
+    public void saveDirty() {
+        for (PlayerProfile profile : profiles.values()) {
+            if (profile.isDirty()) {
+                store.save(profile);
+            }
+        }
+    }
+
+    /**
+     * Salva todos os perfis, limpa o cache e encerra o carregamento assíncrono
+     * (usado ao desativar o plugin)
+     */
+    public void unloadAll() {
+        loaderExecutor.shutdownNow();
+        prefetched.clear();
+
+        for (PlayerProfile profile : profiles.values()) {
+            store.unload(profile);
+        }
+
+        profiles.clear();
+    }
+
+    /**
+     * Obtém todos os perfis em cache
+     * @return Coleção (somente leitura) de perfis
+     */
+    public Collection<PlayerProfile> getProfiles() {
+        return Collections.unmodifiableCollection(profiles.values());
+    }
+
+    /**
+     * Carregamento iniciado no login e ainda não anexado a um jogador
+     */
+    private static final class PendingProfile {
+
+        private final CompletableFuture<PlayerProfile> future;
+        private final long startNanos;
+
+        private PendingProfile(CompletableFuture<PlayerProfile> future, long startNanos) {
+            this.future = future;
+            this.startNanos = startNanos;
+        }
+    }
+}
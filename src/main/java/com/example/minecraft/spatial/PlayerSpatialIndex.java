@@ -0,0 +1,190 @@
+package com.example.minecraft.spatial;
+
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerMoveEvent;
+import org.bukkit.event.player.PlayerRespawnEvent;
+import org.bukkit.event.player.PlayerTeleportEvent;
+
+import com.example.minecraft.ExamplePlugin;
+import com.example.minecraft.player.PlayerIndexRegistry;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Posições dos jogadores online em um SpatialIndex, para consultas do tipo "quem está perto de X"
+ * sem percorrer getOnlinePlayers()
+ * As posições são atualizadas pelos eventos de movimento e teleporte; movimentos menores que
+ * spatial.move-threshold dentro do mesmo chunk são ignorados, então as posições consultadas
+ * podem estar atrasadas em até essa distância
+ * Deve ser usado apenas na thread principal
+ */
+public class PlayerSpatialIndex implements Listener {
+
+    private final ExamplePlugin plugin;
+    private final PlayerIndexRegistry players;
+    private final SpatialIndex<Player> index;
+
+    private double moveThresholdSquared;
+
+    public PlayerSpatialIndex(ExamplePlugin plugin, PlayerIndexRegistry players) {
+        this.plugin = plugin;
+        this.players = players;
+        this.index = new SpatialIndex<>();
+
+        players.addReleaseListener(index::remove);
+        reload();
+
+        // Jogadores já online (ex: após um /reload)
+        for (Player player : plugin.getServer().getOnlinePlayers()) {
+            update(player, player.getLocation());
+        }
+
+        plugin.getProfiler().registerEvents(this);
+    }
+
+    /**
+     * Lê a distância mínima de movimento da seção spatial
+     */
+    public void reload() {
+        double threshold = Math.max(0.0, plugin.getSettings().getDouble("spatial.move-threshold", 1.0));
+        moveThresholdSquared = threshold * threshold;
+    }
+
+    /**
+     * Atualiza a posição de um jogador
+     * @param player Jogador
+     * @param location Nova posição
+     */
+    public void update(Player player, Location location) {
+        int id = players.indexOf(player);
+
+        if (id < 0 || location == null || location.getWorld() == null) {
+            return;
+        }
+
+        index.put(id, player, location.getWorld(), location.getX(), location.getY(), location.getZ());
+    }
+
+    /**
+     * Executa uma ação para cada jogador dentro de um raio
+     * @param center Centro da consulta
+     * @param radius Raio em blocos
+     * @param action Ação executada para cada jogador encontrado
+     * @return Quantidade de jogadores encontrados
+     */
+    public int forEachNearby(Location center, double radius, Consumer<? super Player> action) {
+        return index.forEachInRadius(center.getWorld(), center.getX(), center.getY(), center.getZ(), radius, action);
+    }
+
+    /**
+     * Adiciona a uma coleção os jogadores dentro de um raio
+     * Reutilize a coleção entre as consultas para não criar uma nova a cada uso
+     * @param world Mundo da consulta
+     * @param x Coordenada X do centro
+     * @param y Coordenada Y do centro
+     * @param z Coordenada Z do centro
+     * @param radius Raio em blocos
+     * @param out Coleção que recebe os jogadores encontrados
+     * @return Quantidade de jogadores encontrados
+     */
+    public int collectNearby(World world, double x, double y, double z, double radius, Collection<? super Player> out) {
+        return index.collectInRadius(world, x, y, z, radius, out);
+    }
+
+    /**
+     * Obtém os jogadores dentro de um raio
+     * @param center Centro da consulta
+     * @param radius Raio em blocos
+     * @return Nova lista com os jogadores encontrados
+     */
+    public List<Player> getNearby(Location center, double radius) {
+        List<Player> nearby = new ArrayList<>();
+        forEachNearby(center, radius, nearby::add);
+        return nearby;
+    }
+
+    /**
+     * Executa uma ação para cada jogador dentro de uma caixa (limites inclusivos)
+     * @param world Mundo da consulta
+     * @param minX Menor coordenada X
+     * @param minY Menor coordenada Y
+     * @param minZ Menor coordenada Z
+     * @param maxX Maior coordenada X
+     * @param maxY Maior coordenada Y
+     * @param maxZ Maior coordenada Z
+     * @param action Ação executada para cada jogador encontrado
+     * @return Quantidade de jogadores encontrados
+     */
+    public int forEachInBox(World world, double minX, double minY, double minZ,
+                            double maxX, double maxY, double maxZ, Consumer<? super Player> action) {
+        return index.forEachInBox(world, minX, minY, minZ, maxX, maxY, maxZ, action);
+    }
+
+    /**
+     * Adiciona o jogador depois que o índice dele foi atribuído
+     * @param event Evento de entrada do jogador
+     */
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerJoin(PlayerJoinEvent event) {
+        update(event.getPlayer(), event.getPlayer().getLocation());
+    }
+
+    /**
+     * Atualiza a posição quando o jogador sai do chunk ou se afasta mais que o limite
+     * @param event Evento de movimento do jogador
+     */
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onPlayerMove(PlayerMoveEvent event) {
+        Location to = event.getTo();
+
+        if (to == null) {
+            return;
+        }
+
+        int id = players.indexOf(event.getPlayer());
+
+        if (id < 0) {
+            return;
+        }
+
+        if (index.getWorld(id) == to.getWorld()
+                && index.getChunkKey(id) == SpatialIndex.chunkKey(SpatialIndex.toChunk(to.getX()), SpatialIndex.toChunk(to.getZ()))) {
+            double dx = to.getX() - index.getX(id);
+            double dy = to.getY() - index.getY(id);
+            double dz = to.getZ() - index.getZ(id);
+
+            if (dx * dx + dy * dy + dz * dz < moveThresholdSquared) {
+                return;
+            }
+        }
+
+        update(event.getPlayer(), to);
+    }
+
+    /**
+     * Atualiza a posição após teleportes (inclusive por portais e entre mundos)
+     * @param event Evento de teleporte do jogador
+     */
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onPlayerTeleport(PlayerTeleportEvent event) {
+        update(event.getPlayer(), event.getTo());
+    }
+
+    /**
+     * Atualiza a posição ao renascer
+     * @param event Evento de renascimento do jogador
+     */
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerRespawn(PlayerRespawnEvent event) {
+        update(event.getPlayer(), event.getRespawnLocation());
+    }
+}
@@ -0,0 +1,467 @@
+package com.example.minecraft.spatial;
+
+import org.bukkit.World;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Índice espacial de pontos agrupados por chunk
+ * Cada ponto é identificado por um número pequeno (ex: o índice do jogador no PlayerIndexRegistry)
+ * e guarda as coordenadas em arrays primitivos; os pontos de cada chunk formam uma lista
+ * encadeada cujo início fica em uma tabela de chaves long de chunk por mundo, então as
+ * consultas por raio ou por área visitam apenas os chunks cobertos
+ * Deve ser usado apenas na thread principal
+ * @param <T> Tipo do valor associado a cada ponto
+ */
+public class SpatialIndex<T> {
+
+    private static final int NONE = -1;
+
+    // Dados de cada ponto, indexados pelo id
+    private Object[] values;
+    private World[] worlds;
+    private double[] xs;
+    private double[] ys;
+    private double[] zs;
+    private long[] chunkKeys;
+
+    // Vizinhos do ponto na lista do seu chunk
+    private int[] next;
+    private int[] previous;
+
+    private final Map<World, ChunkTable> tables;
+    private int size;
+
+    public SpatialIndex() {
+        this.values = new Object[16];
+        this.worlds = new World[16];
+        this.xs = new double[16];
+        this.ys = new double[16];
+        this.zs = new double[16];
+        this.chunkKeys = new long[16];
+        this.next = new int[16];
+        this.previous = new int[16];
+        this.tables = new IdentityHashMap<>();
+    }
+
+    /**
+     * Calcula a chave de um chunk (mesmo formato do Chunk.getChunkKey() do Paper)
+     * @param chunkX Coordenada X do chunk
+     * @param chunkZ Coordenada Z do chunk
+     * @return Chave do chunk
+     */
+    public static long chunkKey(int chunkX, int chunkZ) {
+        return (chunkX & 0xFFFFFFFFL) | ((chunkZ & 0xFFFFFFFFL) << 32);
+    }
+
+    /**
+     * Calcula a coordenada do chunk que contém uma coordenada de bloco
+     * @param coordinate Coordenada X ou Z
+     * @return Coordenada do chunk
+     */
+    public static int toChunk(double coordinate) {
+        return (int) Math.floor(coordinate) >> 4;
+    }
+
+    /**
+     * Adiciona um ponto ou move um ponto já existente
+     * @param id Identificador do ponto (não negativo)
+     * @param value Valor associado ao ponto
+     * @param world Mundo do ponto
+     * @param x Coordenada X
+     * @param y Coordenada Y
+     * @param z Coordenada Z
+     */
+    public void put(int id, T value, World world, double x, double y, double z) {
+        ensureCapacity(id);
+
+        long chunkKey = chunkKey(toChunk(x), toChunk(z));
+        boolean relink = worlds[id] != world || chunkKeys[id] != chunkKey;
+
+        if (worlds[id] == null) {
+            size++;
+        } else if (relink) {
+            unlink(id);
+        }
+
+        values[id] = value;
+        worlds[id] = world;
+        xs[id] = x;
+        ys[id] = y;
+        zs[id] = z;
+        chunkKeys[id] = chunkKey;
+
+        if (relink) {
+            link(id);
+        }
+    }
+
+    /**
+     * Remove um ponto
+     * @param id Identificador do ponto
+     * @return true se o ponto existia
+     */
+    public boolean remove(int id) {
+        if (!contains(id)) {
+            return false;
+        }
+
+        unlink(id);
+        values[id] = null;
+        worlds[id] = null;
+        size--;
+        return true;
+    }
+
+    /**
+     * Verifica se um ponto está no índice
+     * @param id Identificador do ponto
+     * @return true se estiver
+     */
+    public boolean contains(int id) {
+        return id >= 0 && id < worlds.length && worlds[id] != null;
+    }
+
+    /**
+     * Obtém a quantidade de pontos no índice
+     * @return Quantidade de pontos
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Obtém o valor de um ponto
+     * @param id Identificador do ponto
+     * @return Valor ou null se o ponto não existir
+     */
+    @SuppressWarnings("unchecked")
+    public T get(int id) {
+        return contains(id) ? (T) values[id] : null;
+    }
+
+    /**
+     * Obtém o mundo de um ponto
+     * @param id Identificador do ponto
+     * @return Mundo ou null se o ponto não existir
+     */
+    public World getWorld(int id) {
+        return contains(id) ? worlds[id] : null;
+    }
+
+    public double getX(int id) {
+        return xs[id];
+    }
+
+    public double getY(int id) {
+        return ys[id];
+    }
+
+    public double getZ(int id) {
+        return zs[id];
+    }
+
+    /**
+     * Obtém a chave do chunk de um ponto
+     * @param id Identificador do ponto
+     * @return Chave do chunk (só é válida se o ponto existir)
+     */
+    public long getChunkKey(int id) {
+        return chunkKeys[id];
+    }
+
+    /**
+     * Executa uma ação para cada ponto dentro de uma esfera
+     * @param world Mundo da consulta
+     * @param x Coordenada X do centro
+     * @param y Coordenada Y do centro
+     * @param z Coordenada Z do centro
+     * @param radius Raio da esfera
+     * @param action Ação executada para cada valor encontrado
+     * @return Quantidade de pontos encontrados
+     */
+    public int forEachInRadius(World world, double x, double y, double z, double radius, Consumer<? super T> action) {
+        return visit(world, x - radius, y - radius, z - radius, x + radius, y + radius, z + radius,
+            x, y, z, radius * radius, action);
+    }
+
+    /**
+     * Executa uma ação para cada ponto dentro de uma caixa (limites inclusivos)
+     * @param world Mundo da consulta
+     * @param minX Menor coordenada X
+     * @param minY Menor coordenada Y
+     * @param minZ Menor coordenada Z
+     * @param maxX Maior coordenada X
+     * @param maxY Maior coordenada Y
+     * @param maxZ Maior coordenada Z
+     * @param action Ação executada para cada valor encontrado
+     * @return Quantidade de pontos encontrados
+     */
+    public int forEachInBox(World world, double minX, double minY, double minZ,
+                            double maxX, double maxY, double maxZ, Consumer<? super T> action) {
+        return visit(world, minX, minY, minZ, maxX, maxY, maxZ, 0.0, 0.0, 0.0, -1.0, action);
+    }
+
+    /**
+     * Adiciona a uma coleção os pontos dentro de uma esfera
+     * Reutilize a coleção entre as consultas para não criar uma nova a cada uso
+     * @param world Mundo da consulta
+     * @param x Coordenada X do centro
+     * @param y Coordenada Y do centro
+     * @param z Coordenada Z do centro
+     * @param radius Raio da esfera
+     * @param out Coleção que recebe os valores encontrados
+     * @return Quantidade de pontos encontrados
+     */
+    public int collectInRadius(World world, double x, double y, double z, double radius, Collection<? super T> out) {
+        return forEachInRadius(world, x, y, z, radius, out::add);
+    }
+
+    /**
+     * Visita os pontos dentro da caixa e, se radiusSquared não for negativo, dentro da esfera
+     */
+    private int visit(World world, double minX, double minY, double minZ, double maxX, double maxY, double maxZ,
+                      double centerX, double centerY, double centerZ, double radiusSquared, Consumer<? super T> action) {
+        ChunkTable table = tables.get(world);
+
+        if (table == null || minX > maxX || minY > maxY || minZ > maxZ) {
+            return 0;
+        }
+
+        int minChunkX = toChunk(minX);
+        int minChunkZ = toChunk(minZ);
+        int maxChunkX = toChunk(maxX);
+        int maxChunkZ = toChunk(maxZ);
+        long chunkCount = ((long) maxChunkX - minChunkX + 1) * ((long) maxChunkZ - minChunkZ + 1);
+        int found = 0;
+
+        // Áreas com mais chunks do que posições na tabela: percorrer a tabela é mais barato
+        if (chunkCount > table.heads.length) {
+            for (int slot = 0; slot < table.heads.length; slot++) {
+                int head = table.heads[slot];
+
+                if (head == NONE) {
+                    continue;
+                }
+
+                int chunkX = (int) table.keys[slot];
+                int chunkZ = (int) (table.keys[slot] >>> 32);
+
+                if (chunkX >= minChunkX && chunkX <= maxChunkX && chunkZ >= minChunkZ && chunkZ <= maxChunkZ) {
+                    found += visitChunk(head, minX, minY, minZ, maxX, maxY, maxZ,
+                        centerX, centerY, centerZ, radiusSquared, action);
+                }
+            }
+
+            return found;
+        }
+
+        for (int chunkX = minChunkX; chunkX <= maxChunkX; chunkX++) {
+            for (int chunkZ = minChunkZ; chunkZ <= maxChunkZ; chunkZ++) {
+                int head = table.get(chunkKey(chunkX, chunkZ));
+
+                if (head != NONE) {
+                    found += visitChunk(head, minX, minY, minZ, maxX, maxY, maxZ,
+                        centerX, centerY, centerZ, radiusSquared, action);
+                }
+            }
+        }
+
+        return found;
+    }
+
+    @SuppressWarnings("unchecked")
+    private int visitChunk(int head, double minX, double minY, double minZ, double maxX, double maxY, double maxZ,
+                           double centerX, double centerY, double centerZ, double radiusSquared, Consumer<? super T> action) {
+        int found = 0;
+
+        for (int id = head; id != NONE; id = next[id]) {
+            double x = xs[id];
+            double y = ys[id];
+            double z = zs[id];
+
+            if (x < minX || x > maxX || y < minY || y > maxY || z < minZ || z > maxZ) {
+                continue;
+            }
+
+            if (radiusSquared >= 0.0) {
+                double dx = x - centerX;
+                double dy = y - centerY;
+                double dz = z - centerZ;
+
+                if (dx * dx + dy * dy + dz * dz > radiusSquared) {
+                    continue;
+                }
+            }
+
+            action.accept((T) values[id]);
+            found++;
+        }
+
+        return found;
+    }
+
+    /**
+     * Coloca o ponto no início da lista do seu chunk
+     */
+    private void link(int id) {
+        ChunkTable table = tables.computeIfAbsent(worlds[id], world -> new ChunkTable());
+        int head = table.get(chunkKeys[id]);
+
+        next[id] = head;
+        previous[id] = NONE;
+
+        if (head != NONE) {
+            previous[head] = id;
+        }
+
+        table.put(chunkKeys[id], id);
+    }
+
+    /**
+     * Retira o ponto da lista do seu chunk
+     */
+    private void unlink(int id) {
+        ChunkTable table = tables.get(worlds[id]);
+
+        if (previous[id] != NONE) {
+            next[previous[id]] = next[id];
+        } else {
+            table.put(chunkKeys[id], next[id]);
+        }
+
+        if (next[id] != NONE) {
+            previous[next[id]] = previous[id];
+        }
+
+        // Não manter referências a mundos sem pontos (ex: mundos descarregados)
+        if (table.size == 0) {
+            tables.remove(worlds[id]);
+        }
+    }
+
+    private void ensureCapacity(int id) {
+        if (id < worlds.length) {
+            return;
+        }
+
+        int capacity = Math.max(id + 1, worlds.length * 2);
+        values = Arrays.copyOf(values, capacity);
+        worlds = Arrays.copyOf(worlds, capacity);
+        xs = Arrays.copyOf(xs, capacity);
+        ys = Arrays.copyOf(ys, capacity);
+        zs = Arrays.copyOf(zs, capacity);
+        chunkKeys = Arrays.copyOf(chunkKeys, capacity);
+        next = Arrays.copyOf(next, capacity);
+        previous = Arrays.copyOf(previous, capacity);
+    }
+
+    /**
+     * Tabela de endereçamento aberto da chave do chunk para o primeiro ponto do chunk
+     */
+    private static final class ChunkTable {
+
+        private long[] keys;
+        private int[] heads;
+        private int mask;
+        private int size;
+
+        private ChunkTable() {
+            this.keys = new long[16];
+            this.heads = new int[16];
+            this.mask = 15;
+            Arrays.fill(heads, NONE);
+        }
+
+        private int slot(long key) {
+            long hash = key * 0x9E3779B97F4A7C15L;
+            return (int) (hash ^ (hash >>> 32)) & mask;
+        }
+
+        private int get(long key) {
+            for (int slot = slot(key); heads[slot] != NONE; slot = (slot + 1) & mask) {
+                if (keys[slot] == key) {
+                    return heads[slot];
+                }
+            }
+
+            return NONE;
+        }
+
+        /**
+         * Define o primeiro ponto de um chunk (NONE remove o chunk)
+         */
+        private void put(long key, int head) {
+            int slot = slot(key);
+
+            while (heads[slot] != NONE) {
+                if (keys[slot] == key) {
+                    if (head == NONE) {
+                        delete(slot);
+                    } else {
+                        heads[slot] = head;
+                    }
+                    return;
+                }
+
+                slot = (slot + 1) & mask;
+            }
+
+            if (head == NONE) {
+                return;
+            }
+
+            keys[slot] = key;
+            heads[slot] = head;
+            size++;
+
+            if (size * 2 > heads.length) {
+                resize(heads.length * 2);
+            }
+        }
+
+        /**
+         * Remove uma posição trazendo para trás as chaves seguintes que colidiram
+         */
+        private void delete(int slot) {
+            int gap = slot;
+            int current = (gap + 1) & mask;
+
+            while (heads[current] != NONE) {
+                int ideal = slot(keys[current]);
+
+                if (((current - ideal) & mask) >= ((current - gap) & mask)) {
+                    keys[gap] = keys[current];
+                    heads[gap] = heads[current];
+                    gap = current;
+                }
+
+                current = (current + 1) & mask;
+            }
+
+            heads[gap] = NONE;
+            size--;
+        }
+
+        private void resize(int capacity) {
+            long[] oldKeys = keys;
+            int[] oldHeads = heads;
+
+            keys = new long[capacity];
+            heads = new int[capacity];
+            mask = capacity - 1;
+            size = 0;
+            Arrays.fill(heads, NONE);
+
+            for (int slot = 0; slot < oldHeads.length; slot++) {
+                if (oldHeads[slot] != NONE) {
+                    put(oldKeys[slot], oldHeads[slot]);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,535 @@
+package com.example.minecraft.stats;
+
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.AsyncPlayerChatEvent;
+import org.bukkit.event.player.PlayerCommandPreprocessEvent;
+import org.bukkit.event.player.PlayerInteractEvent;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerMoveEvent;
+import org.bukkit.scheduler.BukkitTask;
+
+import com.example.minecraft.ExamplePlugin;
+import com.example.minecraft.config.PluginSettings;
+import com.example.minecraft.metrics.LatencyHistogram;
+import com.example.minecraft.player.PlayerIndexRegistry;
+import com.example.minecraft.player.PlayerProfile;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.temporal.IsoFields;
+import java.util.Arrays;
+import java.util.UUID;
+
+/**
+ * Sessões e tempo de jogo dos jogadores
+ * Cada entrada abre uma sessão e cada saída a fecha; a atividade (movimento, interação,
+ * comandos e chat) é registrada em arrays primitivos indexados pelo índice do jogador, com as
+ * últimas amostras guardadas em um buffer circular de tempos por jogador
+ * Uma tarefa periódica soma o tempo decorrido e marca como ausentes (AFK) os jogadores sem
+ * atividade; outra transfere os totais em lote para as estatísticas dos perfis, incluindo o
+ * tempo de jogo da semana (playtime_week_<ano>_<semana>), que é usado pelos rankings
+ * Deve ser usado apenas na thread principal
+ */
+public class SessionTracker implements Listener {
+
+    public static final String STAT_PLAYTIME = "playtime";
+    public static final String STAT_ACTIVE_TIME = "active_time";
+    public static final String STAT_AFK_TIME = "afk_time";
+    public static final String STAT_SESSIONS = "sessions";
+    public static final String STAT_LONGEST_SESSION = "longest_session";
+    public static final String WEEK_STAT_PREFIX = "playtime_week_";
+
+    private final ExamplePlugin plugin;
+    private final PlayerIndexRegistry players;
+
+    // Dono de cada índice com sessão aberta (null = sem sessão)
+    private UUID[] owners;
+
+    // Tempos em milissegundos, indexados pelo índice do jogador
+    private long[] sessionStart;
+    private long[] accountedUntil;
+    private long[] lastActivity;
+    private boolean[] afk;
+
+    // Tempo ainda não transferido para o perfil, em milissegundos
+    private long[] pendingPlaytime;
+    private long[] pendingActive;
+    private long[] pendingAfk;
+
+    // Últimas amostras de atividade em [índice * sampleCount + posição]
+    private long[] samples;
+
+    // Próxima posição a ser gravada e quantidade de posições preenchidas no buffer de cada jogador
+    private int[] samplePosition;
+    private int[] sampleFilled;
+
+    private int sampleCount;
+    private long sampleIntervalMillis;
+    private long afkTimeoutMillis;
+
+    // Estatística da semana atual, recalculada quando o dia muda (weekStat é gravado antes do dia)
+    private volatile String weekStat;
+    private volatile long weekStatDay;
+
+    // Tempo gasto transferindo os totais para os perfis
+    private final LatencyHistogram flushTime;
+
+    private BukkitTask checkTask;
+    private BukkitTask flushTask;
+
+    public SessionTracker(ExamplePlugin plugin, PlayerIndexRegistry players) {
+        this.plugin = plugin;
+        this.players = players;
+        this.owners = new UUID[16];
+        this.sessionStart = new long[16];
+        this.accountedUntil = new long[16];
+        this.lastActivity = new long[16];
+        this.afk = new boolean[16];
+        this.pendingPlaytime = new long[16];
+        this.pendingActive = new long[16];
+        this.pendingAfk = new long[16];
+        this.samplePosition = new int[16];
+        this.sampleFilled = new int[16];
+        this.samples = new long[0];
+        this.flushTime = plugin.getMetrics().histogram("sessions_flush");
+
+        // Fechar a sessão de um índice liberado que não foi fechada na saída
+        players.addReleaseListener(index -> {
+            if (index < owners.length && owners[index] != null) {
+                close(index, System.currentTimeMillis());
+            }
+        });
+
+        plugin.getProfiler().registerEvents(this);
+    }
+
+    /**
+     * Lê a seção sessions do config.yml
+     * Se a quantidade de amostras mudar, as amostras já registradas são descartadas
+     */
+    public void reload() {
+        PluginSettings settings = plugin.getSettings();
+
+        afkTimeoutMillis = Math.max(1L, settings.getLong("sessions.afk-timeout", 300L)) * 1000L;
+        sampleIntervalMillis = Math.max(1L, settings.getLong("sessions.sample-interval", 60L)) * 1000L;
+
+        int count = Math.max(1, settings.getInt("sessions.samples", 60));
+
+        if (count != sampleCount) {
+            sampleCount = count;
+            samples = new long[owners.length * count];
+            Arrays.fill(samplePosition, 0);
+            Arrays.fill(sampleFilled, 0);
+        }
+    }
+
+    /**
+     * Abre as sessões dos jogadores já online e inicia as tarefas periódicas
+     * @param checkIntervalTicks Intervalo entre as verificações de ausência em ticks
+     * @param flushIntervalTicks Intervalo entre as transferências para os perfis em ticks
+     */
+    public void start(long checkIntervalTicks, long flushIntervalTicks) {
+        for (Player player : plugin.getServer().getOnlinePlayers()) {
+            open(player);
+        }
+
+        long check = Math.max(1L, checkIntervalTicks);
+        long flush = Math.max(1L, flushIntervalTicks);
+        checkTask = plugin.getServer().getScheduler().runTaskTimer(plugin, this::check, check, check);
+        flushTask = plugin.getServer().getScheduler().runTaskTimer(plugin, this::flush, flush, flush);
+    }
+
+    /**
+     * Para as tarefas e fecha todas as sessões abertas
+     */
+    public void shutdown() {
+        if (checkTask != null) {
+            checkTask.cancel();
+            checkTask = null;
+        }
+
+        if (flushTask != null) {
+            flushTask.cancel();
+            flushTask = null;
+        }
+
+        long now = System.currentTimeMillis();
+
+        for (int index = 0; index < owners.length; index++) {
+            if (owners[index] != null) {
+                close(index, now);
+            }
+        }
+    }
+
+    /**
+     * Abre a sessão de um jogador (ou mantém a já aberta)
+     * @param player Jogador
+     */
+    public void open(Player player) {
+        int index = players.indexOf(player);
+
+        if (index < 0) {
+            return;
+        }
+
+        if (index >= owners.length) {
+            grow(index + 1);
+        }
+
+        if (player.getUniqueId().equals(owners[index])) {
+            return;
+        }
+
+        long now = System.currentTimeMillis();
+
+        owners[index] = player.getUniqueId();
+        sessionStart[index] = now;
+        accountedUntil[index] = now;
+        lastActivity[index] = now;
+        afk[index] = false;
+        pendingPlaytime[index] = 0L;
+        pendingActive[index] = 0L;
+        pendingAfk[index] = 0L;
+        samplePosition[index] = 0;
+        sampleFilled[index] = 0;
+        record(index, now);
+    }
+
+    /**
+     * Fecha a sessão de um jogador e transfere os totais para o perfil (ex: antes de salvar na saída)
+     * @param player Jogador
+     */
+    public void close(Player player) {
+        int index = indexOf(player);
+
+        if (index >= 0) {
+            close(index, System.currentTimeMillis());
+        }
+    }
+
+    private void close(int index, long now) {
+        accrue(index, now);
+
+        PlayerProfile profile = plugin.getProfileManager().get(owners[index]);
+
+        if (profile != null) {
+            long sessionSeconds = (now - sessionStart[index]) / 1000L;
+
+            profile.addStat(STAT_SESSIONS, 1L);
+
+            if (sessionSeconds > profile.getStat(STAT_LONGEST_SESSION)) {
+                profile.setStat(STAT_LONGEST_SESSION, sessionSeconds);
+            }
+        }
+
+        flush(index, profile, true);
+        owners[index] = null;
+    }
+
+    /**
+     * Registra uma atividade do jogador, encerrando a ausência se ele estava AFK
+     * @param player Jogador
+     */
+    public void recordActivity(Player player) {
+        int index = indexOf(player);
+
+        if (index < 0) {
+            return;
+        }
+
+        long now = System.currentTimeMillis();
+
+        if (afk[index]) {
+            accrue(index, now);
+            afk[index] = false;
+        }
+
+        lastActivity[index] = now;
+
+        int last = (samplePosition[index] + sampleCount - 1) % sampleCount;
+
+        if (sampleFilled[index] == 0 || now - samples[index * sampleCount + last] >= sampleIntervalMillis) {
+            record(index, now);
+        }
+    }
+
+    /**
+     * Verifica se um jogador está ausente
+     * @param player Jogador
+     * @return true se o jogador está sem atividade há mais que sessions.afk-timeout
+     */
+    public boolean isAfk(Player player) {
+        int index = indexOf(player);
+        return index >= 0 && afk[index];
+    }
+
+    /**
+     * Obtém a duração da sessão atual
+     * @param player Jogador
+     * @return Duração em segundos ou 0 se o jogador não tiver sessão aberta
+     */
+    public long getSessionSeconds(Player player) {
+        int index = indexOf(player);
+        return index >= 0 ? (System.currentTimeMillis() - sessionStart[index]) / 1000L : 0L;
+    }
+
+    /**
+     * Obtém o tempo total de jogo, incluindo o que ainda não foi transferido para o perfil
+     * @param player Jogador
+     * @return Tempo de jogo em segundos ou -1 se os dados do jogador não estiverem carregados
+     */
+    public long getPlaytimeSeconds(Player player) {
+        return getTotalSeconds(player, STAT_PLAYTIME);
+    }
+
+    /**
+     * Obtém o tempo de jogo da semana atual, incluindo o que ainda não foi transferido para o perfil
+     * @param player Jogador
+     * @return Tempo de jogo em segundos ou -1 se os dados do jogador não estiverem carregados
+     */
+    public long getWeekPlaytimeSeconds(Player player) {
+        return getTotalSeconds(player, getWeekStat());
+    }
+
+    private long getTotalSeconds(Player player, String stat) {
+        PlayerProfile profile = plugin.getProfileManager().get(player);
+
+        if (profile == null) {
+            return -1L;
+        }
+
+        int index = indexOf(player);
+
+        if (index < 0) {
+            return profile.getStat(stat);
+        }
+
+        long now = System.currentTimeMillis();
+        return profile.getStat(stat) + (pendingPlaytime[index] + now - accountedUntil[index]) / 1000L;
+    }
+
+    /**
+     * Obtém o período coberto pelas amostras de atividade (sessions.samples * sessions.sample-interval)
+     * @return Período em segundos
+     */
+    public long getActivityWindowSeconds() {
+        return sampleIntervalMillis * sampleCount / 1000L;
+    }
+
+    /**
+     * Obtém a fração de amostras de atividade registradas no período coberto pelo buffer
+     * (sessions.samples * sessions.sample-interval)
+     * @param player Jogador
+     * @return Fração entre 0 e 1 ou -1 se o jogador não tiver sessão aberta
+     */
+    public double getRecentActivity(Player player) {
+        int index = indexOf(player);
+
+        if (index < 0) {
+            return -1.0;
+        }
+
+        long since = System.currentTimeMillis() - sampleIntervalMillis * sampleCount;
+        int base = index * sampleCount;
+        int active = 0;
+
+        for (int i = 0; i < sampleFilled[index]; i++) {
+            if (samples[base + i] > since) {
+                active++;
+            }
+        }
+
+        return (double) active / sampleCount;
+    }
+
+    /**
+     * Obtém o nome da estatística com o tempo de jogo da semana atual (semana ISO)
+     * Pode ser chamado de qualquer thread
+     * @return Nome da estatística (ex: playtime_week_2024_07)
+     */
+    public String getWeekStat() {
+        LocalDate today = LocalDate.now(ZoneId.systemDefault());
+
+        if (today.toEpochDay() != weekStatDay || weekStat == null) {
+            weekStat = WEEK_STAT_PREFIX + today.get(IsoFields.WEEK_BASED_YEAR)
+                + String.format("_%02d", today.get(IsoFields.WEEK_OF_WEEK_BASED_YEAR));
+            weekStatDay = today.toEpochDay();
+        }
+
+        return weekStat;
+    }
+
+    /**
+     * Transfere os totais de todas as sessões abertas para os perfis
+     */
+    public void flush() {
+        long start = System.nanoTime();
+        long now = System.currentTimeMillis();
+        boolean flushed = false;
+
+        for (int index = 0; index < owners.length; index++) {
+            if (owners[index] != null) {
+                accrue(index, now);
+                flushed |= flush(index, plugin.getProfileManager().get(owners[index]), false);
+            }
+        }
+
+        if (flushed) {
+            flushTime.record(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Transfere os totais pendentes de um índice para o perfil
+     * Apenas segundos inteiros são transferidos; o resto fica para a próxima vez, a não ser no fechamento
+     * @return true se algum valor foi transferido
+     */
+    private boolean flush(int index, PlayerProfile profile, boolean closing) {
+        if (profile == null) {
+            // Perfil já descarregado: os valores não têm mais para onde ir
+            pendingPlaytime[index] = 0L;
+            pendingActive[index] = 0L;
+            pendingAfk[index] = 0L;
+            return false;
+        }
+
+        long playtime = pendingPlaytime[index] / 1000L;
+        long active = pendingActive[index] / 1000L;
+        long away = pendingAfk[index] / 1000L;
+
+        if (playtime == 0L && active == 0L && away == 0L) {
+            return false;
+        }
+
+        profile.addStat(STAT_PLAYTIME, playtime);
+        profile.addStat(getWeekStat(), playtime);
+        profile.addStat(STAT_ACTIVE_TIME, active);
+        profile.addStat(STAT_AFK_TIME, away);
+
+        pendingPlaytime[index] = closing ? 0L : pendingPlaytime[index] - playtime * 1000L;
+        pendingActive[index] = closing ? 0L : pendingActive[index] - active * 1000L;
+        pendingAfk[index] = closing ? 0L : pendingAfk[index] - away * 1000L;
+        return true;
+    }
+
+    /**
+     * Soma o tempo decorrido e marca como ausentes os jogadores sem atividade recente
+     */
+    private void check() {
+        long now = System.currentTimeMillis();
+
+        for (int index = 0; index < owners.length; index++) {
+            if (owners[index] == null) {
+                continue;
+            }
+
+            accrue(index, now);
+
+            long idle = now - lastActivity[index];
+
+            if (!afk[index] && idle >= afkTimeoutMillis) {
+                // O tempo desde a última atividade já foi somado como ativo
+                afk[index] = true;
+                pendingActive[index] -= idle;
+                pendingAfk[index] += idle;
+            }
+        }
+    }
+
+    /**
+     * Soma o tempo desde a última contagem ao tempo de jogo e ao tempo ativo ou ausente
+     */
+    private void accrue(int index, long now) {
+        long elapsed = now - accountedUntil[index];
+
+        if (elapsed <= 0L) {
+            return;
+        }
+
+        pendingPlaytime[index] += elapsed;
+
+        if (afk[index]) {
+            pendingAfk[index] += elapsed;
+        } else {
+            pendingActive[index] += elapsed;
+        }
+
+        accountedUntil[index] = now;
+    }
+
+    /**
+     * Grava uma amostra de atividade no buffer circular do jogador
+     */
+    private void record(int index, long now) {
+        samples[index * sampleCount + samplePosition[index]] = now;
+        samplePosition[index] = (samplePosition[index] + 1) % sampleCount;
+
+        if (sampleFilled[index] < sampleCount) {
+            sampleFilled[index]++;
+        }
+    }
+
+    private int indexOf(Player player) {
+        int index = players.indexOf(player);
+        return index >= 0 && index < owners.length && owners[index] != null ? index : -1;
+    }
+
+    private void grow(int minimum) {
+        int size = Math.max(minimum, owners.length * 2);
+
+        owners = Arrays.copyOf(owners, size);
+        sessionStart = Arrays.copyOf(sessionStart, size);
+        accountedUntil = Arrays.copyOf(accountedUntil, size);
+        lastActivity = Arrays.copyOf(lastActivity, size);
+        afk = Arrays.copyOf(afk, size);
+        pendingPlaytime = Arrays.copyOf(pendingPlaytime, size);
+        pendingActive = Arrays.copyOf(pendingActive, size);
+        pendingAfk = Arrays.copyOf(pendingAfk, size);
+        samplePosition = Arrays.copyOf(samplePosition, size);
+        sampleFilled = Arrays.copyOf(sampleFilled, size);
+        samples = Arrays.copyOf(samples, size * sampleCount);
+    }
+
+    /**
+     * Abre a sessão depois que o perfil e o índice do jogador foram preparados
+     * @param event Evento de entrada do jogador
+     */
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerJoin(PlayerJoinEvent event) {
+        open(event.getPlayer());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onPlayerMove(PlayerMoveEvent event) {
+        recordActivity(event.getPlayer());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerInteract(PlayerInteractEvent event) {
+        recordActivity(event.getPlayer());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onPlayerCommand(PlayerCommandPreprocessEvent event) {
+        recordActivity(event.getPlayer());
+    }
+
+    /**
+     * O chat chega fora da thread principal; a atividade é registrada no próximo tick
+     * @param event Evento de chat do jogador
+     */
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onPlayerChat(AsyncPlayerChatEvent event) {
+        Player player = event.getPlayer();
+
+        if (event.isAsynchronous()) {
+            plugin.getServer().getScheduler().runTask(plugin, () -> recordActivity(player));
+        } else {
+            recordActivity(player);
+        }
+    }
+}
@@ -0,0 +1,335 @@
+package com.example.minecraft.stats;
+
+import org.bukkit.Material;
+import org.bukkit.entity.Player;
+import org.bukkit.scheduler.BukkitTask;
+
+import com.example.minecraft.ExamplePlugin;
+import com.example.minecraft.config.PluginSettings;
+import com.example.minecraft.metrics.LatencyHistogram;
+import com.example.minecraft.player.PlayerIndexRegistry;
+import com.example.minecraft.player.PlayerProfile;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Contadores de estatísticas dos jogadores (ex: minérios quebrados)
+ * Os eventos somam em arrays primitivos indexados por (índice do jogador, estatística), sem
+ * alocar objetos; uma tarefa periódica transfere as diferenças acumuladas para os perfis,
+ * que são gravados em lote pelo armazenamento
+ * As estatísticas e os materiais contados são lidos de stats.tracked no config.yml
+ * Deve ser usado apenas na thread principal
+ */
+public class StatsService {
+
+    private final ExamplePlugin plugin;
+    private final PlayerIndexRegistry players;
+
+    // Estatística contada para cada material, indexada pelo ordinal do material
+    private TrackedStat[] statsByMaterial;
+    private List<TrackedStat> stats;
+
+    // Dono de cada índice carregado (null = valores ainda não lidos do perfil)
+    private UUID[] owners;
+
+    // Total atual e diferença ainda não transferida para o perfil, em [índice * quantidade + estatística]
+    private long[] totals;
+    private long[] pending;
+
+    // Tempo gasto transferindo as diferenças para os perfis
+    private final LatencyHistogram flushTime;
+
+    private BukkitTask flushTask;
+
+    public StatsService(ExamplePlugin plugin, PlayerIndexRegistry players) {
+        this.plugin = plugin;
+        this.players = players;
+        this.statsByMaterial = new TrackedStat[Material.values().length];
+        this.stats = Collections.emptyList();
+        this.owners = new UUID[16];
+        this.totals = new long[0];
+        this.pending = new long[0];
+        this.flushTime = plugin.getMetrics().histogram("stats_flush");
+
+        // Descartar os valores de um índice liberado antes que ele seja reutilizado
+        players.addReleaseListener(index -> {
+            if (index < owners.length && owners[index] != null) {
+                flush(index);
+                owners[index] = null;
+            }
+        });
+    }
+
+    /**
+     * Inicia a tarefa que transfere os contadores para os perfis
+     * @param intervalTicks Intervalo entre transferências em ticks
+     */
+    public void start(long intervalTicks) {
+        long interval = Math.max(1L, intervalTicks);
+        flushTask = plugin.getServer().getScheduler().runTaskTimer(plugin, this::flush, interval, interval);
+    }
+
+    /**
+     * Para a tarefa periódica e transfere os contadores pendentes para os perfis
+     */
+    public void shutdown() {
+        if (flushTask != null) {
+            flushTask.cancel();
+            flushTask = null;
+        }
+
+        flush();
+    }
+
+    /**
+     * Lê as estatísticas contadas da seção stats.tracked
+     * Em configs geradas antes da seção existir, getKeys devolve as estatísticas do config.yml padrão
+     * Os contadores pendentes são transferidos antes e os totais são relidos dos perfis
+     */
+    public void reload() {
+        flush();
+
+        TrackedStat[] byMaterial = new TrackedStat[Material.values().length];
+        List<TrackedStat> tracked = new ArrayList<>();
+        PluginSettings settings = plugin.getSettings();
+
+        for (String name : settings.getKeys("stats.tracked")) {
+            String path = "stats.tracked." + name;
+
+            TrackedStat stat = new TrackedStat(tracked.size(), name,
+                Math.max(0, settings.getInt(path + ".milestone", 0)), settings.getString(path + ".milestone-message", null));
+
+            for (String materialName : settings.getStringList(path + ".materials")) {
+                Material material = Material.matchMaterial(materialName);
+
+                if (material == null) {
+                    plugin.getLogger().warning("Material inválido em " + path + ": " + materialName);
+                    continue;
+                }
+
+                byMaterial[material.ordinal()] = stat;
+            }
+
+            tracked.add(stat);
+        }
+
+        statsByMaterial = byMaterial;
+        stats = Collections.unmodifiableList(tracked);
+
+        // Os arrays dependem da quantidade de estatísticas; os totais são relidos no próximo uso
+        Arrays.fill(owners, null);
+        totals = new long[owners.length * tracked.size()];
+        pending = new long[owners.length * tracked.size()];
+    }
+
+    /**
+     * Obtém a estatística contada ao quebrar um material
+     * @param material Material do bloco
+     * @return Estatística ou null se o material não for contado
+     */
+    public TrackedStat getTracked(Material material) {
+        return statsByMaterial[material.ordinal()];
+    }
+
+    /**
+     * Obtém todas as estatísticas contadas
+     * @return Lista (somente leitura) de estatísticas
+     */
+    public List<TrackedStat> getStats() {
+        return stats;
+    }
+
+    /**
+     * Soma 1 a uma estatística do jogador
+     * @param player Jogador
+     * @param stat Estatística obtida por getTracked()
+     * @return Novo total da estatística ou -1 se os dados do jogador não estiverem carregados
+     */
+    public long increment(Player player, TrackedStat stat) {
+        return add(player, stat, 1L);
+    }
+
+    /**
+     * Soma um valor a uma estatística do jogador
+     * @param player Jogador
+     * @param stat Estatística obtida por getTracked()
+     * @param delta Valor a ser somado
+     * @return Novo total da estatística ou -1 se os dados do jogador não estiverem carregados
+     */
+    public long add(Player player, TrackedStat stat, long delta) {
+        int index = players.indexOf(player);
+
+        if (index < 0 || stat.id >= stats.size() || stats.get(stat.id) != stat) {
+            return -1L;
+        }
+
+        if (index >= owners.length) {
+            grow(index + 1);
+        }
+
+        if (owners[index] == null && !load(index, player)) {
+            return -1L;
+        }
+
+        int slot = index * stats.size() + stat.id;
+        pending[slot] += delta;
+        return totals[slot] += delta;
+    }
+
+    /**
+     * Obtém o total atual de uma estatística, incluindo o que ainda não foi transferido
+     * @param player Jogador
+     * @param stat Estatística
+     * @return Total da estatística ou -1 se os dados do jogador não estiverem carregados
+     */
+    public long get(Player player, TrackedStat stat) {
+        return add(player, stat, 0L);
+    }
+
+    /**
+     * Transfere os contadores de um jogador para o perfil (ex: antes de salvar na saída)
+     * @param player Jogador
+     */
+    public void flush(Player player) {
+        int index = players.indexOf(player);
+
+        if (index >= 0 && index < owners.length && owners[index] != null) {
+            flush(index);
+        }
+    }
+
+    /**
+     * Transfere os contadores de todos os jogadores para os perfis
+     */
+    public void flush() {
+        long start = System.nanoTime();
+        boolean flushed = false;
+
+        for (int index = 0; index < owners.length; index++) {
+            if (owners[index] != null) {
+                flushed |= flush(index);
+            }
+        }
+
+        if (flushed) {
+            flushTime.record(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Transfere as diferenças de um índice para o perfil do dono
+     * @param index Índice do jogador
+     * @return true se havia alguma diferença pendente
+     */
+    private boolean flush(int index) {
+        int count = stats.size();
+        int base = index * count;
+        PlayerProfile profile = null;
+        boolean flushed = false;
+
+        for (int id = 0; id < count; id++) {
+            long delta = pending[base + id];
+
+            if (delta == 0) {
+                continue;
+            }
+
+            if (profile == null) {
+                profile = plugin.getProfileManager().get(owners[index]);
+
+                if (profile == null) {
+                    // Perfil já descarregado: os valores não têm mais para onde ir
+                    Arrays.fill(pending, base, base + count, 0L);
+                    return false;
+                }
+            }
+
+            profile.addStat(stats.get(id).name, delta);
+            pending[base + id] = 0;
+            flushed = true;
+        }
+
+        return flushed;
+    }
+
+    /**
+     * Lê os totais do perfil do jogador para o índice
+     * @param index Índice do jogador
+     * @param player Jogador
+     * @return true se o perfil estava carregado
+     */
+    private boolean load(int index, Player player) {
+        PlayerProfile profile = plugin.getProfileManager().get(player);
+
+        if (profile == null) {
+            return false;
+        }
+
+        int count = stats.size();
+        int base = index * count;
+
+        for (int id = 0; id < count; id++) {
+            totals[base + id] = profile.getStat(stats.get(id).name);
+            pending[base + id] = 0;
+        }
+
+        owners[index] = player.getUniqueId();
+        return true;
+    }
+
+    private void grow(int minimum) {
+        int size = Math.max(minimum, owners.length * 2);
+        int count = stats.size();
+
+        owners = Arrays.copyOf(owners, size);
+        totals = Arrays.copyOf(totals, size * count);
+        pending = Arrays.copyOf(pending, size * count);
+    }
+
+    /**
+     * Estatística contada pelo serviço
+     */
+    public static final class TrackedStat {
+
+        private final int id;
+        private final String name;
+        private final int milestone;
+        private final String milestoneMessage;
+
+        private TrackedStat(int id, String name, int milestone, String milestoneMessage) {
+            this.id = id;
+            this.name = name;
+            this.milestone = milestone;
+            this.milestoneMessage = milestoneMessage;
+        }
+
+        /**
+         * Obtém o nome da estatística no armazenamento
+         * @return Nome da estatística (ex: diamonds_mined)
+         */
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * Verifica se um total é um marco da estatística (ex: a cada 10)
+         * @param total Total da estatística
+         * @return true se o total é um marco
+         */
+        public boolean isMilestone(long total) {
+            return milestone > 0 && total > 0 && total % milestone == 0;
+        }
+
+        /**
+         * Obtém a chave da mensagem enviada ao atingir um marco
+         * @return Chave da mensagem ou null se não houver mensagem
+         */
+        public String getMilestoneMessage() {
+            return milestoneMessage;
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package com.example.minecraft.storage;
+
+import org.bukkit.Location;
+import org.bukkit.entity.Player;
+import org.bukkit.scheduler.BukkitTask;
+
+import com.example.minecraft.ExamplePlugin;
+import com.example.minecraft.config.PluginSettings;
+import com.example.minecraft.metrics.LatencyHistogram;
+import com.example.minecraft.player.PlayerProfile;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Salvamento periódico dos jogadores online, para que uma queda do servidor não perca
+ * tudo desde a última entrada
+ * A cada ciclo os jogadores online são percorridos aos poucos: em cada tick a localização,
+ * o nível e a experiência são copiados para os perfis até o limite de tempo configurado, e o
+ * perfil é entregue ao armazenamento, que serializa e grava a cópia fora da thread principal
+ * O tamanho serializado de cada cópia só é conhecido nessa etapa, então é o armazenamento que o
+ * registra no histograma player_snapshot_bytes
+ * Deve ser usado apenas na thread principal
+ */
+public class AutosaveScheduler {
+
+    private final ExamplePlugin plugin;
+    private final PlayerStore store;
+
+    // Jogadores do ciclo atual e posição do próximo a ser salvo
+    private final List<Player> queue;
+    private int cursor;
+
+    // Posição reutilizada ao copiar a localização dos jogadores
+    private final Location location;
+
+    private long intervalNanos;
+    private long tickBudgetNanos;
+
+    // Início do ciclo atual e do próximo
+    private long cycleStartNanos;
+    private long nextCycleNanos;
+
+    // Tempo na thread principal por tick, duração de cada ciclo e quantidade de perfis salvos
+    private final LatencyHistogram tickTime;
+    private final LatencyHistogram cycleTime;
+    private final AtomicLong savedCounter;
+
+    private BukkitTask task;
+
+    public AutosaveScheduler(ExamplePlugin plugin, PlayerStore store) {
+        this.plugin = plugin;
+        this.store = store;
+        this.queue = new ArrayList<>();
+        this.location = new Location(null, 0, 0, 0);
+        this.tickTime = plugin.getMetrics().histogram("autosave_tick");
+        this.cycleTime = plugin.getMetrics().histogram("autosave_cycle");
+        this.savedCounter = plugin.getMetrics().counter("autosave_players");
+    }
+
+    /**
+     * Lê a seção autosave do config.yml
+     * Um novo intervalo vale a partir do próximo ciclo
+     */
+    public void reload() {
+        PluginSettings settings = plugin.getSettings();
+
+        intervalNanos = Math.max(1L, settings.getLong("autosave.interval", 300L)) * 1_000_000_000L;
+        tickBudgetNanos = Math.max(1L, settings.getLong("autosave.tick-budget", 500L)) * 1000L;
+    }
+
+    /**
+     * Inicia a tarefa executada a cada tick; o primeiro ciclo começa após um intervalo
+     * Com autosave.enabled desligado, nada é agendado
+     */
+    public void start() {
+        if (!plugin.getSettings().getBoolean("autosave.enabled", true)) {
+            return;
+        }
+
+        nextCycleNanos = System.nanoTime() + intervalNanos;
+        task = plugin.getServer().getScheduler().runTaskTimer(plugin, this::tick, 1L, 1L);
+    }
+
+    /**
+     * Para o salvamento periódico
+     * Os perfis são salvos de qualquer forma ao desativar o plugin
+     */
+    public void shutdown() {
+        if (task != null) {
+            task.cancel();
+            task = null;
+        }
+
+        queue.clear();
+        cursor = 0;
+    }
+
+    /**
+     * Salva os próximos jogadores do ciclo até o limite de tempo do tick
+     * Pelo menos um jogador é salvo por tick para que o ciclo sempre termine
+     */
+    private void tick() {
+        long start = System.nanoTime();
+
+        if (cursor >= queue.size()) {
+            if (start < nextCycleNanos) {
+                return;
+            }
+
+            queue.clear();
+            queue.addAll(plugin.getServer().getOnlinePlayers());
+            cursor = 0;
+            cycleStartNanos = start;
+            nextCycleNanos = start + intervalNanos;
+
+            if (queue.isEmpty()) {
+                return;
+            }
+        }
+
+        long deadline = start + tickBudgetNanos;
+
+        do {
+            Player player = queue.get(cursor++);
+
+            if (player.isOnline() && save(player)) {
+                savedCounter.incrementAndGet();
+            }
+        } while (cursor < queue.size() && System.nanoTime() < deadline);
+
+        long end = System.nanoTime();
+        tickTime.record(end - start);
+
+        if (cursor >= queue.size()) {
+            cycleTime.record(end - cycleStartNanos);
+            queue.clear();
+            cursor = 0;
+        }
+    }
+
+    /**
+     * Copia o estado atual do jogador para o perfil e envia o perfil para gravação
+     * @param player Jogador online
+     * @return true se o perfil estava carregado
+     */
+    private boolean save(Player player) {
+        PlayerProfile profile = plugin.getProfileManager().get(player);
+
+        if (profile == null) {
+            return false;
+        }
+
+        profile.setLastLocation(player.getLocation(location));
+        profile.setLevel(player.getLevel());
+        profile.setExp(player.getExp());
+
+        // Incluir os contadores de estatísticas ainda pendentes
+        plugin.getStats().flush(player);
+
+        store.save(profile);
+        store.flush(profile);
+        return true;
+    }
+}
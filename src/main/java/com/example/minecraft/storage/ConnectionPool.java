@@ -0,0 +1,88 @@
+package com.example.minecraft.storage;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pool simples com um número fixo de conexões JDBC
+ * Suficiente para um banco embarcado, sem dependências externas
+ */
+public class ConnectionPool {
+
+    private final List<Connection> connections;
+    private final BlockingQueue<Connection> idle;
+
+    public ConnectionPool(String url, int size) throws SQLException {
+        int poolSize = Math.max(1, size);
+
+        this.connections = new ArrayList<>(poolSize);
+        this.idle = new ArrayBlockingQueue<>(poolSize);
+
+        for (int i = 0; i < poolSize; i++) {
+            Connection connection = DriverManager.getConnection(url);
+
+            try (Statement statement = connection.createStatement()) {
+                // WAL permite leituras enquanto outra conexão grava
+                statement.execute("PRAGMA journal_mode=WAL");
+                statement.execute("PRAGMA synchronous=NORMAL");
+                statement.execute("PRAGMA busy_timeout=5000");
+            }
+
+            connections.add(connection);
+            idle.add(connection);
+        }
+    }
+
+    /**
+     * Obtém uma conexão livre, aguardando se todas estiverem em uso
+     * @return Conexão que deve ser devolvida com release
+     * @throws SQLException Se nenhuma conexão ficar livre a tempo
+     */
+    public Connection borrow() throws SQLException {
+        try {
+            Connection connection = idle.poll(10, TimeUnit.SECONDS);
+
+            if (connection == null) {
+                throw new SQLException("Nenhuma conexão disponível no pool");
+            }
+
+            return connection;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrompido aguardando uma conexão", e);
+        }
+    }
+
+    /**
+     * Devolve uma conexão ao pool
+     * @param connection Conexão obtida com borrow
+     */
+    public void release(Connection connection) {
+        if (connection != null) {
+            idle.offer(connection);
+        }
+    }
+
+    /**
+     * Fecha todas as conexões do pool
+     */
+    public void close() {
+        for (Connection connection : connections) {
+            try {
+                connection.close();
+            } catch (SQLException ignored) {
+                // Conexão já fechada
+            }
+        }
+
+        connections.clear();
+        idle.clear();
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.minecraft.storage;
+
+import java.util.UUID;
+
+/**
+ * Posição de um jogador em um ranking de estatísticas
+ */
+public final class LeaderboardEntry {
+
+    private final UUID uuid;
+    private final String name;
+    private final long value;
+
+    public LeaderboardEntry(UUID uuid, String name, long value) {
+        this.uuid = uuid;
+        this.name = name;
+        this.value = value;
+    }
+
+    public UUID getUniqueId() {
+        return uuid;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getValue() {
+        return value;
+    }
+}
@@ -0,0 +1,146 @@
+package com.example.minecraft.storage;
+
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.file.FileConfiguration;
+
+import com.example.minecraft.ExamplePlugin;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Migração única dos dados de jogadores do custom.yml (players.<uuid>.*)
+ * para o armazenamento com um arquivo por jogador, e desses arquivos para o banco SQLite
+ * quando o armazenamento "sqlite" é usado pela primeira vez
+ */
+public class LegacyDataMigrator {
+
+    // Estado da cópia dos arquivos YAML no banco (ausente, "started" ou "done")
+    private static final String SQL_IMPORT_KEY = "yaml-import";
+
+    // Perfis copiados por lote antes de confirmar a gravação no banco
+    private static final int SQL_IMPORT_BATCH = 500;
+
+    private final ExamplePlugin plugin;
+    private final ShardedPlayerStore store;
+
+    public LegacyDataMigrator(ExamplePlugin plugin, ShardedPlayerStore store) {
+        this.plugin = plugin;
+        this.store = store;
+    }
+
+    /**
+     * Move a seção "players" do custom.yml para arquivos individuais
+     * Um backup do custom.yml original é mantido como custom.yml.bak
+     * @param customConfig Configuração personalizada carregada
+     * @param customConfigFile Arquivo da configuração personalizada
+     */
+    public void migrate(FileConfiguration customConfig, File customConfigFile) {
+        ConfigurationSection players = customConfig.getConfigurationSection("players");
+
+        if (players == null) {
+            return;
+        }
+
+        plugin.getLogger().info("Migrando dados de jogadores do custom.yml...");
+
+        try {
+            Files.copy(customConfigFile.toPath(), new File(customConfigFile.getParentFile(), "custom.yml.bak").toPath(),
+                StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            plugin.getLogger().severe("Não foi possível criar o backup do custom.yml, migração cancelada: " + e.getMessage());
+            return;
+        }
+
+        int migrated = 0;
+
+        for (String key : players.getKeys(false)) {
+            ConfigurationSection data = players.getConfigurationSection(key);
+            UUID uuid;
+
+            try {
+                uuid = UUID.fromString(key);
+            } catch (IllegalArgumentException e) {
+                plugin.getLogger().warning("Entrada de jogador inválida ignorada: " + key);
+                continue;
+            }
+
+            File file = store.getFile(uuid);
+
+            // Não sobrescrever dados que já estejam no novo formato
+            if (data == null || file.exists()) {
+                continue;
+            }
+
+            try {
+                WriteBehindSaver.writeAtomically(file, WriteBehindSaver.snapshot(data).saveToString());
+                migrated++;
+            } catch (IOException e) {
+                plugin.getLogger().severe("Não foi possível migrar os dados de " + key + ", migração cancelada: " + e.getMessage());
+                return;
+            }
+        }
+
+        // Remover os dados antigos somente depois que todos foram gravados
+        customConfig.set("players", null);
+        plugin.saveCustomConfig();
+
+        plugin.getLogger().info("Migração concluída: " + migrated + " jogadores.");
+    }
+
+    /**
+     * Copia os arquivos de jogadores para o banco SQLite na primeira vez que ele é usado
+     * Os arquivos YAML são mantidos; uma cópia interrompida é refeita por inteiro na próxima
+     * inicialização e um banco que já tinha jogadores antes desta migração não é alterado
+     * @param target Banco de destino
+     * @return false se a cópia falhar (o banco não deve ser usado)
+     */
+    public boolean migrateTo(SqlPlayerStore target) {
+        try {
+            String state = target.getMeta(SQL_IMPORT_KEY);
+
+            if ("done".equals(state)) {
+                return true;
+            }
+
+            if (state == null && !target.isEmpty()) {
+                target.setMeta(SQL_IMPORT_KEY, "done");
+                return true;
+            }
+
+            List<UUID> players = store.listPlayers();
+
+            if (!players.isEmpty()) {
+                plugin.getLogger().info("Copiando " + players.size() + " jogadores dos arquivos YAML para o banco SQLite...");
+            }
+
+            target.setMeta(SQL_IMPORT_KEY, "started");
+            int copied = 0;
+
+            for (UUID uuid : players) {
+                target.save(store.load(uuid));
+
+                if (++copied % SQL_IMPORT_BATCH == 0) {
+                    target.checkpoint().get(60, TimeUnit.SECONDS);
+                }
+            }
+
+            target.checkpoint().get(60, TimeUnit.SECONDS);
+            target.setMeta(SQL_IMPORT_KEY, "done");
+
+            if (copied > 0) {
+                plugin.getLogger().info("Cópia para o banco SQLite concluída: " + copied + " jogadores.");
+            }
+
+            return true;
+        } catch (Exception e) {
+            plugin.getLogger().severe("Não foi possível copiar os jogadores para o banco SQLite: " + e);
+            return false;
+        }
+    }
+}
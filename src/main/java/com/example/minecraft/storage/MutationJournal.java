@@ -0,0 +1,689 @@
+package com.example.minecraft.storage;
+
+import org.bukkit.scheduler.BukkitTask;
+
+import com.example.minecraft.ExamplePlugin;
+import com.example.minecraft.metrics.LatencyHistogram;
+import com.example.minecraft.player.PlayerProfile;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.CRC32;
+
+/**
+ * Diário (write-ahead log) das alterações dos perfis dos jogadores
+ * Cada alteração vira um registro binário pequeno anexado ao final do segmento atual
+ * (journal/<geração>.log); uma thread dedicada grava os registros acumulados de uma vez
+ * e força a escrita em disco com um único fsync por grupo, sem reescrever os arquivos dos jogadores
+ * Periodicamente os perfis são salvos no armazenamento e os segmentos anteriores são apagados
+ * (compactação); ao iniciar, os segmentos que restaram de uma queda são reaplicados
+ * Os registros guardam valores absolutos, então reaplicar um segmento já salvo não altera os dados
+ */
+public class MutationJournal {
+
+    // Tipos de registro
+    private static final byte TYPE_NAME = 1;
+    private static final byte TYPE_FIRST_JOIN = 2;
+    private static final byte TYPE_LAST_ONLINE = 3;
+    private static final byte TYPE_LEVEL = 4;
+    private static final byte TYPE_EXP = 5;
+    private static final byte TYPE_LOCATION = 6;
+    private static final byte TYPE_STAT = 7;
+    private static final byte TYPE_CRITICAL_HIT = 8;
+    private static final byte TYPE_DATA = 9;
+
+    // Tamanho + CRC32 antes de cada registro, e tipo + UUID no início do corpo
+    private static final int RECORD_HEADER = 8;
+    private static final int BODY_HEADER = 17;
+
+    private static final String SEGMENT_SUFFIX = ".log";
+
+    private final ExamplePlugin plugin;
+    private final PlayerStore store;
+    private final File folder;
+
+    // Registros aguardando gravação (preenchido pelas threads que alteram os perfis)
+    private final Object lock;
+    private ByteBuffer active;
+    private ByteBuffer spare;
+    private final CRC32 appendChecksum;
+
+    // Posição do registro sendo escrito no buffer ativo
+    private int recordStart;
+
+    // Registros do segmento anterior à última rotação, ainda não gravados
+    private ByteBuffer sealed;
+
+    // Segmento em que os novos registros entram e segmentos que já podem ser apagados
+    private long generation;
+    private long discardBefore;
+
+    private volatile boolean running;
+    private volatile long commitDelayMillis;
+    private Thread writerThread;
+    private BukkitTask compactTask;
+
+    // Tempo de cada gravação em grupo (write + fsync) e total de bytes anexados
+    private final LatencyHistogram commitTime;
+    private final AtomicLong bytesCounter;
+
+    public MutationJournal(ExamplePlugin plugin, PlayerStore store, File folder) {
+        this.plugin = plugin;
+        this.store = store;
+        this.folder = folder;
+        this.lock = new Object();
+        this.active = ByteBuffer.allocate(64 * 1024);
+        this.spare = ByteBuffer.allocate(64 * 1024);
+        this.appendChecksum = new CRC32();
+        this.commitTime = plugin.getMetrics().histogram("journal_commit");
+        this.bytesCounter = plugin.getMetrics().counter("journal_bytes");
+    }
+
+    /**
+     * Lê o tempo de espera para agrupar registros da seção journal
+     */
+    public void reload() {
+        commitDelayMillis = Math.max(0L, plugin.getSettings().getLong("journal.commit-delay", 5L));
+    }
+
+    /**
+     * Reaplica os segmentos deixados por uma queda e salva os perfis afetados no armazenamento
+     * Deve ser chamado na thread principal antes de qualquer perfil ser carregado
+     * Os segmentos só são apagados depois que o armazenamento confirmar a gravação
+     */
+    public void recover() {
+        List<Long> generations = listGenerations();
+
+        if (generations.isEmpty()) {
+            generation = 1L;
+            return;
+        }
+
+        generation = generations.get(generations.size() - 1) + 1L;
+
+        Map<UUID, PlayerProfile> recovered = new LinkedHashMap<>();
+        int records = 0;
+
+        try {
+            for (long segment : generations) {
+                records += replay(getSegment(segment), recovered);
+            }
+
+            for (PlayerProfile profile : recovered.values()) {
+                store.unload(profile);
+            }
+
+            store.checkpoint().get(30, TimeUnit.SECONDS);
+        } catch (Exception e) {
+            plugin.getLogger().severe("Não foi possível reaplicar o diário de dados, os segmentos serão mantidos: " + e);
+            return;
+        }
+
+        deleteSegments(generation);
+
+        if (records > 0) {
+            plugin.getLogger().info("Diário de dados: " + records + " alterações reaplicadas em "
+                + recovered.size() + " jogadores.");
+        }
+    }
+
+    /**
+     * Inicia a thread de gravação e a compactação periódica
+     * Com journal.enabled desligado, as alterações não são registradas
+     */
+    public void start() {
+        if (!plugin.getSettings().getBoolean("journal.enabled", true)) {
+            return;
+        }
+
+        running = true;
+        writerThread = new Thread(this::runWriter, plugin.getName() + "-Journal");
+        writerThread.setDaemon(false);
+        writerThread.start();
+
+        long interval = Math.max(1L, plugin.getSettings().getLong("journal.compact-interval", 300L)) * 20L;
+        compactTask = plugin.getServer().getScheduler().runTaskTimer(plugin, this::compact, interval, interval);
+    }
+
+    /**
+     * Salva todos os perfis alterados e descarta os segmentos que eles tornaram desnecessários
+     * Os novos registros passam para um novo segmento; os anteriores são apagados assim que o
+     * armazenamento confirmar a gravação, fora da thread principal
+     * Deve ser chamado na thread principal
+     */
+    public void compact() {
+        plugin.getProfileManager().saveDirty();
+
+        long next;
+
+        synchronized (lock) {
+            // A rotação anterior ainda não foi gravada; tentar de novo na próxima compactação
+            if (sealed != null) {
+                return;
+            }
+
+            sealed = active;
+            active = spare != null ? spare : ByteBuffer.allocate(sealed.capacity());
+            spare = null;
+            next = ++generation;
+            lock.notifyAll();
+        }
+
+        store.checkpoint().whenComplete((result, error) -> {
+            if (error != null) {
+                plugin.getLogger().warning("Compactação do diário adiada, o armazenamento não confirmou a gravação: "
+                    + error.getMessage());
+                return;
+            }
+
+            synchronized (lock) {
+                discardBefore = Math.max(discardBefore, next);
+                lock.notifyAll();
+            }
+        });
+    }
+
+    /**
+     * Grava os registros pendentes, encerra a thread de gravação e apaga os segmentos
+     * se o armazenamento confirmar que todos os perfis foram gravados
+     * Deve ser chamado no onDisable, depois de descarregar os perfis e antes de fechar o armazenamento
+     */
+    public void shutdown() {
+        if (compactTask != null) {
+            compactTask.cancel();
+            compactTask = null;
+        }
+
+        if (writerThread == null) {
+            return;
+        }
+
+        synchronized (lock) {
+            running = false;
+            lock.notifyAll();
+        }
+
+        try {
+            writerThread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        writerThread = null;
+
+        try {
+            store.checkpoint().get(30, TimeUnit.SECONDS);
+            deleteSegments(Long.MAX_VALUE);
+        } catch (Exception e) {
+            plugin.getLogger().warning("O diário de dados será reaplicado na próxima inicialização: " + e);
+        }
+    }
+
+    public void logName(UUID uuid, String name) {
+        byte[] value = encode(name);
+
+        synchronized (lock) {
+            if (begin(TYPE_NAME, uuid, sizeOf(value))) {
+                putString(value);
+                end();
+            }
+        }
+    }
+
+    public void logFirstJoin(UUID uuid, long time) {
+        logLong(TYPE_FIRST_JOIN, uuid, time);
+    }
+
+    public void logLastOnline(UUID uuid, long time) {
+        logLong(TYPE_LAST_ONLINE, uuid, time);
+    }
+
+    public void logLevel(UUID uuid, int level) {
+        synchronized (lock) {
+            if (begin(TYPE_LEVEL, uuid, 4)) {
+                active.putInt(level);
+                end();
+            }
+        }
+    }
+
+    public void logExp(UUID uuid, float exp) {
+        synchronized (lock) {
+            if (begin(TYPE_EXP, uuid, 4)) {
+                active.putFloat(exp);
+                end();
+            }
+        }
+    }
+
+    public void logLocation(UUID uuid, String world, double x, double y, double z, float yaw, float pitch) {
+        byte[] worldName = encode(world);
+
+        synchronized (lock) {
+            if (begin(TYPE_LOCATION, uuid, sizeOf(worldName) + 32)) {
+                putString(worldName);
+                active.putDouble(x).putDouble(y).putDouble(z).putFloat(yaw).putFloat(pitch);
+                end();
+            }
+        }
+    }
+
+    public void logStat(UUID uuid, String stat, long value) {
+        byte[] name = encode(stat);
+
+        synchronized (lock) {
+            if (begin(TYPE_STAT, uuid, sizeOf(name) + 8)) {
+                putString(name);
+                active.putLong(value);
+                end();
+            }
+        }
+    }
+
+    public void logCriticalHit(UUID uuid, boolean criticalHit) {
+        synchronized (lock) {
+            if (begin(TYPE_CRITICAL_HIT, uuid, 1)) {
+                active.put(criticalHit ? (byte) 1 : (byte) 0);
+                end();
+            }
+        }
+    }
+
+    public void logData(UUID uuid, String key, String value) {
+        byte[] keyBytes = encode(key);
+        byte[] valueBytes = encode(value);
+
+        synchronized (lock) {
+            if (begin(TYPE_DATA, uuid, sizeOf(keyBytes) + sizeOf(valueBytes))) {
+                putString(keyBytes);
+                putString(valueBytes);
+                end();
+            }
+        }
+    }
+
+    private void logLong(byte type, UUID uuid, long value) {
+        synchronized (lock) {
+            if (begin(type, uuid, 8)) {
+                active.putLong(value);
+                end();
+            }
+        }
+    }
+
+    /**
+     * Reserva espaço e escreve o cabeçalho de um registro no buffer ativo
+     * Deve ser chamado com o lock; o tamanho e o CRC são preenchidos em end()
+     * @param type Tipo do registro
+     * @param uuid UUID do jogador
+     * @param payloadSize Tamanho dos dados após o cabeçalho
+     * @return false se o diário não estiver ativo
+     */
+    private boolean begin(byte type, UUID uuid, int payloadSize) {
+        if (!running) {
+            return false;
+        }
+
+        int required = RECORD_HEADER + BODY_HEADER + payloadSize;
+
+        if (active.remaining() < required) {
+            ByteBuffer grown = ByteBuffer.allocate(Math.max(active.capacity() * 2, active.position() + required));
+            active.flip();
+            grown.put(active);
+            active = grown;
+        }
+
+        recordStart = active.position();
+        active.putInt(0).putInt(0);
+        active.put(type).putLong(uuid.getMostSignificantBits()).putLong(uuid.getLeastSignificantBits());
+        return true;
+    }
+
+    /**
+     * Preenche o tamanho e o CRC do registro iniciado em begin() e acorda a thread de gravação
+     * quando o buffer estava vazio
+     */
+    private void end() {
+        int start = recordStart;
+        int length = active.position() - start - RECORD_HEADER;
+
+        appendChecksum.reset();
+        appendChecksum.update(active.array(), active.arrayOffset() + start + RECORD_HEADER, length);
+
+        active.putInt(start, length);
+        active.putInt(start + 4, (int) appendChecksum.getValue());
+
+        // Só o primeiro registro do grupo acorda a gravação; os seguintes entram na mesma espera
+        if (start == 0) {
+            lock.notifyAll();
+        }
+    }
+
+    private void putString(byte[] value) {
+        if (value == null) {
+            active.putInt(-1);
+            return;
+        }
+
+        active.putInt(value.length);
+        active.put(value);
+    }
+
+    private static byte[] encode(String value) {
+        return value != null ? value.getBytes(StandardCharsets.UTF_8) : null;
+    }
+
+    private static int sizeOf(byte[] value) {
+        return 4 + (value != null ? value.length : 0);
+    }
+
+    /**
+     * Laço da thread de gravação: aguarda registros, espera journal.commit-delay para
+     * reunir as alterações que chegarem nesse meio tempo e grava o grupo com um único fsync
+     */
+    private void runWriter() {
+        FileChannel channel = null;
+        long channelGeneration = 0L;
+        long discarded = 0L;
+
+        while (true) {
+            ByteBuffer batch;
+            ByteBuffer sealedBatch;
+            long targetGeneration;
+            long discardTarget;
+            boolean stopping;
+
+            synchronized (lock) {
+                try {
+                    while (running && active.position() == 0 && sealed == null && discardBefore <= discarded) {
+                        lock.wait();
+                    }
+
+                    long delay = commitDelayMillis;
+
+                    if (running && delay > 0 && sealed == null && active.position() > 0) {
+                        // Esperar o prazo inteiro; só uma rotação ou o encerramento antecipam a gravação
+                        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(delay);
+                        long remaining;
+
+                        while (running && sealed == null && (remaining = deadline - System.nanoTime()) > 0) {
+                            TimeUnit.NANOSECONDS.timedWait(lock, remaining);
+                        }
+                    }
+                } catch (InterruptedException e) {
+                    running = false;
+                }
+
+                stopping = !running;
+                sealedBatch = sealed;
+                sealed = null;
+                batch = active;
+                active = spare != null ? spare : ByteBuffer.allocate(batch.capacity());
+                spare = null;
+                targetGeneration = generation;
+                discardTarget = discardBefore;
+            }
+
+            try {
+                if (sealedBatch != null) {
+                    if (channel == null && sealedBatch.position() > 0) {
+                        channel = open(targetGeneration - 1);
+                        channelGeneration = targetGeneration - 1;
+                    }
+
+                    commit(channel, sealedBatch);
+
+                    if (channel != null) {
+                        channel.close();
+                        channel = null;
+                    }
+                }
+
+                if (batch.position() > 0) {
+                    if (channel == null || channelGeneration != targetGeneration) {
+                        if (channel != null) {
+                            channel.close();
+                        }
+
+                        channel = open(targetGeneration);
+                        channelGeneration = targetGeneration;
+                    }
+
+                    commit(channel, batch);
+                }
+            } catch (IOException e) {
+                plugin.getLogger().severe("Não foi possível gravar o diário de dados: " + e.getMessage());
+
+                // Reabrir o segmento na próxima gravação
+                if (channel != null) {
+                    try {
+                        channel.close();
+                    } catch (IOException closeError) {
+                        e.addSuppressed(closeError);
+                    }
+
+                    channel = null;
+                }
+            }
+
+            synchronized (lock) {
+                batch.clear();
+                spare = batch;
+            }
+
+            // Apagar apenas os segmentos já fechados
+            long deletable = Math.min(discardTarget, channel != null ? channelGeneration : targetGeneration);
+
+            if (deletable > discarded) {
+                deleteSegments(deletable);
+                discarded = deletable;
+            }
+
+            if (stopping) {
+                break;
+            }
+        }
+
+        if (channel != null) {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                plugin.getLogger().warning("Não foi possível fechar o diário de dados: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Anexa um grupo de registros ao segmento e força a escrita em disco
+     * @param channel Segmento aberto (pode ser null se o grupo estiver vazio)
+     * @param batch Buffer com os registros, em modo de escrita
+     * @throws IOException Se a gravação falhar
+     */
+    private void commit(FileChannel channel, ByteBuffer batch) throws IOException {
+        if (batch.position() == 0) {
+            return;
+        }
+
+        long startNanos = System.nanoTime();
+        int bytes = batch.position();
+        batch.flip();
+
+        while (batch.hasRemaining()) {
+            channel.write(batch);
+        }
+
+        channel.force(false);
+        commitTime.record(System.nanoTime() - startNanos);
+        bytesCounter.addAndGet(bytes);
+    }
+
+    private FileChannel open(long segment) throws IOException {
+        folder.mkdirs();
+        return FileChannel.open(getSegment(segment).toPath(), StandardOpenOption.CREATE,
+            StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+
+    /**
+     * Aplica os registros de um segmento aos perfis, carregando cada jogador na primeira alteração
+     * A leitura para no primeiro registro incompleto ou corrompido (ex: queda durante a gravação)
+     * @param segment Arquivo do segmento
+     * @param profiles Perfis já carregados, por UUID
+     * @return Quantidade de registros aplicados
+     * @throws IOException Se o arquivo não puder ser lido
+     */
+    private int replay(File segment, Map<UUID, PlayerProfile> profiles) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(segment.toPath()));
+        CRC32 checksum = new CRC32();
+        int records = 0;
+
+        while (buffer.remaining() >= RECORD_HEADER) {
+            int length = buffer.getInt();
+            int expected = buffer.getInt();
+
+            if (length < BODY_HEADER || length > buffer.remaining()) {
+                break;
+            }
+
+            checksum.reset();
+            checksum.update(buffer.array(), buffer.arrayOffset() + buffer.position(), length);
+
+            if ((int) checksum.getValue() != expected) {
+                break;
+            }
+
+            int end = buffer.position() + length;
+            byte type = buffer.get();
+            UUID uuid = new UUID(buffer.getLong(), buffer.getLong());
+
+            PlayerProfile profile = profiles.computeIfAbsent(uuid, store::load);
+            apply(type, buffer, profile);
+
+            buffer.position(end);
+            records++;
+        }
+
+        if (buffer.hasRemaining()) {
+            plugin.getLogger().warning("Diário de dados: " + buffer.remaining() + " bytes incompletos ou corrompidos "
+                + "ignorados no final de " + segment.getName());
+        }
+
+        return records;
+    }
+
+    private void apply(byte type, ByteBuffer buffer, PlayerProfile profile) {
+        switch (type) {
+            case TYPE_NAME:
+                profile.setName(readString(buffer));
+                break;
+
+            case TYPE_FIRST_JOIN:
+                profile.setFirstJoinTime(buffer.getLong());
+                break;
+
+            case TYPE_LAST_ONLINE:
+                profile.setLastOnline(buffer.getLong());
+                break;
+
+            case TYPE_LEVEL:
+                profile.setLevel(buffer.getInt());
+                break;
+
+            case TYPE_EXP:
+                profile.setExp(buffer.getFloat());
+                break;
+
+            case TYPE_LOCATION: {
+                String world = readString(buffer);
+                profile.setLastLocation(world, buffer.getDouble(), buffer.getDouble(), buffer.getDouble(),
+                    buffer.getFloat(), buffer.getFloat());
+                break;
+            }
+
+            case TYPE_STAT: {
+                String stat = readString(buffer);
+                profile.setStat(stat, buffer.getLong());
+                break;
+            }
+
+            case TYPE_CRITICAL_HIT:
+                profile.setCriticalHit(buffer.get() != 0);
+                break;
+
+            case TYPE_DATA: {
+                String key = readString(buffer);
+                profile.setData(key, readString(buffer));
+                break;
+            }
+
+            default:
+                // Tipo desconhecido (versão mais nova do plugin); o registro é ignorado
+                break;
+        }
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        int length = buffer.getInt();
+
+        if (length < 0) {
+            return null;
+        }
+
+        String value = new String(buffer.array(), buffer.arrayOffset() + buffer.position(), length, StandardCharsets.UTF_8);
+        buffer.position(buffer.position() + length);
+        return value;
+    }
+
+    /**
+     * Lista as gerações dos segmentos existentes em ordem crescente
+     * @return Gerações encontradas na pasta do diário
+     */
+    private List<Long> listGenerations() {
+        List<Long> generations = new ArrayList<>();
+        File[] files = folder.listFiles((dir, name) -> name.endsWith(SEGMENT_SUFFIX));
+
+        if (files == null) {
+            return generations;
+        }
+
+        for (File file : files) {
+            String name = file.getName();
+
+            try {
+                generations.add(Long.parseLong(name.substring(0, name.length() - SEGMENT_SUFFIX.length())));
+            } catch (NumberFormatException e) {
+                plugin.getLogger().warning("Arquivo desconhecido na pasta do diário ignorado: " + name);
+            }
+        }
+
+        generations.sort(null);
+        return generations;
+    }
+
+    /**
+     * Apaga os segmentos anteriores a uma geração
+     * @param before Primeira geração mantida
+     */
+    private void deleteSegments(long before) {
+        for (long segment : listGenerations()) {
+            if (segment < before && !getSegment(segment).delete()) {
+                plugin.getLogger().warning("Não foi possível apagar o segmento " + segment + " do diário de dados.");
+            }
+        }
+    }
+
+    private File getSegment(long segment) {
+        return new File(folder, String.format("%016d", segment) + SEGMENT_SUFFIX);
+    }
+}
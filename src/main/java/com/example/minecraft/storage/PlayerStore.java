@@ -0,0 +1,63 @@
+package com.example.minecraft.storage;
+
+import com.example.minecraft.player.PlayerProfile;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Abstração para o armazenamento dos dados dos jogadores
+ * Converte os perfis em memória para o formato persistido e vice-versa
+ */
+public interface PlayerStore {
+
+    /**
+     * Carrega o perfil de um jogador
+     * @param uuid UUID do jogador
+     * @return Perfil do jogador (novo se for a primeira vez)
+     */
+    PlayerProfile load(UUID uuid);
+
+    /**
+     * Agenda a gravação do perfil de um jogador
+     * Deve ser chamado na thread principal
+     * @param profile Perfil a ser salvo
+     */
+    void save(PlayerProfile profile);
+
+    /**
+     * Envia para gravação, sem esperar o próximo lote, o que já foi salvo de um perfil com save()
+     * A gravação continua fora da thread principal; deve ser chamado na thread principal
+     * @param profile Perfil já salvo
+     */
+    void flush(PlayerProfile profile);
+
+    /**
+     * Envia para gravação tudo o que já foi salvo com save() e acompanha a chegada ao disco
+     * Deve ser chamado na thread principal; o futuro é concluído em outra thread
+     * @return Futuro concluído quando os dados salvos antes da chamada estiverem gravados,
+     *         ou concluído com erro se alguma gravação falhar
+     */
+    CompletableFuture<Void> checkpoint();
+
+    /**
+     * Grava o perfil de um jogador que saiu e libera os recursos associados a ele
+     * Deve ser chamado na thread principal
+     * @param profile Perfil a ser descarregado
+     */
+    void unload(PlayerProfile profile);
+
+    /**
+     * Consulta, fora da thread principal, os jogadores com os maiores valores de uma estatística
+     * @param stat Nome da estatística (ex: diamonds_mined)
+     * @param limit Quantidade máxima de jogadores
+     * @return Ranking em ordem decrescente
+     */
+    CompletableFuture<List<LeaderboardEntry>> getTopStat(String stat, int limit);
+
+    /**
+     * Grava o que estiver pendente e libera os recursos do armazenamento
+     */
+    void close();
+}
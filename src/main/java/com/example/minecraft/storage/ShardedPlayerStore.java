@@ -0,0 +1,260 @@
+package com.example.minecraft.storage;
+
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.file.YamlConfiguration;
+
+import com.example.minecraft.player.PlayerProfile;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
+
+/**
+ * Armazenamento com um arquivo por jogador, agrupados em pastas pelo prefixo do UUID
+ * Ex: players/3f/3f2a...-....yml
+ * O custo de carregar e salvar depende apenas dos jogadores online
+ */
+public class ShardedPlayerStore implements PlayerStore {
+
+    private final File folder;
+    private final WriteBehindSaver saver;
+
+    public ShardedPlayerStore(File folder, WriteBehindSaver saver) {
+        this.folder = folder;
+        this.saver = saver;
+
+        // Cada arquivo da pasta é o snapshot de um perfil
+        saver.recordSizes(folder, "player_snapshot_bytes");
+    }
+
+    /**
+     * Lê o arquivo do jogador sem registrar nada no armazenamento
+     * O documento lido fica no próprio perfil (preserva chaves que o perfil não conhece) e é
+     * descartado junto com ele, mesmo que o login seja negado depois do pré-carregamento
+     */
+    @Override
+    public PlayerProfile load(UUID uuid) {
+        YamlConfiguration document = saver.read(getFile(uuid));
+        PlayerProfile profile = readProfile(uuid, document);
+        profile.setStoreState(document);
+
+        return profile;
+    }
+
+    @Override
+    public void save(PlayerProfile profile) {
+        YamlConfiguration document = getDocument(profile);
+        writeProfile(profile, document);
+        profile.clearDirty();
+
+        saver.markDirty(getFile(profile.getUniqueId()), document);
+    }
+
+    @Override
+    public void flush(PlayerProfile profile) {
+        saver.flush(getFile(profile.getUniqueId()));
+    }
+
+    @Override
+    public CompletableFuture<Void> checkpoint() {
+        saver.flush();
+        return saver.barrier();
+    }
+
+    @Override
+    public void unload(PlayerProfile profile) {
+        save(profile);
+
+        // Enviar a gravação imediatamente para que um novo login leia os dados atualizados
+        saver.flush(getFile(profile.getUniqueId()));
+    }
+
+    /**
+     * Monta o ranking lendo todos os arquivos de jogadores
+     * Este formato não tem índices, então o custo cresce com o total de jogadores;
+     * para rankings frequentes use o armazenamento "sqlite"
+     */
+    @Override
+    public CompletableFuture<List<LeaderboardEntry>> getTopStat(String stat, int limit) {
+        return CompletableFuture.supplyAsync(() -> {
+            Comparator<LeaderboardEntry> byValue = Comparator.comparingLong(LeaderboardEntry::getValue);
+            PriorityQueue<LeaderboardEntry> top = new PriorityQueue<>(byValue);
+
+            if (!folder.isDirectory()) {
+                return new ArrayList<LeaderboardEntry>();
+            }
+
+            try (Stream<Path> files = Files.walk(folder.toPath(), 2)) {
+                files.filter(path -> path.toString().endsWith(".yml")).forEach(path -> {
+                    String fileName = path.getFileName().toString();
+                    UUID uuid;
+
+                    try {
+                        uuid = UUID.fromString(fileName.substring(0, fileName.length() - 4));
+                    } catch (IllegalArgumentException e) {
+                        return;
+                    }
+
+                    YamlConfiguration document = saver.read(path.toFile());
+                    top.add(new LeaderboardEntry(uuid, document.getString("name"), document.getLong("stats." + stat, 0L)));
+
+                    if (top.size() > limit) {
+                        top.poll();
+                    }
+                });
+            } catch (IOException e) {
+                throw new IllegalStateException("Não foi possível ler a pasta de jogadores", e);
+            }
+
+            List<LeaderboardEntry> entries = new ArrayList<>(top);
+            entries.sort(byValue.reversed());
+            return entries;
+        });
+    }
+
+    /**
+     * Lista os UUIDs de todos os jogadores com arquivo salvo
+     * Percorre a pasta inteira; usado apenas em migrações
+     * @return UUIDs encontrados
+     * @throws IOException Se a pasta não puder ser lida
+     */
+    public List<UUID> listPlayers() throws IOException {
+        List<UUID> players = new ArrayList<>();
+
+        if (!folder.isDirectory()) {
+            return players;
+        }
+
+        try (Stream<Path> files = Files.walk(folder.toPath(), 2)) {
+            files.filter(path -> path.toString().endsWith(".yml")).forEach(path -> {
+                String fileName = path.getFileName().toString();
+
+                try {
+                    players.add(UUID.fromString(fileName.substring(0, fileName.length() - 4)));
+                } catch (IllegalArgumentException e) {
+                    // Arquivo que não é de um jogador
+                }
+            });
+        }
+
+        return players;
+    }
+
+    @Override
+    public void close() {
+        // Os documentos pertencem aos perfis; não há nada a liberar
+    }
+
+    /**
+     * Obtém o documento YAML associado ao perfil, criando um vazio se o perfil não veio deste armazenamento
+     * @param profile Perfil do jogador
+     * @return Documento do jogador
+     */
+    private YamlConfiguration getDocument(PlayerProfile profile) {
+        if (profile.getStoreState() instanceof YamlConfiguration) {
+            return (YamlConfiguration) profile.getStoreState();
+        }
+
+        YamlConfiguration document = new YamlConfiguration();
+        profile.setStoreState(document);
+        return document;
+    }
+
+    /**
+     * Obtém o arquivo de dados de um jogador
+     * @param uuid UUID do jogador
+     * @return Arquivo do jogador
+     */
+    public File getFile(UUID uuid) {
+        String id = uuid.toString();
+        return new File(new File(folder, id.substring(0, 2)), id + ".yml");
+    }
+
+    /**
+     * Converte o documento YAML de um jogador em um perfil
+     * @param uuid UUID do jogador
+     * @param document Documento carregado
+     * @return Perfil do jogador
+     */
+    private PlayerProfile readProfile(UUID uuid, ConfigurationSection document) {
+        PlayerProfile profile = new PlayerProfile(uuid, document.getKeys(false).isEmpty());
+
+        profile.setName(document.getString("name"));
+        profile.setFirstJoinTime(document.getLong("first_join", 0L));
+        profile.setLastOnline(document.getLong("last_online", 0L));
+        profile.setLevel(document.getInt("level", 0));
+        profile.setExp((float) document.getDouble("exp", 0.0));
+
+        if (document.isConfigurationSection("last_location")) {
+            profile.setLastLocation(
+                document.getString("last_location.world"),
+                document.getDouble("last_location.x"),
+                document.getDouble("last_location.y"),
+                document.getDouble("last_location.z"),
+                (float) document.getDouble("last_location.yaw"),
+                (float) document.getDouble("last_location.pitch"));
+        }
+
+        ConfigurationSection stats = document.getConfigurationSection("stats");
+
+        if (stats != null) {
+            for (String stat : stats.getKeys(false)) {
+                profile.setStat(stat, stats.getLong(stat));
+            }
+        }
+
+        profile.setCriticalHit(document.getBoolean("effects.critical_hit", false));
+
+        ConfigurationSection data = document.getConfigurationSection("data");
+
+        if (data != null) {
+            for (String key : data.getKeys(false)) {
+                profile.setData(key, data.getString(key));
+            }
+        }
+
+        profile.clearDirty();
+        return profile;
+    }
+
+    /**
+     * Copia os campos de um perfil para o documento YAML do jogador
+     * @param profile Perfil do jogador
+     * @param document Documento de destino
+     */
+    private void writeProfile(PlayerProfile profile, ConfigurationSection document) {
+        document.set("name", profile.getName());
+        document.set("first_join", profile.getFirstJoinTime());
+        document.set("last_online", profile.getLastOnline() > 0 ? profile.getLastOnline() : null);
+        document.set("level", profile.getLevel());
+        document.set("exp", profile.getExp());
+
+        if (profile.hasLastLocation()) {
+            document.set("last_location.world", profile.getLastWorld());
+            document.set("last_location.x", profile.getLastX());
+            document.set("last_location.y", profile.getLastY());
+            document.set("last_location.z", profile.getLastZ());
+            document.set("last_location.yaw", profile.getLastYaw());
+            document.set("last_location.pitch", profile.getLastPitch());
+        }
+
+        for (Map.Entry<String, Long> entry : profile.getStats().entrySet()) {
+            document.set("stats." + entry.getKey(), entry.getValue());
+        }
+
+        document.set("effects.critical_hit", profile.hasCriticalHit());
+
+        for (Map.Entry<String, String> entry : profile.getDataMap().entrySet()) {
+            document.set("data." + entry.getKey(), entry.getValue());
+        }
+    }
+}
@@ -0,0 +1,530 @@
+package com.example.minecraft.storage;
+
+import com.example.minecraft.ExamplePlugin;
+import com.example.minecraft.metrics.LatencyHistogram;
+import com.example.minecraft.player.PlayerProfile;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Armazenamento dos jogadores em um banco SQLite embarcado (o driver já vem com o servidor)
+ * As gravações entram em uma fila de perfis alterados e são enviadas em lote, numa única
+ * transação, por uma thread dedicada; rankings são consultados pelos índices do banco
+ */
+public class SqlPlayerStore implements PlayerStore {
+
+    private static final String UPSERT_PLAYER =
+        "INSERT INTO players (uuid, name, first_join, last_online, level, exp, world, x, y, z, yaw, pitch, critical_hit) "
+        + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?) "
+        + "ON CONFLICT(uuid) DO UPDATE SET name = excluded.name, first_join = excluded.first_join, "
+        + "last_online = excluded.last_online, level = excluded.level, exp = excluded.exp, world = excluded.world, "
+        + "x = excluded.x, y = excluded.y, z = excluded.z, yaw = excluded.yaw, pitch = excluded.pitch, "
+        + "critical_hit = excluded.critical_hit";
+
+    private static final String UPSERT_STAT =
+        "INSERT INTO player_stats (uuid, stat, value) VALUES (?, ?, ?) "
+        + "ON CONFLICT(uuid, stat) DO UPDATE SET value = excluded.value";
+
+    private static final String UPSERT_DATA =
+        "INSERT INTO player_data (uuid, data_key, value) VALUES (?, ?, ?) "
+        + "ON CONFLICT(uuid, data_key) DO UPDATE SET value = excluded.value";
+
+    private static final String SELECT_PLAYER = "SELECT * FROM players WHERE uuid = ?";
+    private static final String SELECT_STATS = "SELECT stat, value FROM player_stats WHERE uuid = ?";
+    private static final String SELECT_DATA = "SELECT data_key, value FROM player_data WHERE uuid = ?";
+
+    private static final String SELECT_META = "SELECT value FROM store_meta WHERE meta_key = ?";
+    private static final String UPSERT_META =
+        "INSERT INTO store_meta (meta_key, value) VALUES (?, ?) "
+        + "ON CONFLICT(meta_key) DO UPDATE SET value = excluded.value";
+
+    private static final String SELECT_TOP =
+        "SELECT s.uuid, p.name, s.value FROM player_stats s LEFT JOIN players p ON p.uuid = s.uuid "
+        + "WHERE s.stat = ? ORDER BY s.value DESC LIMIT ?";
+
+    private final ExamplePlugin plugin;
+    private final ConnectionPool pool;
+    private final ScheduledExecutorService writer;
+
+    // Perfis alterados aguardando o próximo lote (o mais recente substitui o anterior)
+    private final Map<UUID, ProfileSnapshot> dirty;
+
+    // Perfis do lote que está sendo gravado no momento
+    private final Map<UUID, ProfileSnapshot> inFlight;
+
+    // Tempo de cada gravação em lote
+    private final LatencyHistogram flushTime;
+
+    // Tamanho aproximado, em bytes, dos valores gravados de cada perfil
+    private final LatencyHistogram snapshotSizes;
+
+    public SqlPlayerStore(ExamplePlugin plugin, String url, int poolSize, long flushIntervalMillis) throws SQLException {
+        this.plugin = plugin;
+        this.dirty = new ConcurrentHashMap<>();
+        this.inFlight = new ConcurrentHashMap<>();
+        this.flushTime = plugin.getMetrics().histogram("sql_flush");
+        this.snapshotSizes = plugin.getMetrics().sizeHistogram("player_snapshot_bytes");
+
+        try {
+            // Garantir o registro do driver em servidores com classloaders isolados
+            Class.forName("org.sqlite.JDBC");
+        } catch (ClassNotFoundException e) {
+            throw new SQLException("Driver SQLite não encontrado no servidor", e);
+        }
+
+        this.pool = new ConnectionPool(url, poolSize);
+        createSchema();
+
+        this.writer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, plugin.getName() + "-SQL");
+            thread.setDaemon(false);
+            return thread;
+        });
+
+        long interval = Math.max(50L, flushIntervalMillis);
+        writer.scheduleWithFixedDelay(this::flushSafely, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Cria as tabelas e os índices, se ainda não existirem
+     * @throws SQLException Se o banco não puder ser preparado
+     */
+    private void createSchema() throws SQLException {
+        Connection connection = pool.borrow();
+
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE IF NOT EXISTS players ("
+                + "uuid TEXT PRIMARY KEY, name TEXT, first_join INTEGER, last_online INTEGER, "
+                + "level INTEGER, exp REAL, world TEXT, x REAL, y REAL, z REAL, yaw REAL, pitch REAL, "
+                + "critical_hit INTEGER)");
+            statement.execute("CREATE TABLE IF NOT EXISTS player_stats ("
+                + "uuid TEXT NOT NULL, stat TEXT NOT NULL, value INTEGER NOT NULL, PRIMARY KEY (uuid, stat))");
+            statement.execute("CREATE INDEX IF NOT EXISTS idx_player_stats_ranking ON player_stats (stat, value DESC)");
+            statement.execute("CREATE TABLE IF NOT EXISTS player_data ("
+                + "uuid TEXT NOT NULL, data_key TEXT NOT NULL, value TEXT, PRIMARY KEY (uuid, data_key))");
+            statement.execute("CREATE TABLE IF NOT EXISTS store_meta (meta_key TEXT PRIMARY KEY, value TEXT)");
+        } finally {
+            pool.release(connection);
+        }
+    }
+
+    @Override
+    public PlayerProfile load(UUID uuid) {
+        // Dados ainda não gravados no banco têm prioridade
+        ProfileSnapshot pending = dirty.get(uuid);
+
+        if (pending == null) {
+            pending = inFlight.get(uuid);
+        }
+
+        if (pending != null) {
+            return pending.toProfile();
+        }
+
+        try {
+            return select(uuid);
+        } catch (SQLException e) {
+            throw new IllegalStateException("Não foi possível carregar os dados de " + uuid, e);
+        }
+    }
+
+    @Override
+    public void save(PlayerProfile profile) {
+        dirty.put(profile.getUniqueId(), new ProfileSnapshot(profile));
+        profile.clearDirty();
+    }
+
+    @Override
+    public void flush(PlayerProfile profile) {
+        // A cópia já está na fila; a thread do banco grava o próximo lote no intervalo configurado
+    }
+
+    @Override
+    public CompletableFuture<Void> checkpoint() {
+        // Gravar o lote na thread do banco, depois de qualquer gravação já em andamento
+        return CompletableFuture.runAsync(() -> {
+            try {
+                flush();
+            } catch (SQLException e) {
+                throw new CompletionException(e);
+            }
+        }, writer);
+    }
+
+    @Override
+    public void unload(PlayerProfile profile) {
+        save(profile);
+    }
+
+    @Override
+    public CompletableFuture<List<LeaderboardEntry>> getTopStat(String stat, int limit) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return selectTop(stat, limit);
+            } catch (SQLException e) {
+                throw new IllegalStateException("Não foi possível consultar o ranking de " + stat, e);
+            }
+        }, writer);
+    }
+
+    @Override
+    public void close() {
+        writer.shutdown();
+
+        try {
+            if (!writer.awaitTermination(30, TimeUnit.SECONDS)) {
+                plugin.getLogger().warning("Tempo esgotado aguardando as gravações do banco de dados.");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        // Gravar o que restou na fila antes de fechar as conexões
+        flushSafely();
+        pool.close();
+    }
+
+    private void flushSafely() {
+        if (dirty.isEmpty()) {
+            return;
+        }
+
+        long startNanos = System.nanoTime();
+
+        try {
+            flush();
+            flushTime.record(System.nanoTime() - startNanos);
+        } catch (SQLException e) {
+            plugin.getLogger().severe("Não foi possível gravar os dados dos jogadores no banco: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Grava em lote todos os perfis alterados em uma única transação
+     * @throws SQLException Se a gravação falhar (os perfis voltam para a fila)
+     */
+    private void flush() throws SQLException {
+        if (dirty.isEmpty()) {
+            return;
+        }
+
+        Iterator<Map.Entry<UUID, ProfileSnapshot>> iterator = dirty.entrySet().iterator();
+
+        while (iterator.hasNext()) {
+            Map.Entry<UUID, ProfileSnapshot> entry = iterator.next();
+            inFlight.put(entry.getKey(), entry.getValue());
+            iterator.remove();
+        }
+
+        Connection connection = pool.borrow();
+
+        try (PreparedStatement players = connection.prepareStatement(UPSERT_PLAYER);
+             PreparedStatement stats = connection.prepareStatement(UPSERT_STAT);
+             PreparedStatement data = connection.prepareStatement(UPSERT_DATA)) {
+            connection.setAutoCommit(false);
+
+            int[] sizes = new int[inFlight.size()];
+            int count = 0;
+
+            for (ProfileSnapshot snapshot : inFlight.values()) {
+                sizes[count++] = snapshot.addBatch(players, stats, data);
+            }
+
+            players.executeBatch();
+            stats.executeBatch();
+            data.executeBatch();
+            connection.commit();
+
+            for (int i = 0; i < count; i++) {
+                snapshotSizes.record(sizes[i]);
+            }
+
+            inFlight.clear();
+        } catch (SQLException e) {
+            // Devolver para a fila sem sobrescrever alterações mais recentes
+            for (Map.Entry<UUID, ProfileSnapshot> entry : inFlight.entrySet()) {
+                dirty.putIfAbsent(entry.getKey(), entry.getValue());
+            }
+
+            inFlight.clear();
+
+            try {
+                connection.rollback();
+            } catch (SQLException rollbackError) {
+                e.addSuppressed(rollbackError);
+            }
+
+            throw e;
+        } finally {
+            connection.setAutoCommit(true);
+            pool.release(connection);
+        }
+    }
+
+    private PlayerProfile select(UUID uuid) throws SQLException {
+        Connection connection = pool.borrow();
+
+        try {
+            String id = uuid.toString();
+            PlayerProfile profile;
+
+            try (PreparedStatement statement = connection.prepareStatement(SELECT_PLAYER)) {
+                statement.setString(1, id);
+
+                try (ResultSet result = statement.executeQuery()) {
+                    if (!result.next()) {
+                        return new PlayerProfile(uuid, true);
+                    }
+
+                    profile = new PlayerProfile(uuid, false);
+                    profile.setName(result.getString("name"));
+                    profile.setFirstJoinTime(result.getLong("first_join"));
+                    profile.setLastOnline(result.getLong("last_online"));
+                    profile.setLevel(result.getInt("level"));
+                    profile.setExp(result.getFloat("exp"));
+                    profile.setCriticalHit(result.getInt("critical_hit") != 0);
+
+                    String world = result.getString("world");
+
+                    if (world != null) {
+                        profile.setLastLocation(world, result.getDouble("x"), result.getDouble("y"),
+                            result.getDouble("z"), result.getFloat("yaw"), result.getFloat("pitch"));
+                    }
+                }
+            }
+
+            try (PreparedStatement statement = connection.prepareStatement(SELECT_STATS)) {
+                statement.setString(1, id);
+
+                try (ResultSet result = statement.executeQuery()) {
+                    while (result.next()) {
+                        profile.setStat(result.getString("stat"), result.getLong("value"));
+                    }
+                }
+            }
+
+            try (PreparedStatement statement = connection.prepareStatement(SELECT_DATA)) {
+                statement.setString(1, id);
+
+                try (ResultSet result = statement.executeQuery()) {
+                    while (result.next()) {
+                        profile.setData(result.getString("data_key"), result.getString("value"));
+                    }
+                }
+            }
+
+            profile.clearDirty();
+            return profile;
+        } finally {
+            pool.release(connection);
+        }
+    }
+
+    /**
+     * Verifica se o banco ainda não tem nenhum jogador
+     * @return true se a tabela de jogadores estiver vazia
+     * @throws SQLException Se a consulta falhar
+     */
+    public boolean isEmpty() throws SQLException {
+        Connection connection = pool.borrow();
+
+        try (Statement statement = connection.createStatement();
+             ResultSet result = statement.executeQuery("SELECT 1 FROM players LIMIT 1")) {
+            return !result.next();
+        } finally {
+            pool.release(connection);
+        }
+    }
+
+    /**
+     * Lê um valor de controle do banco (ex: estado de uma migração)
+     * @param key Chave do valor
+     * @return Valor salvo ou null se não existir
+     * @throws SQLException Se a consulta falhar
+     */
+    public String getMeta(String key) throws SQLException {
+        Connection connection = pool.borrow();
+
+        try (PreparedStatement statement = connection.prepareStatement(SELECT_META)) {
+            statement.setString(1, key);
+
+            try (ResultSet result = statement.executeQuery()) {
+                return result.next() ? result.getString(1) : null;
+            }
+        } finally {
+            pool.release(connection);
+        }
+    }
+
+    /**
+     * Grava um valor de controle no banco
+     * @param key Chave do valor
+     * @param value Valor a ser salvo
+     * @throws SQLException Se a gravação falhar
+     */
+    public void setMeta(String key, String value) throws SQLException {
+        Connection connection = pool.borrow();
+
+        try (PreparedStatement statement = connection.prepareStatement(UPSERT_META)) {
+            statement.setString(1, key);
+            statement.setString(2, value);
+            statement.executeUpdate();
+        } finally {
+            pool.release(connection);
+        }
+    }
+
+    private List<LeaderboardEntry> selectTop(String stat, int limit) throws SQLException {
+        Connection connection = pool.borrow();
+
+        try (PreparedStatement statement = connection.prepareStatement(SELECT_TOP)) {
+            statement.setString(1, stat);
+            statement.setInt(2, limit);
+
+            List<LeaderboardEntry> entries = new ArrayList<>(limit);
+
+            try (ResultSet result = statement.executeQuery()) {
+                while (result.next()) {
+                    entries.add(new LeaderboardEntry(UUID.fromString(result.getString(1)),
+                        result.getString(2), result.getLong(3)));
+                }
+            }
+
+            return entries;
+        } finally {
+            pool.release(connection);
+        }
+    }
+
+    /**
+     * Cópia imutável de um perfil, criada na thread principal e gravada pela thread do banco
+     */
+    private static final class ProfileSnapshot {
+
+        private final UUID uuid;
+        private final String name;
+        private final long firstJoin;
+        private final long lastOnline;
+        private final int level;
+        private final float exp;
+        private final String world;
+        private final double x;
+        private final double y;
+        private final double z;
+        private final float yaw;
+        private final float pitch;
+        private final boolean criticalHit;
+        private final Map<String, Long> stats;
+        private final Map<String, String> data;
+
+        private ProfileSnapshot(PlayerProfile profile) {
+            this.uuid = profile.getUniqueId();
+            this.name = profile.getName();
+            this.firstJoin = profile.getFirstJoinTime();
+            this.lastOnline = profile.getLastOnline();
+            this.level = profile.getLevel();
+            this.exp = profile.getExp();
+            this.world = profile.getLastWorld();
+            this.x = profile.getLastX();
+            this.y = profile.getLastY();
+            this.z = profile.getLastZ();
+            this.yaw = profile.getLastYaw();
+            this.pitch = profile.getLastPitch();
+            this.criticalHit = profile.hasCriticalHit();
+            this.stats = new HashMap<>(profile.getStats());
+            this.data = new LinkedHashMap<>(profile.getDataMap());
+        }
+
+        /**
+         * Adiciona as linhas do perfil aos lotes
+         * @return Tamanho aproximado dos valores enviados, em bytes (textos em UTF-8, números pela largura)
+         */
+        private int addBatch(PreparedStatement players, PreparedStatement statsStatement,
+                             PreparedStatement dataStatement) throws SQLException {
+            String id = uuid.toString();
+            int idBytes = id.length();
+            int bytes = idBytes + encodedLength(name) + encodedLength(world) + 8 + 8 + 4 + 4 + 8 * 3 + 4 * 2 + 4;
+
+            players.setString(1, id);
+            players.setString(2, name);
+            players.setLong(3, firstJoin);
+            players.setLong(4, lastOnline);
+            players.setInt(5, level);
+            players.setFloat(6, exp);
+            players.setString(7, world);
+            players.setDouble(8, x);
+            players.setDouble(9, y);
+            players.setDouble(10, z);
+            players.setFloat(11, yaw);
+            players.setFloat(12, pitch);
+            players.setInt(13, criticalHit ? 1 : 0);
+            players.addBatch();
+
+            for (Map.Entry<String, Long> entry : stats.entrySet()) {
+                statsStatement.setString(1, id);
+                statsStatement.setString(2, entry.getKey());
+                statsStatement.setLong(3, entry.getValue());
+                statsStatement.addBatch();
+                bytes += idBytes + encodedLength(entry.getKey()) + 8;
+            }
+
+            for (Map.Entry<String, String> entry : data.entrySet()) {
+                dataStatement.setString(1, id);
+                dataStatement.setString(2, entry.getKey());
+                dataStatement.setString(3, entry.getValue());
+                dataStatement.addBatch();
+                bytes += idBytes + encodedLength(entry.getKey()) + encodedLength(entry.getValue());
+            }
+
+            return bytes;
+        }
+
+        private static int encodedLength(String value) {
+            return value != null ? value.getBytes(StandardCharsets.UTF_8).length : 0;
+        }
+
+        private PlayerProfile toProfile() {
+            PlayerProfile profile = new PlayerProfile(uuid, false);
+
+            profile.setName(name);
+            profile.setFirstJoinTime(firstJoin);
+            profile.setLastOnline(lastOnline);
+            profile.setLevel(level);
+            profile.setExp(exp);
+            profile.setCriticalHit(criticalHit);
+
+            if (world != null) {
+                profile.setLastLocation(world, x, y, z, yaw, pitch);
+            }
+
+            for (Map.Entry<String, Long> entry : stats.entrySet()) {
+                profile.setStat(entry.getKey(), entry.getValue());
+            }
+
+            for (Map.Entry<String, String> entry : data.entrySet()) {
+                profile.setData(entry.getKey(), entry.getValue());
+            }
+
+            profile.clearDirty();
+            return profile;
+        }
+    }
+}
@@ -0,0 +1,305 @@
+package com.example.minecraft.storage;
+
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.file.FileConfiguration;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.bukkit.scheduler.BukkitTask;
+
+import com.example.minecraft.ExamplePlugin;
+import com.example.minecraft.metrics.LatencyHistogram;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Persistência assíncrona (write-behind) para arquivos YAML
+ * As alterações apenas marcam o arquivo como "sujo"; periodicamente um snapshot
+ * é copiado na thread principal e gravado em disco por uma thread de I/O dedicada
+ */
+public class WriteBehindSaver {
+
+    private final ExamplePlugin plugin;
+    private final ExecutorService ioExecutor;
+
+    // Arquivos alterados desde o último flush (várias alterações viram uma única gravação)
+    private final Map<File, FileConfiguration> dirtyFiles;
+    
+    // Snapshots enviados para a thread de I/O e ainda não gravados
+    private final Map<File, YamlConfiguration> pendingWrites;
+    
+    // Tarefas executadas antes de cada flush (ex: copiar dados em memória para os arquivos)
+    private final List<Runnable> flushHooks;
+
+    // Tempo de gravação de cada arquivo na thread de I/O e total de bytes gravados
+    private final LatencyHistogram writeTime;
+    private final AtomicLong bytesCounter;
+
+    // Quantidade de gravações que falharam desde o início
+    private final AtomicLong failedWrites;
+
+    // Pasta cujos arquivos gravados têm o tamanho registrado em fileSizes (ex: perfis dos jogadores)
+    private volatile Path sizedFolder;
+    private volatile LatencyHistogram fileSizes;
+
+    private BukkitTask flushTask;
+
+    public WriteBehindSaver(ExamplePlugin plugin) {
+        this.plugin = plugin;
+        this.dirtyFiles = new ConcurrentHashMap<>();
+        this.pendingWrites = new ConcurrentHashMap<>();
+        this.flushHooks = new ArrayList<>();
+        this.writeTime = plugin.getMetrics().histogram("file_save");
+        this.bytesCounter = plugin.getMetrics().counter("file_save_bytes");
+        this.failedWrites = new AtomicLong();
+        this.ioExecutor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, plugin.getName() + "-IO");
+            thread.setDaemon(false);
+            return thread;
+        });
+    }
+
+    /**
+     * Inicia a tarefa periódica que grava os arquivos alterados
+     * @param intervalTicks Intervalo entre gravações em ticks
+     */
+    public void start(long intervalTicks) {
+        long interval = Math.max(1L, intervalTicks);
+        flushTask = plugin.getServer().getScheduler().runTaskTimer(plugin, this::flush, interval, interval);
+    }
+
+    /**
+     * Registra uma tarefa a ser executada na thread principal antes de cada flush
+     * @param hook Tarefa a ser executada
+     */
+    public void addFlushHook(Runnable hook) {
+        flushHooks.add(hook);
+    }
+
+    /**
+     * Marca um arquivo para ser gravado no próximo flush
+     * @param file Arquivo de destino
+     * @param config Configuração com os dados do arquivo
+     */
+    public void markDirty(File file, FileConfiguration config) {
+        dirtyFiles.put(file, config);
+    }
+
+    /**
+     * Registra o tamanho de cada arquivo gravado dentro de uma pasta em um histograma de tamanhos
+     * @param folder Pasta acompanhada
+     * @param metric Nome do histograma
+     */
+    public void recordSizes(File folder, String metric) {
+        fileSizes = plugin.getMetrics().sizeHistogram(metric);
+        sizedFolder = folder.toPath();
+    }
+
+    /**
+     * Copia os arquivos alterados e envia as cópias para a thread de I/O
+     * Deve ser chamado na thread principal, que é a única que altera as configurações
+     */
+    public void flush() {
+        for (Runnable hook : flushHooks) {
+            hook.run();
+        }
+
+        if (dirtyFiles.isEmpty()) {
+            return;
+        }
+
+        Iterator<Map.Entry<File, FileConfiguration>> iterator = dirtyFiles.entrySet().iterator();
+
+        while (iterator.hasNext()) {
+            Map.Entry<File, FileConfiguration> entry = iterator.next();
+            iterator.remove();
+
+            submit(entry.getKey(), entry.getValue());
+        }
+    }
+
+    /**
+     * Envia imediatamente um único arquivo para a thread de I/O, se estiver sujo
+     * Deve ser chamado na thread principal
+     * @param file Arquivo a ser gravado
+     */
+    public void flush(File file) {
+        FileConfiguration config = dirtyFiles.remove(file);
+
+        if (config != null) {
+            submit(file, config);
+        }
+    }
+
+    /**
+     * Lê um arquivo considerando as gravações que ainda não chegaram ao disco
+     * Pode ser chamado em qualquer thread
+     * @param file Arquivo a ser lido
+     * @return Configuração carregada (vazia se o arquivo não existir)
+     */
+    public YamlConfiguration read(File file) {
+        YamlConfiguration pending = pendingWrites.get(file);
+
+        if (pending != null) {
+            return snapshot(pending);
+        }
+
+        return YamlConfiguration.loadConfiguration(file);
+    }
+
+    /**
+     * Acompanha as gravações já enviadas para a thread de I/O
+     * Como a thread é única, o futuro só é concluído depois de todas elas
+     * @return Futuro concluído quando as gravações enviadas até agora terminarem,
+     *         ou concluído com erro se alguma delas falhar
+     */
+    public CompletableFuture<Void> barrier() {
+        long failuresBefore = failedWrites.get();
+
+        return CompletableFuture.runAsync(() -> {
+            if (failedWrites.get() != failuresBefore) {
+                throw new IllegalStateException("Falha ao gravar um ou mais arquivos de dados");
+            }
+        }, ioExecutor);
+    }
+
+    private void submit(File file, FileConfiguration config) {
+        YamlConfiguration snapshot = snapshot(config);
+        pendingWrites.put(file, snapshot);
+
+        ioExecutor.execute(() -> write(file, snapshot));
+    }
+
+    /**
+     * Encerra a thread de I/O e grava de forma síncrona o que ainda estiver pendente
+     * Deve ser chamado no onDisable do plugin
+     */
+    public void shutdown() {
+        if (flushTask != null) {
+            flushTask.cancel();
+            flushTask = null;
+        }
+
+        // Aguardar as gravações já enviadas para manter a ordem dos snapshots
+        ioExecutor.shutdown();
+
+        try {
+            if (!ioExecutor.awaitTermination(30, TimeUnit.SECONDS)) {
+                plugin.getLogger().warning("Tempo esgotado aguardando as gravações pendentes.");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        // Gravar o restante diretamente na thread atual
+        for (Map.Entry<File, FileConfiguration> entry : dirtyFiles.entrySet()) {
+            write(entry.getKey(), snapshot(entry.getValue()));
+        }
+
+        dirtyFiles.clear();
+    }
+
+    /**
+     * Serializa e grava um snapshot de forma atômica (arquivo temporário + rename)
+     * @param file Arquivo de destino
+     * @param snapshot Cópia dos dados a serem gravados
+     */
+    private void write(File file, YamlConfiguration snapshot) {
+        long startNanos = System.nanoTime();
+
+        try {
+            int bytes = writeAtomically(file, snapshot.saveToString());
+            writeTime.record(System.nanoTime() - startNanos);
+            bytesCounter.addAndGet(bytes);
+
+            Path folder = sizedFolder;
+
+            if (folder != null && file.toPath().startsWith(folder)) {
+                fileSizes.record(bytes);
+            }
+        } catch (IOException e) {
+            failedWrites.incrementAndGet();
+            plugin.getLogger().severe("Não foi possível salvar o arquivo " + file.getName() + ": " + e.getMessage());
+        } finally {
+            pendingWrites.remove(file, snapshot);
+        }
+    }
+
+    /**
+     * Grava o conteúdo em um arquivo temporário, força a escrita em disco e o renomeia
+     * para o destino, evitando arquivos corrompidos caso o servidor caia durante a gravação
+     * @param file Arquivo de destino
+     * @param contents Conteúdo do arquivo
+     * @return Quantidade de bytes gravados
+     * @throws IOException Se a gravação falhar
+     */
+    public static int writeAtomically(File file, String contents) throws IOException {
+        File parent = file.getAbsoluteFile().getParentFile();
+
+        if (parent != null) {
+            parent.mkdirs();
+        }
+
+        File tempFile = new File(parent, file.getName() + ".tmp");
+        ByteBuffer buffer = ByteBuffer.wrap(contents.getBytes(StandardCharsets.UTF_8));
+
+        try (FileChannel channel = FileChannel.open(tempFile.toPath(), StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+
+            channel.force(true);
+        }
+
+        try {
+            Files.move(tempFile.toPath(), file.toPath(), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(tempFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        }
+
+        return buffer.capacity();
+    }
+
+    /**
+     * Cria uma cópia independente de uma seção, segura para ser lida em outra thread
+     * @param source Seção de origem
+     * @return Cópia da seção
+     */
+    public static YamlConfiguration snapshot(ConfigurationSection source) {
+        YamlConfiguration copy = new YamlConfiguration();
+        copySection(source, copy);
+        return copy;
+    }
+
+    private static void copySection(ConfigurationSection from, ConfigurationSection to) {
+        for (String key : from.getKeys(false)) {
+            Object value = from.get(key);
+
+            if (value instanceof ConfigurationSection) {
+                copySection((ConfigurationSection) value, to.createSection(key));
+            } else if (value instanceof List) {
+                to.set(key, new ArrayList<>((List<?>) value));
+            } else {
+                to.set(key, value);
+            }
+        }
+    }
+}
@@ -0,0 +1,277 @@
+package com.example.minecraft.teleport;
+
+import org.bukkit.Chunk;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.Listener;
+import org.bukkit.event.world.WorldLoadEvent;
+import org.bukkit.scheduler.BukkitTask;
+
+import com.example.minecraft.ExamplePlugin;
+import com.example.minecraft.metrics.LatencyHistogram;
+
+import java.lang.reflect.Method;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * Teleportes que não travam a thread principal carregando chunks
+ * O chunk de destino é carregado antes do teleporte: de forma assíncrona no Paper ou, no
+ * Spigot, aos poucos (um limite de chunks por tick); os chunks ao redor do spawn de cada
+ * mundo ficam sempre carregados com tickets do plugin
+ * Deve ser usado na thread principal; os futures também são completados nela
+ */
+public class TeleportService implements Listener {
+
+    private final ExamplePlugin plugin;
+
+    // Métodos do Paper, se disponíveis (World.getChunkAtAsync e Entity.teleportAsync)
+    private final Method getChunkAtAsync;
+    private final Method teleportAsync;
+
+    // Executor que garante a execução na thread principal
+    private final Executor mainThread;
+
+    // Teleportes em andamento por jogador (um novo pedido reaproveita o anterior)
+    private final Map<UUID, CompletableFuture<Boolean>> pending;
+
+    // Chunks aguardando carregamento síncrono (apenas no Spigot)
+    private final Deque<ChunkRequest> chunkQueue;
+
+    // Tempo entre o pedido de teleporte e o chunk de destino estar carregado
+    private final LatencyHistogram chunkWaitTime;
+
+    private int spawnChunkRadius;
+    private int syncChunkLoadsPerTick;
+    private BukkitTask chunkTask;
+
+    public TeleportService(ExamplePlugin plugin) {
+        this.plugin = plugin;
+        this.getChunkAtAsync = findMethod(World.class, "getChunkAtAsync", int.class, int.class, boolean.class);
+        this.teleportAsync = findMethod(Entity.class, "teleportAsync", Location.class);
+        this.mainThread = runnable -> {
+            if (plugin.getServer().isPrimaryThread()) {
+                runnable.run();
+            } else {
+                plugin.getServer().getScheduler().runTask(plugin, runnable);
+            }
+        };
+        this.pending = new HashMap<>();
+        this.chunkQueue = new ArrayDeque<>();
+        this.chunkWaitTime = plugin.getMetrics().histogram("teleport_chunk_wait");
+    }
+
+    private static Method findMethod(Class<?> type, String name, Class<?>... parameters) {
+        try {
+            return type.getMethod(name, parameters);
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Lê a configuração, fixa os chunks do spawn dos mundos carregados e registra os eventos
+     */
+    public void start() {
+        spawnChunkRadius = plugin.getSettings().getInt("teleport.spawn-chunk-radius", 1);
+        syncChunkLoadsPerTick = Math.max(1, plugin.getSettings().getInt("teleport.sync-chunk-loads-per-tick", 2));
+
+        for (World world : plugin.getServer().getWorlds()) {
+            pinSpawnChunks(world);
+        }
+
+        if (getChunkAtAsync == null) {
+            chunkTask = plugin.getServer().getScheduler().runTaskTimer(plugin, this::loadQueuedChunks, 1L, 1L);
+        }
+
+        plugin.getProfiler().registerEvents(this);
+    }
+
+    /**
+     * Remove os tickets do plugin e cancela os teleportes pendentes
+     */
+    public void shutdown() {
+        if (chunkTask != null) {
+            chunkTask.cancel();
+            chunkTask = null;
+        }
+
+        for (World world : plugin.getServer().getWorlds()) {
+            world.removePluginChunkTickets(plugin);
+        }
+
+        for (ChunkRequest request : chunkQueue) {
+            request.future.complete(null);
+        }
+
+        chunkQueue.clear();
+        pending.clear();
+    }
+
+    /**
+     * Verifica se o carregamento assíncrono de chunks do Paper está disponível
+     * @return true se estiver rodando no Paper
+     */
+    public boolean isAsyncChunkLoadingSupported() {
+        return getChunkAtAsync != null;
+    }
+
+    /**
+     * Teletransporta um jogador depois de carregar o chunk de destino
+     * @param player Jogador a ser teletransportado
+     * @param destination Destino
+     * @return Future completado na thread principal com true se o teleporte ocorreu
+     */
+    public CompletableFuture<Boolean> teleport(Player player, Location destination) {
+        CompletableFuture<Boolean> current = pending.get(player.getUniqueId());
+
+        if (current != null) {
+            return current;
+        }
+
+        UUID uuid = player.getUniqueId();
+        long startNanos = System.nanoTime();
+
+        CompletableFuture<Boolean> future = loadChunk(destination)
+            .thenComposeAsync(chunk -> {
+                chunkWaitTime.record(System.nanoTime() - startNanos);
+
+                // O jogador pode ter saído enquanto o chunk carregava
+                if (chunk == null || !player.isOnline()) {
+                    return CompletableFuture.completedFuture(false);
+                }
+
+                return teleportNow(player, destination);
+            }, mainThread)
+            .exceptionally(error -> {
+                plugin.getLogger().warning("Falha ao teletransportar " + player.getName() + ": " + error.getMessage());
+                return false;
+            })
+            .thenApplyAsync(success -> {
+                pending.remove(uuid);
+                return success;
+            }, mainThread);
+
+        // Se tudo já terminou de forma síncrona, não deixar o future registrado
+        if (!future.isDone()) {
+            pending.put(uuid, future);
+        }
+
+        return future;
+    }
+
+    /**
+     * Carrega o chunk de uma localização sem travar a thread principal
+     * @param location Localização dentro do chunk
+     * @return Future com o chunk carregado (ou null se o serviço foi encerrado)
+     */
+    public CompletableFuture<Chunk> loadChunk(Location location) {
+        World world = location.getWorld();
+        int chunkX = location.getBlockX() >> 4;
+        int chunkZ = location.getBlockZ() >> 4;
+
+        if (world.isChunkLoaded(chunkX, chunkZ)) {
+            return CompletableFuture.completedFuture(world.getChunkAt(chunkX, chunkZ));
+        }
+
+        if (getChunkAtAsync != null) {
+            try {
+                @SuppressWarnings("unchecked")
+                CompletableFuture<Chunk> future = (CompletableFuture<Chunk>) getChunkAtAsync.invoke(world, chunkX, chunkZ, true);
+                return future;
+            } catch (ReflectiveOperationException e) {
+                plugin.getLogger().warning("Carregamento assíncrono de chunks indisponível: " + e.getMessage());
+            }
+        }
+
+        ChunkRequest request = new ChunkRequest(world, chunkX, chunkZ);
+        chunkQueue.add(request);
+        return request.future;
+    }
+
+    @SuppressWarnings("unchecked")
+    private CompletableFuture<Boolean> teleportNow(Player player, Location destination) {
+        if (teleportAsync != null) {
+            try {
+                return (CompletableFuture<Boolean>) teleportAsync.invoke(player, destination);
+            } catch (ReflectiveOperationException e) {
+                // Usar o teleporte síncrono abaixo
+            }
+        }
+
+        return CompletableFuture.completedFuture(player.teleport(destination));
+    }
+
+    /**
+     * Carrega alguns chunks da fila por tick (apenas no Spigot)
+     */
+    private void loadQueuedChunks() {
+        int loads = 0;
+
+        while (loads < syncChunkLoadsPerTick && !chunkQueue.isEmpty()) {
+            ChunkRequest request = chunkQueue.poll();
+
+            // Chunks que outro pedido já carregou não contam no limite
+            if (!request.world.isChunkLoaded(request.chunkX, request.chunkZ)) {
+                loads++;
+            }
+
+            request.future.complete(request.world.getChunkAt(request.chunkX, request.chunkZ));
+        }
+    }
+
+    /**
+     * Mantém carregados os chunks ao redor do spawn de um mundo
+     * @param world Mundo
+     */
+    private void pinSpawnChunks(World world) {
+        if (spawnChunkRadius < 0) {
+            return;
+        }
+
+        Location spawn = world.getSpawnLocation();
+        int centerX = spawn.getBlockX() >> 4;
+        int centerZ = spawn.getBlockZ() >> 4;
+
+        for (int x = centerX - spawnChunkRadius; x <= centerX + spawnChunkRadius; x++) {
+            for (int z = centerZ - spawnChunkRadius; z <= centerZ + spawnChunkRadius; z++) {
+                world.addPluginChunkTicket(x, z, plugin);
+            }
+        }
+    }
+
+    /**
+     * Fixa os chunks do spawn dos mundos carregados depois do plugin
+     * @param event Evento de carregamento de mundo
+     */
+    @EventHandler
+    public void onWorldLoad(WorldLoadEvent event) {
+        pinSpawnChunks(event.getWorld());
+    }
+
+    /**
+     * Pedido de carregamento síncrono de um chunk
+     */
+    private static final class ChunkRequest {
+
+        private final World world;
+        private final int chunkX;
+        private final int chunkZ;
+        private final CompletableFuture<Chunk> future;
+
+        private ChunkRequest(World world, int chunkX, int chunkZ) {
+            this.world = world;
+            this.chunkX = chunkX;
+            this.chunkZ = chunkZ;
+            this.future = new CompletableFuture<>();
+        }
+    }
+}
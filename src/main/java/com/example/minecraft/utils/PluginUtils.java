@@ -12,7 +12,9 @@ import org.bukkit.potion.PotionEffectType;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Classe utilitária com métodos comuns para facilitar o desenvolvimento
@@ -21,6 +23,10 @@ import java.util.Random;
 public class PluginUtils {
 
     private static final Random random = new Random();
+    
+    // Cache das mensagens já traduzidas por formatMessage
+    private static final int FORMAT_CACHE_LIMIT = 1024;
+    private static final Map<String, String> formatCache = new ConcurrentHashMap<>();
 
     /**
      * Cria um item personalizado com nome e descrição
@@ -135,11 +141,67 @@ public class PluginUtils {
     
     /**
      * Formata uma mensagem com cores usando o código de cor '§'
+     * Suporta códigos legados (&a, &l, ...) e hexadecimais (&#RRGGBB)
+     * O resultado é guardado em cache, então textos repetidos são traduzidos uma única vez
      * @param message Mensagem a ser formatada
      * @return Mensagem formatada
      */
     public static String formatMessage(String message) {
-        return message.replace("&", "§");
+        String cached = formatCache.get(message);
+        
+        if (cached != null) {
+            return cached;
+        }
+        
+        String formatted = translateColors(message);
+        
+        // Limitar o cache para textos gerados dinamicamente não ocuparem memória indefinidamente
+        if (formatCache.size() >= FORMAT_CACHE_LIMIT) {
+            formatCache.clear();
+        }
+        
+        formatCache.put(message, formatted);
+        return formatted;
+    }
+    
+    /**
+     * Traduz os códigos de cor de uma mensagem
+     * @param message Mensagem com códigos usando '&'
+     * @return Mensagem com códigos usando '§'
+     */
+    private static String translateColors(String message) {
+        StringBuilder builder = new StringBuilder(message.length() + 16);
+        int length = message.length();
+        
+        for (int i = 0; i < length; i++) {
+            char c = message.charAt(i);
+            
+            if (c == '&' && i + 7 < length && message.charAt(i + 1) == '#' && isHex(message, i + 2, 6)) {
+                // &#RRGGBB -> §x§R§R§G§G§B§B
+                builder.append('§').append('x');
+                for (int j = i + 2; j < i + 8; j++) {
+                    builder.append('§').append(Character.toLowerCase(message.charAt(j)));
+                }
+                i += 7;
+            } else if (c == '&' && i + 1 < length && "0123456789AaBbCcDdEeFfKkLlMmNnOoRrXx".indexOf(message.charAt(i + 1)) >= 0) {
+                builder.append('§').append(Character.toLowerCase(message.charAt(i + 1)));
+                i++;
+            } else {
+                builder.append(c);
+            }
+        }
+        
+        return builder.toString();
+    }
+    
+    private static boolean isHex(String text, int start, int count) {
+        for (int i = start; i < start + count; i++) {
+            if (Character.digit(text.charAt(i), 16) < 0) {
+                return false;
+            }
+        }
+        
+        return true;
     }
     
     /**
@@ -189,4 +251,19 @@ public class PluginUtils {
         
         return builder.toString();
     }
+    
+    /**
+     * Formata uma duração em horas e minutos (ex: 12h 05m)
+     * @param seconds Duração em segundos
+     * @return Duração formatada
+     */
+    public static String formatDuration(long seconds) {
+        long minutes = Math.max(0L, seconds) / 60L;
+        
+        if (minutes < 60L) {
+            return minutes + "m";
+        }
+        
+        return (minutes / 60L) + "h " + String.format("%02dm", minutes % 60L);
+    }
 }
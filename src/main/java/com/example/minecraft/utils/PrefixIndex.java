@@ -0,0 +1,229 @@
+package com.example.minecraft.utils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Índice de textos para autocompletar por prefixo, sem diferenciar maiúsculas de minúsculas
+ * Os textos ficam em um array ordenado atualizado a cada inclusão; uma consulta é uma busca
+ * binária seguida da leitura do intervalo que começa com o prefixo, sem converter o texto
+ * digitado nem percorrer as opções que não combinam
+ * Não é thread-safe
+ */
+public class PrefixIndex {
+
+    // Textos originais e suas versões em minúsculas, ordenados pela versão em minúsculas
+    private String[] keys;
+    private String[] lowered;
+    private int size;
+
+    public PrefixIndex() {
+        this.keys = new String[8];
+        this.lowered = new String[8];
+    }
+
+    /**
+     * Cria um índice com um conjunto fixo de opções (ex: subcomandos)
+     * @param options Opções disponíveis
+     */
+    public PrefixIndex(String... options) {
+        this();
+
+        for (String option : options) {
+            add(option);
+        }
+    }
+
+    /**
+     * Adiciona um texto ao índice
+     * @param key Texto a ser adicionado
+     * @return true se o texto ainda não estava no índice
+     */
+    public boolean add(String key) {
+        String lower = lower(key);
+        int position = find(lower, key);
+
+        if (position >= 0) {
+            return false;
+        }
+
+        int insertAt = -position - 1;
+
+        if (size == keys.length) {
+            keys = Arrays.copyOf(keys, size * 2);
+            lowered = Arrays.copyOf(lowered, size * 2);
+        }
+
+        System.arraycopy(keys, insertAt, keys, insertAt + 1, size - insertAt);
+        System.arraycopy(lowered, insertAt, lowered, insertAt + 1, size - insertAt);
+        keys[insertAt] = key;
+        lowered[insertAt] = lower;
+        size++;
+        return true;
+    }
+
+    /**
+     * Remove um texto do índice
+     * @param key Texto a ser removido
+     * @return true se o texto estava no índice
+     */
+    public boolean remove(String key) {
+        int position = find(lower(key), key);
+
+        if (position < 0) {
+            return false;
+        }
+
+        System.arraycopy(keys, position + 1, keys, position, size - position - 1);
+        System.arraycopy(lowered, position + 1, lowered, position, size - position - 1);
+        size--;
+        keys[size] = null;
+        lowered[size] = null;
+        return true;
+    }
+
+    /**
+     * Verifica se um texto está no índice
+     * @param key Texto exato
+     * @return true se o texto estiver no índice
+     */
+    public boolean contains(String key) {
+        return find(lower(key), key) >= 0;
+    }
+
+    /**
+     * Obtém a quantidade de textos no índice
+     * @return Quantidade de textos
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Obtém os textos que começam com o prefixo, em ordem alfabética
+     * @param prefix Texto digitado (maiúsculas e minúsculas são equivalentes)
+     * @param limit Quantidade máxima de resultados
+     * @return Lista com no máximo limit textos
+     */
+    public List<String> complete(String prefix, int limit) {
+        int start = lowerBound(prefix);
+        int end = start;
+
+        while (end < size && end - start < limit && startsWith(lowered[end], prefix)) {
+            end++;
+        }
+
+        if (start == end) {
+            return Collections.emptyList();
+        }
+
+        List<String> result = new ArrayList<>(end - start);
+
+        for (int i = start; i < end; i++) {
+            result.add(keys[i]);
+        }
+
+        return result;
+    }
+
+    /**
+     * Busca binária pelo texto exato
+     * @return Posição do texto ou (-(posição de inserção) - 1) se não existir
+     */
+    private int find(String lower, String key) {
+        int low = 0;
+        int high = size - 1;
+
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            int compare = lowered[middle].compareTo(lower);
+
+            if (compare == 0) {
+                compare = keys[middle].compareTo(key);
+            }
+
+            if (compare < 0) {
+                low = middle + 1;
+            } else if (compare > 0) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+
+        return -(low + 1);
+    }
+
+    /**
+     * Posição do primeiro texto maior ou igual ao prefixo (ignorando maiúsculas)
+     */
+    private int lowerBound(String prefix) {
+        int low = 0;
+        int high = size;
+
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+
+            if (compareLowered(lowered[middle], prefix) < 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+
+        return low;
+    }
+
+    /**
+     * Compara um texto em minúsculas com um texto qualquer, convertendo-o caractere a caractere
+     */
+    private static int compareLowered(String lower, String other) {
+        int length = Math.min(lower.length(), other.length());
+
+        for (int i = 0; i < length; i++) {
+            char a = lower.charAt(i);
+            char b = Character.toLowerCase(other.charAt(i));
+
+            if (a != b) {
+                return a - b;
+            }
+        }
+
+        return lower.length() - other.length();
+    }
+
+    private static boolean startsWith(String lower, String prefix) {
+        if (lower.length() < prefix.length()) {
+            return false;
+        }
+
+        for (int i = 0; i < prefix.length(); i++) {
+            if (lower.charAt(i) != Character.toLowerCase(prefix.charAt(i))) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Converte para minúsculas caractere a caractere (mesma regra usada nas consultas)
+     */
+    private static String lower(String text) {
+        for (int i = 0; i < text.length(); i++) {
+            if (Character.toLowerCase(text.charAt(i)) != text.charAt(i)) {
+                char[] chars = text.toCharArray();
+
+                for (int j = i; j < chars.length; j++) {
+                    chars[j] = Character.toLowerCase(chars[j]);
+                }
+
+                return new String(chars);
+            }
+        }
+
+        return text;
+    }
+}